@@ -0,0 +1,343 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Utility class to read, write and copy files without blocking the calling
+ * thread. The operations are chained by {@link AsynchronousFileChannel}
+ * completion handlers (no thread waits for the I/O), the returned futures are
+ * completed on the thread pool of the channels.
+ * 
+ * <p>
+ * The channels are registered in the process-wide registry of
+ * {@link CloseableManager} (associated to themselves, never in the scope of
+ * the calling thread, which may be closed before the end of the operation)
+ * until the end of the operation: closing them (for example with
+ * {@link CloseableManager#closeAll()}) aborts the pending operations.
+ * Cancelling a future closes its channels.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class AsyncFileUtils {
+
+    private static final Charset DEFAULT_CHARSET = EncodingUtils.CHARSET_UTF_8;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final String ERROR_FILE_PARAM_NULL = "The file parameter cannot be null";
+
+    /**
+     * Constructor.
+     * 
+     */
+    private AsyncFileUtils() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read all the bytes of a file.
+     * 
+     * @param file
+     *            The file
+     * @return The future of the content (completed with an
+     *         {@link IOException} on error)
+     */
+    public static CompletableFuture<byte[]> readAsync(final File file) {
+        Assertor.that(file).isNotNull().orElseThrow(ERROR_FILE_PARAM_NULL);
+
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        try {
+            final AsynchronousFileChannel channel = open(file, future, StandardOpenOption.READ);
+
+            final long size = channel.size();
+            if (size > MAX_ARRAY_SIZE) {
+                throw new IOException("The file is too large to be read into an array: " + file);
+            }
+
+            final byte[] bytes = new byte[(int) size];
+            new Transfer(channel, ByteBuffer.wrap(bytes), false, future).start(0, read -> {
+                // the file may have been truncated meanwhile
+                future.complete(read == bytes.length ? bytes : Arrays.copyOf(bytes, read));
+            });
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Read the content of a file.
+     * 
+     * @param file
+     *            The file
+     * @param charset
+     *            The charset
+     * @return The future of the content
+     */
+    public static CompletableFuture<StringBuilder> readAsync(final File file, final Charset charset) {
+        Assertor.that(charset).isNotNull().orElseThrow("The 'charset' parameter cannot be null");
+
+        // the malformed input is replaced like the String constructor
+        return readAsync(file).thenApply(bytes -> new StringBuilder(charset.decode(ByteBuffer.wrap(bytes))));
+    }
+
+    /**
+     * Write the bytes into a file (created or truncated).
+     * 
+     * @param file
+     *            The file
+     * @param bytes
+     *            The bytes
+     * @return The future of the number of bytes written
+     */
+    public static CompletableFuture<Long> writeAsync(final File file, final byte[] bytes) {
+        Assertor.that(bytes).isNotNull().orElseThrow("The 'bytes' parameter cannot be null");
+
+        return write(file, ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Write the text into a file (created or truncated, charset used: UTF-8).
+     * 
+     * @param file
+     *            The file
+     * @param text
+     *            The text
+     * @return The future of the number of bytes written
+     */
+    public static CompletableFuture<Long> writeAsync(final File file, final CharSequence text) {
+        return writeAsync(file, text, DEFAULT_CHARSET);
+    }
+
+    /**
+     * Write the text into a file (created or truncated).
+     * 
+     * @param file
+     *            The file
+     * @param text
+     *            The text
+     * @param charset
+     *            The charset
+     * @return The future of the number of bytes written
+     */
+    public static CompletableFuture<Long> writeAsync(final File file, final CharSequence text, final Charset charset) {
+        Assertor.that(text).isNotNull().orElseThrow("The 'text' parameter cannot be null");
+        Assertor.that(charset).isNotNull().orElseThrow("The 'charset' parameter cannot be null");
+
+        return write(file, charset.encode(CharBuffer.wrap(text)));
+    }
+
+    /**
+     * Copy a file (the target is created or truncated), the content goes
+     * through a leased direct buffer.
+     * 
+     * @param src
+     *            The source file
+     * @param dest
+     *            The target file
+     * @return The future of the number of bytes copied
+     */
+    public static CompletableFuture<Long> copyAsync(final File src, final File dest) {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow("The 'src' or 'dest' parameters cannot be null");
+
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        try {
+            final AsynchronousFileChannel input = open(src, future, StandardOpenOption.READ);
+            final AsynchronousFileChannel output = open(dest, future, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+
+            final int bufferSize = BufferSizing.getBufferSize(src, BufferSizing.Operation.COPY);
+            new Copy(input, output, DirectBufferPool.SHARED.acquire(bufferSize), future).read(0);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static CompletableFuture<Long> write(final File file, final ByteBuffer buffer) {
+        Assertor.that(file).isNotNull().orElseThrow(ERROR_FILE_PARAM_NULL);
+
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        try {
+            final AsynchronousFileChannel channel = open(file, future, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+
+            new Transfer(channel, buffer, true, future).start(0, written -> future.complete((long) written));
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Open a channel, registered in the process-wide registry of
+     * {@link CloseableManager} until the end of the future
+     * 
+     * @param file
+     *            The file
+     * @param future
+     *            The future of the operation
+     * @param options
+     *            The open options
+     * @return The channel
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    private static AsynchronousFileChannel open(final File file, final CompletableFuture<?> future, final StandardOpenOption... options)
+            throws IOException {
+        final AsynchronousFileChannel channel = CloseableManager.addGlobalCloseable(AsynchronousFileChannel.open(file.toPath(), options));
+        future.whenComplete((result, e) -> CloseableManager.close(channel));
+        return channel;
+    }
+
+    /**
+     * Interface to continue an operation once a transfer is done
+     */
+    @FunctionalInterface
+    private interface Continuation {
+
+        void accept(int transferred);
+    }
+
+    /**
+     * Read or write the whole buffer at a position (attachment: the position of
+     * the current read or write)
+     */
+    private static final class Transfer implements CompletionHandler<Integer, Long> {
+
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer buffer;
+        private final boolean write;
+        private final CompletableFuture<?> future;
+
+        private int transferred;
+        private Continuation continuation;
+        private Runnable onFailure;
+
+        private Transfer(final AsynchronousFileChannel channel, final ByteBuffer buffer, final boolean write,
+                final CompletableFuture<?> future) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.write = write;
+            this.future = future;
+        }
+
+        private void start(final long position, final Continuation next) {
+            this.transferred = 0;
+            this.continuation = next;
+            this.next(position);
+        }
+
+        private void next(final long position) {
+            if (!this.buffer.hasRemaining()) {
+                this.continuation.accept(this.transferred);
+            } else if (this.write) {
+                this.channel.write(this.buffer, position, position, this);
+            } else {
+                this.channel.read(this.buffer, position, position, this);
+            }
+        }
+
+        @Override
+        public void completed(final Integer result, final Long position) {
+            if (result < 0) {
+                // end of file
+                this.continuation.accept(this.transferred);
+            } else {
+                this.transferred += result;
+                this.next(position + result);
+            }
+        }
+
+        @Override
+        public void failed(final Throwable e, final Long position) {
+            this.future.completeExceptionally(e);
+            if (this.onFailure != null) {
+                this.onFailure.run();
+            }
+        }
+    }
+
+    /**
+     * Copy loop: read a chunk, write it fully, read the next one. The buffer
+     * returns to the pool only once no read or write is pending (a cancelled
+     * future doesn't wait for the channel).
+     */
+    private static final class Copy implements CompletionHandler<Integer, Long> {
+
+        private final AsynchronousFileChannel input;
+        private final DirectBufferPool.Lease lease;
+        private final ByteBuffer buffer;
+        private final CompletableFuture<Long> future;
+        private final Transfer writer;
+
+        private Copy(final AsynchronousFileChannel input, final AsynchronousFileChannel output, final DirectBufferPool.Lease lease,
+                final CompletableFuture<Long> future) {
+            this.input = input;
+            this.lease = lease;
+            this.buffer = lease.buffer();
+            this.future = future;
+            this.writer = new Transfer(output, this.buffer, true, future);
+            this.writer.onFailure = lease::close;
+        }
+
+        private void read(final long position) {
+            if (this.future.isDone()) {
+                this.lease.close();
+            } else {
+                this.buffer.clear();
+                this.input.read(this.buffer, position, position, this);
+            }
+        }
+
+        @Override
+        public void completed(final Integer result, final Long position) {
+            if (result < 0) {
+                this.lease.close();
+                this.future.complete(position);
+            } else {
+                this.buffer.flip();
+                this.writer.start(position, written -> this.read(position + written));
+            }
+        }
+
+        @Override
+        public void failed(final Throwable e, final Long position) {
+            this.lease.close();
+            this.future.completeExceptionally(e);
+        }
+    }
+}
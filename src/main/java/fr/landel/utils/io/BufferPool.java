@@ -0,0 +1,268 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Thread-safe pool of byte arrays, used by the copy loops to avoid allocating
+ * new buffers on each call. The arrays are grouped by size classes (powers of
+ * two from {@link #MIN_SIZE} to {@link #MAX_SIZE}), a request is rounded up
+ * to its class. Each thread keeps one array per class (fast path without
+ * contention), the others are shared in a bounded queue per class. The
+ * virtual threads (Java 21+) only use the shared queues: they die with their
+ * task, an array kept by one of them would never be reused.
+ * 
+ * <p>
+ * A released array must not be used anymore and must be released only once.
+ * The arrays aren't cleared, they contain the bytes of their previous use.
+ * Requests larger than {@link #MAX_SIZE} aren't pooled.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class BufferPool {
+
+    /**
+     * Size of the smallest class (1 KiB)
+     */
+    public static final int MIN_SIZE = 1 << 10;
+
+    /**
+     * Size of the largest class (1 MiB)
+     */
+    public static final int MAX_SIZE = 1 << 20;
+
+    /**
+     * Default number of arrays shared per class
+     */
+    public static final int DEFAULT_MAX_SHARED = 32;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+    private static final int NB_CLASSES = Integer.numberOfTrailingZeros(MAX_SIZE) - MIN_SHIFT + 1;
+
+    /**
+     * {@code Thread#isVirtual()}, resolved by reflection to stay compatible
+     * with the previous versions of Java (null before Java 21)
+     */
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    /**
+     * The pool used by the library (initialized after the number of classes)
+     */
+    public static final BufferPool SHARED = new BufferPool(DEFAULT_MAX_SHARED);
+
+    private final int maxShared;
+
+    private final ThreadLocal<byte[][]> local = ThreadLocal.withInitial(() -> new byte[NB_CLASSES][]);
+
+    private final Queue<byte[]>[] shared;
+    private final AtomicIntegerArray sharedCounts = new AtomicIntegerArray(NB_CLASSES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor
+     * 
+     * @param maxShared
+     *            the maximum number of arrays shared per class (in addition of
+     *            the array kept by each thread)
+     * @throws IllegalArgumentException
+     *             if the number is negative
+     */
+    @SuppressWarnings("unchecked")
+    public BufferPool(final int maxShared) {
+        Assertor.that(maxShared).isGTE(0).orElseThrow("The maximum number of shared arrays cannot be negative");
+
+        this.maxShared = maxShared;
+        this.shared = new Queue[NB_CLASSES];
+        for (int i = 0; i < NB_CLASSES; ++i) {
+            this.shared[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Acquire an array.
+     * 
+     * @param minSize
+     *            the minimum size
+     * @return an array of at least the minimum size (the size of the class)
+     * @throws IllegalArgumentException
+     *             if the size is negative
+     */
+    public byte[] acquire(final int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("The size cannot be negative");
+        }
+
+        final int index = classOf(minSize);
+        if (index < 0) {
+            this.misses.increment();
+            return new byte[minSize];
+        }
+
+        final byte[][] cache = this.localCache();
+        byte[] array = cache != null ? cache[index] : null;
+        if (array != null) {
+            cache[index] = null;
+        } else if ((array = this.shared[index].poll()) != null) {
+            this.sharedCounts.decrementAndGet(index);
+        } else {
+            this.misses.increment();
+            return new byte[MIN_SIZE << index];
+        }
+
+        this.hits.increment();
+        return array;
+    }
+
+    /**
+     * Acquire a heap byte buffer backed by a pooled array (see
+     * {@link #acquire(int)}), the buffer is cleared.
+     * 
+     * @param minSize
+     *            the minimum capacity
+     * @return the byte buffer
+     */
+    public ByteBuffer acquireBuffer(final int minSize) {
+        return ByteBuffer.wrap(this.acquire(minSize));
+    }
+
+    /**
+     * Release an array (ignored if null or if the size isn't a class size).
+     * 
+     * @param array
+     *            the array
+     */
+    public void release(final byte[] array) {
+        if (array == null) {
+            return;
+        }
+
+        final int index = classOf(array.length);
+        if (index < 0 || array.length != MIN_SIZE << index) {
+            return;
+        }
+
+        final byte[][] cache = this.localCache();
+        if (cache != null && cache[index] == null) {
+            cache[index] = array;
+        } else if (this.sharedCounts.incrementAndGet(index) <= this.maxShared) {
+            this.shared[index].offer(array);
+        } else {
+            // the queue is full, left to the garbage collector
+            this.sharedCounts.decrementAndGet(index);
+        }
+    }
+
+    /**
+     * Release the array of a buffer acquired by {@link #acquireBuffer(int)}
+     * (ignored if null, direct or read-only).
+     * 
+     * @param buffer
+     *            the buffer
+     */
+    public void release(final ByteBuffer buffer) {
+        if (buffer != null && buffer.hasArray() && buffer.arrayOffset() == 0) {
+            this.release(buffer.array());
+        }
+    }
+
+    /**
+     * @return the number of acquisitions served by a pooled array
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of acquisitions which allocated a new array
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Reset the statistics
+     */
+    public void resetStatistics() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    /**
+     * @return the arrays kept by the current thread, null for a virtual thread
+     */
+    private byte[][] localCache() {
+        if (isVirtual(Thread.currentThread())) {
+            return null;
+        }
+        return this.local.get();
+    }
+
+    private static boolean isVirtual(final Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // before Java 21
+            return null;
+        }
+    }
+
+    /**
+     * Get the class index of a size
+     * 
+     * @param size
+     *            the size
+     * @return the index, -1 if the size is too large to be pooled
+     */
+    private static int classOf(final int size) {
+        if (size > MAX_SIZE) {
+            return -1;
+        } else if (size <= MIN_SIZE) {
+            return 0;
+        }
+        // ceil(log2(size))
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Pick the buffer size of an I/O operation from the length of the file and
+ * the block size of its {@link FileStore}: a small file gets a buffer of one
+ * block (instead of a fixed buffer), a large file gets a larger buffer (fewer
+ * system calls), always a power of two aligned on the blocks (the sizes match
+ * the classes of {@link BufferPool}).
+ * 
+ * <p>
+ * The bounds of each operation are defined by a {@link Profile}, which can be
+ * overridden ({@link #setProfile(Operation, Profile)}).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class BufferSizing {
+
+    /**
+     * Block size used if the file store doesn't provide it (4 KiB)
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4 * 1024;
+
+    /**
+     * Maximum number of directories whose block size is cached
+     */
+    private static final int MAX_CACHED_DIRECTORIES = 1024;
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    /**
+     * {@code FileStore#getBlockSize()} (Java 10+), null if not available
+     */
+    private static final Method GET_BLOCK_SIZE = findGetBlockSize();
+
+    private static final ConcurrentMap<Operation, Profile> PROFILES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Path, Integer> BLOCK_SIZES = new ConcurrentHashMap<>();
+
+    /**
+     * The I/O operations
+     */
+    public enum Operation {
+
+        /**
+         * Buffered reading of a file
+         */
+        READ(true, new Profile(4 * 1024, 8 * 1024, 256 * 1024)),
+
+        /**
+         * Buffered writing of a file (the length of the file is ignored)
+         */
+        WRITE(false, new Profile(4 * 1024, 8 * 1024, 256 * 1024)),
+
+        /**
+         * Copy of a stream into another
+         */
+        COPY(false, new Profile(4 * 1024, 16 * 1024, 1024 * 1024)),
+
+        /**
+         * Checksum of a file
+         */
+        CHECKSUM(true, new Profile(4 * 1024, 16 * 1024, 1024 * 1024)),
+
+        /**
+         * Comparison of two files (two buffers)
+         */
+        COMPARE(true, new Profile(4 * 1024, 16 * 1024, 256 * 1024));
+
+        private final boolean sizedByLength;
+        private final Profile defaultProfile;
+
+        Operation(final boolean sizedByLength, final Profile defaultProfile) {
+            this.sizedByLength = sizedByLength;
+            this.defaultProfile = defaultProfile;
+        }
+
+        /**
+         * @return the default profile
+         */
+        public Profile getDefaultProfile() {
+            return this.defaultProfile;
+        }
+    }
+
+    /**
+     * Bounds of the buffer size of an operation (immutable)
+     */
+    public static final class Profile {
+
+        private final int min;
+        private final int preferred;
+        private final int max;
+
+        /**
+         * Constructor
+         * 
+         * @param min
+         *            the minimum size (the block size is used if larger)
+         * @param preferred
+         *            the size if the length of the file is unknown
+         * @param max
+         *            the maximum size
+         * @throws IllegalArgumentException
+         *             if the sizes are not greater than 0 and ordered
+         */
+        public Profile(final int min, final int preferred, final int max) {
+            Assertor.that(min).isGT(0).orElseThrow("The minimum size must be greater than 0");
+            Assertor.that(preferred).isGTE(min).and(max).isGTE(preferred).orElseThrow("The sizes must be ordered: min <= preferred <= max");
+
+            this.min = min;
+            this.preferred = preferred;
+            this.max = max;
+        }
+
+        /**
+         * @return the minimum size
+         */
+        public int getMin() {
+            return this.min;
+        }
+
+        /**
+         * @return the size if the length of the file is unknown
+         */
+        public int getPreferred() {
+            return this.preferred;
+        }
+
+        /**
+         * @return the maximum size
+         */
+        public int getMax() {
+            return this.max;
+        }
+    }
+
+    /**
+     * Constructor.
+     * 
+     */
+    private BufferSizing() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Get the profile of an operation (overridden or default)
+     * 
+     * @param operation
+     *            the operation
+     * @return the profile
+     * @throws IllegalArgumentException
+     *             if {@code operation} is {@code null}
+     */
+    public static Profile getProfile(final Operation operation) {
+        Assertor.that(operation).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return PROFILES.getOrDefault(operation, operation.defaultProfile);
+    }
+
+    /**
+     * Override the profile of an operation
+     * 
+     * @param operation
+     *            the operation
+     * @param profile
+     *            the profile, if null the default profile is restored
+     * @throws IllegalArgumentException
+     *             if {@code operation} is {@code null}
+     */
+    public static void setProfile(final Operation operation, final Profile profile) {
+        Assertor.that(operation).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        if (profile != null) {
+            PROFILES.put(operation, profile);
+        } else {
+            PROFILES.remove(operation);
+        }
+    }
+
+    /**
+     * Restore the default profiles
+     */
+    public static void resetProfiles() {
+        PROFILES.clear();
+    }
+
+    /**
+     * Get the buffer size of an operation if the file is unknown (the
+     * preferred size of the profile).
+     * 
+     * @param operation
+     *            the operation
+     * @return the buffer size
+     */
+    public static int getBufferSize(final Operation operation) {
+        return getProfile(operation).preferred;
+    }
+
+    /**
+     * Get the buffer size of an operation on a file: the length of the file
+     * rounded up to a power of two (or the preferred size if the length isn't
+     * used or unknown), bounded by the profile and aligned on the block size
+     * of the file store.
+     * 
+     * @param file
+     *            the file (may not exist)
+     * @param operation
+     *            the operation
+     * @return the buffer size
+     * @throws IllegalArgumentException
+     *             if a parameter is {@code null}
+     */
+    public static int getBufferSize(final File file, final Operation operation) {
+        Assertor.that(file).isNotNull().and(operation).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        final Profile profile = getProfile(operation);
+
+        final long length;
+        if (operation.sizedByLength && file.isFile()) {
+            length = Math.max(1, file.length());
+        } else {
+            length = profile.preferred;
+        }
+
+        return getBufferSize(length, profile, getBlockSize(file));
+    }
+
+    /**
+     * Compute the buffer size
+     * 
+     * @param length
+     *            the number of bytes to process
+     * @param profile
+     *            the profile
+     * @param blockSize
+     *            the block size
+     * @return the buffer size
+     */
+    static int getBufferSize(final long length, final Profile profile, final int blockSize) {
+        final long bounded = Math.max(Math.min(length, profile.max), Math.max(profile.min, blockSize));
+
+        // next power of two (the max is an int)
+        long size = Long.highestOneBit(bounded);
+        if (size < bounded) {
+            size <<= 1;
+        }
+
+        // aligned on the blocks (if the block size isn't a power of two)
+        if (size % blockSize != 0) {
+            size += blockSize - size % blockSize;
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE - 8, size);
+    }
+
+    /**
+     * Get the block size of the file store of a file (cached by directory)
+     * 
+     * @param file
+     *            the file (may not exist)
+     * @return the block size or {@link #DEFAULT_BLOCK_SIZE}
+     */
+    static int getBlockSize(final File file) {
+        if (GET_BLOCK_SIZE == null) {
+            return DEFAULT_BLOCK_SIZE;
+        }
+
+        final File directory = file.isDirectory() ? file : file.getAbsoluteFile().getParentFile();
+        if (directory == null) {
+            return DEFAULT_BLOCK_SIZE;
+        }
+
+        final Path path = directory.toPath();
+        Integer blockSize = BLOCK_SIZES.get(path);
+        if (blockSize == null) {
+            blockSize = loadBlockSize(path);
+            if (BLOCK_SIZES.size() >= MAX_CACHED_DIRECTORIES) {
+                BLOCK_SIZES.clear();
+            }
+            BLOCK_SIZES.put(path, blockSize);
+        }
+        return blockSize;
+    }
+
+    private static int loadBlockSize(final Path directory) {
+        try {
+            final FileStore store = Files.getFileStore(directory);
+            final long blockSize = (long) GET_BLOCK_SIZE.invoke(store);
+            if (blockSize > 0 && blockSize <= DirectBufferPool.MAX_SIZE) {
+                return (int) blockSize;
+            }
+        } catch (IOException | IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            // not existing directory or not supported by the file store
+        }
+        return DEFAULT_BLOCK_SIZE;
+    }
+
+    private static Method findGetBlockSize() {
+        try {
+            return FileStore.class.getMethod("getBlockSize");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -23,12 +23,15 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
@@ -36,6 +39,28 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Utility class to manage closeables.
+ * 
+ * <p>
+ * Closeables are registered against their owner (path, URL, class, hash code
+ * or the closeable itself). Owners are compared by value, so two different
+ * paths never share their closeables, even if their hash codes collide. A
+ * reverse index keeps the owner of each closeable (compared by identity) to
+ * find it without scanning all the registered closeables.
+ * </p>
+ * 
+ * <p>
+ * A thread can open a scope ({@link #openScope()}), while the scope is open,
+ * all the closeables registered by the thread go into the scope instead of the
+ * process-wide registry. On close, the scope releases its closeables in the
+ * reverse order of their registration.
+ * </p>
+ * 
+ * <pre>
+ * try (CloseableManager.Scope scope = CloseableManager.openScope()) {
+ *     final BufferedReader reader = IOStreamUtils.createBufferedReader(file, null);
+ *     // ...
+ * } // the reader and the underlying streams are closed here
+ * </pre>
  *
  * @since Nov 27, 2015
  * @author Gilles Landel
@@ -43,7 +68,21 @@ import org.slf4j.LoggerFactory;
  */
 public final class CloseableManager {
 
-    private static final ConcurrentMap<Integer, List<Closeable>> CLOSEABLES = new ConcurrentHashMap<>();
+    /**
+     * Closeables by owner, each deque is ordered from the last registered to
+     * the first one (the closing order)
+     */
+    private static final ConcurrentMap<Key, Deque<Closeable>> CLOSEABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Owner by closeable (reverse index)
+     */
+    private static final ConcurrentMap<Key, Key> OWNERS = new ConcurrentHashMap<>();
+
+    /**
+     * The innermost scope opened by the current thread
+     */
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
 
     /**
      * Error close
@@ -55,6 +94,11 @@ public final class CloseableManager {
      */
     private static final String ERROR_CLOSEABLE_NOT_CLOSEABLE = "closeable can't be closed";
 
+    /**
+     * Error scope closed by another thread
+     */
+    private static final String ERROR_SCOPE_THREAD = "A scope can only be closed by the thread which opened it";
+
     private static Logger logger = LoggerFactory.getLogger(CloseableManager.class.getName());
 
     /**
@@ -75,6 +119,20 @@ public final class CloseableManager {
         CloseableManager.logger = logger;
     }
 
+    /**
+     * Open a scope for the current thread. Until the scope is closed, the
+     * closeables registered by this thread are kept by the scope, without any
+     * access to the process-wide registry. Scopes can be nested, the closing
+     * of a scope also closes the nested scopes left open.
+     * 
+     * @return the new scope, to be closed by the current thread
+     */
+    public static Scope openScope() {
+        final Scope scope = new Scope(CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
     /**
      * Check if a closeable is already created.
      * 
@@ -84,13 +142,13 @@ public final class CloseableManager {
      */
     public static boolean isCloseable(final Class<?> clazz) {
         if (clazz != null) {
-            return CLOSEABLES.containsKey(clazz.hashCode());
+            return isManaged(Key.of(clazz));
         }
         return false;
     }
 
     /**
-     * Check if a closeable is already created.
+     * Check if a closeable is managed (whatever its owner).
      * 
      * @param closeable
      *            The associated closeable
@@ -98,7 +156,7 @@ public final class CloseableManager {
      */
     public static boolean isCloseable(final Closeable closeable) {
         if (closeable != null) {
-            return CLOSEABLES.containsKey(closeable.hashCode());
+            return findOwner(Key.of(closeable)) != null;
         }
         return false;
     }
@@ -112,7 +170,7 @@ public final class CloseableManager {
      */
     public static boolean isCloseable(final Integer hashcode) {
         if (hashcode != null) {
-            return CLOSEABLES.containsKey(hashcode);
+            return isManaged(Key.of(hashcode));
         }
         return false;
     }
@@ -140,7 +198,7 @@ public final class CloseableManager {
      */
     public static boolean isCloseable(final File file) {
         if (file != null) {
-            return CLOSEABLES.containsKey(file.getAbsolutePath().hashCode());
+            return isManaged(Key.of(file));
         }
         return false;
     }
@@ -154,7 +212,7 @@ public final class CloseableManager {
      */
     public static boolean isCloseable(final URL url) {
         if (url != null) {
-            return CLOSEABLES.containsKey(url.hashCode());
+            return isManaged(Key.of(url));
         }
         return false;
     }
@@ -189,18 +247,14 @@ public final class CloseableManager {
      * @return the input closeable parameter
      */
     public static <C extends Closeable> C addCloseable(final Integer hashcode, final C closeable) {
-        if (hashcode != null && closeable != null) {
-            if (!CLOSEABLES.containsKey(hashcode)) {
-                CLOSEABLES.put(hashcode, new ArrayList<Closeable>());
-            }
-            CLOSEABLES.get(hashcode).add(closeable);
-            return closeable;
+        if (hashcode != null) {
+            return register(Key.of(hashcode), closeable);
         }
         return null;
     }
 
     /**
-     * Add closeable to the list associated closeable to the hashcode.
+     * Add closeable to the list associated to the closeable itself.
      * 
      * @param closeable
      *            The closeable to be added
@@ -210,11 +264,7 @@ public final class CloseableManager {
      */
     public static <C extends Closeable> C addCloseable(final C closeable) {
         if (closeable != null) {
-            if (!CLOSEABLES.containsKey(closeable.hashCode())) {
-                CLOSEABLES.put(closeable.hashCode(), new ArrayList<Closeable>());
-            }
-            CLOSEABLES.get(closeable.hashCode()).add(closeable);
-            return closeable;
+            return register(Key.of(closeable), closeable);
         }
         return null;
     }
@@ -232,7 +282,7 @@ public final class CloseableManager {
      */
     public static <C extends Closeable> C addCloseable(final File file, final C closeable) {
         if (file != null) {
-            return addCloseable(file.getAbsolutePath().hashCode(), closeable);
+            return register(Key.of(file), closeable);
         }
         return null;
     }
@@ -250,7 +300,7 @@ public final class CloseableManager {
      */
     public static <C extends Closeable> C addCloseable(final URL url, final C closeable) {
         if (url != null) {
-            return addCloseable(url.hashCode(), closeable);
+            return register(Key.of(url), closeable);
         }
         return null;
     }
@@ -268,40 +318,132 @@ public final class CloseableManager {
      */
     public static <C extends Closeable> C addCloseable(final Class<?> clazz, final C closeable) {
         if (clazz != null) {
-            return addCloseable(clazz.hashCode(), closeable);
+            return register(Key.of(clazz), closeable);
         }
         return null;
     }
 
     /**
-     * Reverse the order of the element of the list
+     * Add closeable to the process-wide registry (associated to itself), even
+     * if the current thread has an open scope: for the closeables used and
+     * released by other threads (like the asynchronous channels), a scope is
+     * confined to its thread and would close them too early.
      * 
-     * @param closeables
-     *            The list to be reversed
-     * @return The reverse list
+     * @param closeable
+     *            The closeable to be added
+     * @param <C>
+     *            The closeable type
+     * @return the input closeable parameter
      */
-    private static List<Closeable> reverseList(final List<Closeable> closeables) {
-        final List<Closeable> reverseCloseables = new ArrayList<Closeable>(closeables);
-        Collections.reverse(reverseCloseables);
-        return reverseCloseables;
+    static <C extends Closeable> C addGlobalCloseable(final C closeable) {
+        if (closeable != null) {
+            return registerGlobally(Key.of(closeable), closeable);
+        }
+        return null;
     }
 
     /**
-     * Close all managed closeables
+     * Register the closeable to the owner. The first owner of a closeable is
+     * kept in the reverse index, a closeable already registered to the same
+     * owner isn't added twice.
+     * 
+     * @param owner
+     *            The owner key
+     * @param closeable
+     *            The closeable to be added
+     * @param <C>
+     *            The closeable type
+     * @return the input closeable parameter
      */
-    public static synchronized void closeAll() {
-        for (Entry<Integer, List<Closeable>> entry : CLOSEABLES.entrySet()) {
-            final List<Closeable> reversedCloseables = reverseList(entry.getValue());
-            for (Closeable closeable : reversedCloseables) {
-                try {
-                    closeable.close();
-                } catch (IOException e) {
-                    logger.error(String.format(ERROR_CLOSEABLE, entry.getKey()), e);
+    private static <C extends Closeable> C register(final Key owner, final C closeable) {
+        if (closeable != null) {
+            final Scope scope = CURRENT_SCOPE.get();
+            if (scope != null) {
+                scope.register(owner, closeable);
+                return closeable;
+            }
+            return registerGlobally(owner, closeable);
+        }
+        return null;
+    }
+
+    /**
+     * Register the closeable to the owner in the process-wide registry.
+     * 
+     * @param owner
+     *            The owner key
+     * @param closeable
+     *            The closeable to be added (not null)
+     * @param <C>
+     *            The closeable type
+     * @return the input closeable parameter
+     */
+    private static <C extends Closeable> C registerGlobally(final Key owner, final C closeable) {
+        final Key previous = OWNERS.putIfAbsent(Key.of(closeable), owner);
+        if (!owner.equals(previous)) {
+            // the map locks only the bin of the key while computing, so
+            // concurrent registrations on different keys don't wait for
+            // each other and a closing owner cannot lose a registration
+            CLOSEABLES.compute(owner, (key, deque) -> {
+                final Deque<Closeable> closeables;
+                if (deque != null) {
+                    closeables = deque;
+                } else {
+                    closeables = new ConcurrentLinkedDeque<>();
                 }
+                closeables.addFirst(closeable);
+                return closeables;
+            });
+        }
+        return closeable;
+    }
+
+    /**
+     * Check if the owner has closeables, in the scopes of the current thread or
+     * in the process-wide registry.
+     * 
+     * @param owner
+     *            The owner key
+     * @return true, if found
+     */
+    private static boolean isManaged(final Key owner) {
+        for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+            if (scope.closeables.containsKey(owner)) {
+                return true;
             }
-            entry.getValue().clear();
         }
-        CLOSEABLES.clear();
+        return CLOSEABLES.containsKey(owner);
+    }
+
+    /**
+     * Find the owner of the closeable, in the scopes of the current thread or
+     * in the process-wide registry.
+     * 
+     * @param self
+     *            The closeable key
+     * @return the owner or {@code null}
+     */
+    private static Key findOwner(final Key self) {
+        for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+            final Key owner = scope.owners.get(self);
+            if (owner != null) {
+                return owner;
+            }
+        }
+        return OWNERS.get(self);
+    }
+
+    /**
+     * Close all managed closeables (process-wide and in the scopes of the
+     * current thread, the scopes stay open)
+     */
+    public static void closeAll() {
+        for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+            scope.closeAll();
+        }
+        for (Key owner : CLOSEABLES.keySet()) {
+            close(owner);
+        }
     }
 
     /**
@@ -324,7 +466,7 @@ public final class CloseableManager {
      */
     public static void close(final File file) {
         if (file != null) {
-            close(file.getAbsolutePath().hashCode());
+            close(Key.of(file));
         }
     }
 
@@ -334,18 +476,52 @@ public final class CloseableManager {
      * @param hashcode
      *            The hashcode associated to the closeable
      */
-    public static synchronized void close(final Integer hashcode) {
-        if (hashcode != null && CLOSEABLES.containsKey(hashcode)) {
-            final List<Closeable> reversedCloseables = reverseList(CLOSEABLES.get(hashcode));
-            for (Closeable closeable : reversedCloseables) {
-                try {
-                    closeable.close();
-                } catch (IOException e) {
-                    logger.error(String.format(ERROR_CLOSEABLE, hashcode), e);
-                }
+    public static void close(final Integer hashcode) {
+        if (hashcode != null) {
+            close(Key.of(hashcode));
+        }
+    }
+
+    /**
+     * Close all managed closeables associated to the owner, in the reverse
+     * order of their registration.
+     * 
+     * @param owner
+     *            The owner key
+     * @return true, if the owner was found
+     */
+    private static boolean close(final Key owner) {
+        boolean found = false;
+        for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+            found |= scope.close(owner);
+        }
+
+        // the deque is detached before closing, a registration which happens
+        // meanwhile on the same owner creates a new deque
+        final Deque<Closeable> closeables = CLOSEABLES.remove(owner);
+        if (closeables != null) {
+            for (Closeable closeable : closeables) {
+                OWNERS.remove(Key.of(closeable), owner);
+                close(closeable, owner);
             }
-            CLOSEABLES.get(hashcode).clear();
-            CLOSEABLES.remove(hashcode);
+            found = true;
+        }
+        return found;
+    }
+
+    /**
+     * Close the closeable and log the error if any
+     * 
+     * @param closeable
+     *            The closeable
+     * @param owner
+     *            The owner key
+     */
+    private static void close(final Closeable closeable, final Key owner) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.error(String.format(ERROR_CLOSEABLE, owner), e);
         }
     }
 
@@ -357,7 +533,7 @@ public final class CloseableManager {
      */
     public static void close(final Class<?> clazz) {
         if (clazz != null) {
-            close(clazz.hashCode());
+            close(Key.of(clazz));
         }
     }
 
@@ -369,29 +545,262 @@ public final class CloseableManager {
      */
     public static void close(final URL url) {
         if (url != null) {
-            close(url.hashCode());
+            close(Key.of(url));
         }
     }
 
     /**
-     * Close the closeable
+     * Close the closeable. If the closeable is managed, all the closeables of
+     * its owner are closed.
      * 
      * @param closeable
      *            The closeable to close
      */
     public static void close(final Closeable closeable) {
         if (closeable != null) {
-            try {
-                final Optional<Integer> hashcode = CLOSEABLES.entrySet().stream().filter((e) -> e.getValue().contains(closeable))
-                        .map((e) -> e.getKey()).findFirst();
-                if (hashcode.isPresent()) {
-                    close(hashcode.get());
-                } else {
+            final Key self = Key.of(closeable);
+            final Key owner = findOwner(self);
+            if (owner != null) {
+                close(owner);
+            }
+            // the closeable can also be registered to itself after another
+            // owner
+            if (!close(self) && owner == null) {
+                try {
                     closeable.close();
+                } catch (IOException e) {
+                    logger.error(ERROR_CLOSEABLE_NOT_CLOSEABLE, e);
                 }
-            } catch (IOException e) {
-                logger.error(ERROR_CLOSEABLE_NOT_CLOSEABLE, e);
             }
         }
     }
+
+    /**
+     * A set of closeables confined to the thread which opened it (see
+     * {@link CloseableManager#openScope()}). As nothing is shared, the scope
+     * uses no lock and no concurrent structure.
+     *
+     * @since Oct 18, 2026
+     * @author Gilles
+     *
+     */
+    public static final class Scope implements AutoCloseable {
+
+        /**
+         * Minimal number of released registrations before compacting
+         */
+        private static final int COMPACT_THRESHOLD = 32;
+
+        private final Scope parent;
+        private final Thread thread;
+
+        /**
+         * Registrations by owner, in registration order
+         */
+        private final Map<Key, List<Registration>> closeables = new HashMap<>();
+
+        /**
+         * Owner by closeable (reverse index)
+         */
+        private final Map<Key, Key> owners = new HashMap<>();
+
+        /**
+         * All registrations, from the last one to the first one
+         */
+        private final Deque<Registration> registrations = new ArrayDeque<>();
+
+        private int released;
+        private boolean closed;
+
+        private Scope(final Scope parent) {
+            this.parent = parent;
+            this.thread = Thread.currentThread();
+        }
+
+        private void register(final Key owner, final Closeable closeable) {
+            final Key previous = this.owners.putIfAbsent(Key.of(closeable), owner);
+            if (!owner.equals(previous)) {
+                final Registration registration = new Registration(owner, closeable);
+                this.closeables.computeIfAbsent(owner, key -> new ArrayList<>()).add(registration);
+                this.registrations.addFirst(registration);
+            }
+        }
+
+        private boolean close(final Key owner) {
+            final List<Registration> list = this.closeables.remove(owner);
+            if (list != null) {
+                for (int i = list.size() - 1; i >= 0; --i) {
+                    final Registration registration = list.get(i);
+                    this.owners.remove(Key.of(registration.closeable), owner);
+                    this.release(registration);
+                }
+                this.compact();
+                return true;
+            }
+            return false;
+        }
+
+        private void closeAll() {
+            for (Registration registration : this.registrations) {
+                this.release(registration);
+            }
+            this.registrations.clear();
+            this.closeables.clear();
+            this.owners.clear();
+            this.released = 0;
+        }
+
+        private void release(final Registration registration) {
+            if (!registration.released) {
+                registration.released = true;
+                ++this.released;
+                CloseableManager.close(registration.closeable, registration.owner);
+            }
+        }
+
+        /**
+         * Remove the released registrations, when they represent more than
+         * the half of the registrations (amortized constant time)
+         */
+        private void compact() {
+            if (this.released > COMPACT_THRESHOLD && this.released * 2 > this.registrations.size()) {
+                this.registrations.removeIf(registration -> registration.released);
+                this.released = 0;
+            }
+        }
+
+        /**
+         * Close all the closeables registered in this scope (and in the nested
+         * scopes left open), in the reverse order of their registration.
+         * 
+         * @throws IllegalStateException
+         *             if the current thread isn't the one which opened the
+         *             scope
+         */
+        @Override
+        public void close() {
+            if (this.thread != Thread.currentThread()) {
+                throw new IllegalStateException(ERROR_SCOPE_THREAD);
+            } else if (!this.closed) {
+                Scope current;
+                while ((current = CURRENT_SCOPE.get()) != null && current != this) {
+                    current.close();
+                }
+
+                this.closeAll();
+                this.closed = true;
+
+                if (this.parent != null) {
+                    CURRENT_SCOPE.set(this.parent);
+                } else {
+                    CURRENT_SCOPE.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * A closeable registered in a scope
+     *
+     * @since Oct 18, 2026
+     * @author Gilles
+     *
+     */
+    private static final class Registration {
+
+        private final Key owner;
+        private final Closeable closeable;
+        private boolean released;
+
+        private Registration(final Key owner, final Closeable closeable) {
+            this.owner = owner;
+            this.closeable = closeable;
+        }
+    }
+
+    /**
+     * The owner key of closeables. Files are identified by their absolute
+     * path, URLs by their external form (to avoid the host name resolution of
+     * {@link URL#equals(Object)}), classes and hash codes by value and
+     * closeables by identity.
+     *
+     * @since Oct 18, 2026
+     * @author Gilles
+     *
+     */
+    private static final class Key {
+
+        private final KeyType type;
+        private final Object value;
+        private final int hashCode;
+
+        private Key(final KeyType type, final Object value, final int hashCode) {
+            this.type = type;
+            this.value = value;
+            this.hashCode = 31 * type.ordinal() + hashCode;
+        }
+
+        private static Key of(final File file) {
+            final String path = file.getAbsolutePath();
+            return new Key(KeyType.PATH, path, path.hashCode());
+        }
+
+        private static Key of(final URL url) {
+            final String externalForm = url.toExternalForm();
+            return new Key(KeyType.URL, externalForm, externalForm.hashCode());
+        }
+
+        private static Key of(final Class<?> clazz) {
+            return new Key(KeyType.CLASS, clazz, clazz.hashCode());
+        }
+
+        private static Key of(final Integer hashcode) {
+            return new Key(KeyType.HASHCODE, hashcode, hashcode.hashCode());
+        }
+
+        private static Key of(final Closeable closeable) {
+            return new Key(KeyType.CLOSEABLE, closeable, System.identityHashCode(closeable));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj == null || !Key.class.equals(obj.getClass())) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            if (this.type != other.type) {
+                return false;
+            } else if (KeyType.CLOSEABLE.equals(this.type)) {
+                return this.value == other.value;
+            }
+            return Objects.equals(this.value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return this.type + ": " + this.value;
+        }
+    }
+
+    /**
+     * The type of owner
+     *
+     * @since Oct 18, 2026
+     * @author Gilles
+     *
+     */
+    private enum KeyType {
+        PATH,
+        URL,
+        CLASS,
+        HASHCODE,
+        CLOSEABLE
+    }
 }
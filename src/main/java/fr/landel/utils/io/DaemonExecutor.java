@@ -0,0 +1,59 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal holder of the default executor of the blocking I/O tasks (the
+ * background tasks of {@link PrefetchInputStream} and
+ * {@link WriteBehindOutputStream}, the parallel operations of
+ * {@link ParallelOptions}): a cached pool of daemon threads, created on first
+ * use. A stream task holds its thread until the end of its stream and the
+ * parallel operations are bounded by their maximum number of open files, so
+ * the pool itself is not bounded.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class DaemonExecutor {
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    /**
+     * The shared executor
+     */
+    static final ExecutorService INSTANCE = Executors.newCachedThreadPool((runnable) -> {
+        final Thread thread = new Thread(runnable, "utils-io-" + COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor.
+     *
+     */
+    private DaemonExecutor() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Release the memory (or the mapping) of a direct buffer without waiting for
+ * the garbage collector. The cleaner is resolved once by reflection:
+ * {@code sun.misc.Unsafe#invokeCleaner} (Java 9+) or
+ * {@code DirectBuffer#cleaner()} (Java 8). If none is accessible, the buffer
+ * is left to the garbage collector.
+ * 
+ * <p>
+ * A cleaned buffer must never be accessed again (the JVM may crash).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class DirectBufferCleaner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectBufferCleaner.class);
+
+    private static final MethodHandle CLEANER = findCleaner();
+
+    /**
+     * Constructor.
+     * 
+     */
+    private DirectBufferCleaner() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return true, if the buffers can be released deterministically
+     */
+    static boolean isSupported() {
+        return CLEANER != null;
+    }
+
+    /**
+     * Release the buffer (does nothing if the buffer is null, not direct or if
+     * the cleaner isn't supported).
+     * 
+     * @param buffer
+     *            the buffer
+     */
+    static void clean(final ByteBuffer buffer) {
+        if (CLEANER != null && buffer != null && buffer.isDirect()) {
+            try {
+                CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                // a duplicate or a slice cannot be cleaned, the GC will do it
+                LOGGER.debug("Cannot clean the direct buffer", e);
+            }
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            // Java 9+
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return lookup.unreflect(invokeCleaner).bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Unsafe#invokeCleaner not available", e);
+        }
+
+        try {
+            // Java 8
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = cleaner.getReturnType().getMethod("clean");
+            final MethodHandle getCleaner = lookup.unreflect(cleaner);
+            return MethodHandles.filterReturnValue(getCleaner, lookup.unreflect(clean))
+                    .asType(MethodType.methodType(void.class, ByteBuffer.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.info("The direct buffers will be released by the garbage collector", e);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Bounded pool of direct buffers for the channel reads and writes. The
+ * buffers are aligned on the page size and grouped by size classes (powers of
+ * two from {@link #PAGE_SIZE} to {@link #MAX_SIZE}), a request is rounded up
+ * to its class. The native memory allocated by the pool never exceeds its
+ * capacity: above, or for a request larger than {@link #MAX_SIZE}, a heap
+ * buffer is leased instead (counted as overflow).
+ * 
+ * <p>
+ * A buffer is leased through a {@link Lease} which has to be closed. A leased
+ * buffer collected by the garbage collector without its lease being closed is
+ * a leak: it's logged, counted and dropped from the pool (its native memory is
+ * released by the garbage collector, a buffer derived from it may still use
+ * it). The buffer of a lease must not be used once the lease is closed.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class DirectBufferPool {
+
+    /**
+     * Page size, alignment of the buffers and size of the smallest class (4
+     * KiB)
+     */
+    public static final int PAGE_SIZE = 4 * 1024;
+
+    /**
+     * Size of the largest class (4 MiB)
+     */
+    public static final int MAX_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Default capacity (64 MiB)
+     */
+    public static final long DEFAULT_CAPACITY = 64L * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectBufferPool.class);
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+    private static final int NB_CLASSES = Integer.numberOfTrailingZeros(MAX_SIZE) - MIN_SHIFT + 1;
+
+    /**
+     * The pool used by the library (initialized after the number of classes)
+     */
+    public static final DirectBufferPool SHARED = new DirectBufferPool(DEFAULT_CAPACITY);
+
+    private final long capacity;
+    private final AtomicLong allocated = new AtomicLong();
+
+    private final Queue<Block>[] free;
+
+    // the references are kept reachable until the lease is closed or the
+    // leased buffer is collected
+    private final Set<LeaseReference> leased = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    /**
+     * Constructor
+     * 
+     * @param capacity
+     *            the maximum number of bytes of native memory allocated by the
+     *            pool
+     * @throws IllegalArgumentException
+     *             if the capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public DirectBufferPool(final long capacity) {
+        Assertor.that(capacity).isGTE(0L).orElseThrow("The capacity cannot be negative");
+
+        this.capacity = capacity;
+        this.free = new Queue[NB_CLASSES];
+        for (int i = 0; i < NB_CLASSES; ++i) {
+            this.free[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Lease a buffer.
+     * 
+     * @param minSize
+     *            the minimum capacity
+     * @return the lease of a cleared buffer of at least the minimum capacity
+     *         (the size of the class), direct except on overflow
+     * @throws IllegalArgumentException
+     *             if the size is negative
+     */
+    public Lease acquire(final int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("The size cannot be negative");
+        }
+
+        this.dropLeaks();
+
+        if (minSize > MAX_SIZE) {
+            this.overflows.increment();
+            return new Lease(ByteBuffer.allocate(minSize));
+        }
+
+        final int index = classOf(minSize);
+        Block block = this.free[index].poll();
+        if (block != null) {
+            this.hits.increment();
+        } else if ((block = this.allocate(index)) != null) {
+            this.misses.increment();
+        } else {
+            this.overflows.increment();
+            return new Lease(ByteBuffer.allocate(PAGE_SIZE << index));
+        }
+
+        // the buffer handed out is tracked, the caller may keep only it
+        final Lease lease = new Lease(block.aligned.duplicate());
+        lease.reference = new LeaseReference(lease.buffer, block, this.collected);
+        this.leased.add(lease.reference);
+        return lease;
+    }
+
+    /**
+     * Release the native memory of the free buffers (the leased ones are
+     * released on return).
+     */
+    public void clear() {
+        for (Queue<Block> queue : this.free) {
+            Block block;
+            while ((block = queue.poll()) != null) {
+                this.allocated.addAndGet(-block.aligned.capacity());
+                DirectBufferCleaner.clean(block.base);
+            }
+        }
+    }
+
+    /**
+     * @return the maximum number of bytes of native memory
+     */
+    public long getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return the number of bytes of native memory allocated (leased and
+     *         free)
+     */
+    public long getAllocated() {
+        return this.allocated.get();
+    }
+
+    /**
+     * @return the number of leases served by a free buffer
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of leases which allocated a new direct buffer
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of leases served by a heap buffer (capacity reached
+     *         or request too large)
+     */
+    public long getOverflows() {
+        return this.overflows.sum();
+    }
+
+    /**
+     * @return the number of leased buffers collected without their lease being
+     *         closed
+     */
+    public long getLeaks() {
+        this.dropLeaks();
+
+        return this.leaks.sum();
+    }
+
+    private Block allocate(final int index) {
+        final int size = PAGE_SIZE << index;
+
+        long current;
+        do {
+            current = this.allocated.get();
+            if (current + size > this.capacity) {
+                return null;
+            }
+        } while (!this.allocated.compareAndSet(current, current + size));
+
+        // over-allocated to be aligned on the page
+        final ByteBuffer base = ByteBuffer.allocateDirect(size + PAGE_SIZE - 1);
+        final ByteBuffer aligned = base.alignedSlice(PAGE_SIZE);
+        aligned.limit(size);
+        return new Block(index, base, aligned.slice());
+    }
+
+    private void release(final LeaseReference reference) {
+        if (this.leased.remove(reference)) {
+            reference.clear();
+            this.free[reference.block.index].offer(reference.block);
+        }
+    }
+
+    private void dropLeaks() {
+        Reference<? extends ByteBuffer> reference;
+        while ((reference = this.collected.poll()) != null) {
+            final LeaseReference leak = (LeaseReference) reference;
+            // never pooled again, a derived buffer may still use the memory
+            if (this.leased.remove(leak)) {
+                leak.clear();
+                this.leaks.increment();
+                this.allocated.addAndGet(-leak.block.aligned.capacity());
+                LOGGER.warn("A direct buffer of {} bytes was not released, the lease has to be closed", leak.block.aligned.capacity());
+            }
+        }
+    }
+
+    private static int classOf(final int size) {
+        if (size <= PAGE_SIZE) {
+            return 0;
+        }
+        // ceil(log2(size))
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+
+    /**
+     * Lease of a buffer, the buffer returns to the pool on close.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final ByteBuffer buffer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private LeaseReference reference;
+
+        private Lease(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * @return the leased buffer
+         */
+        public ByteBuffer buffer() {
+            return this.buffer;
+        }
+
+        /**
+         * Return the buffer to the pool (the next calls do nothing).
+         */
+        @Override
+        public void close() {
+            if (this.closed.compareAndSet(false, true) && this.reference != null) {
+                DirectBufferPool.this.release(this.reference);
+            }
+        }
+    }
+
+    /**
+     * A pooled direct buffer
+     */
+    private static final class Block {
+
+        private final int index;
+        // the allocated buffer, required to release the native memory
+        private final ByteBuffer base;
+        private final ByteBuffer aligned;
+
+        private Block(final int index, final ByteBuffer base, final ByteBuffer aligned) {
+            this.index = index;
+            this.base = base;
+            this.aligned = aligned;
+        }
+    }
+
+    /**
+     * Reference enqueued when a leased buffer is collected
+     */
+    private static final class LeaseReference extends PhantomReference<ByteBuffer> {
+
+        private final Block block;
+
+        private LeaseReference(final ByteBuffer buffer, final Block block, final ReferenceQueue<ByteBuffer> queue) {
+            super(buffer, queue);
+            this.block = block;
+        }
+    }
+}
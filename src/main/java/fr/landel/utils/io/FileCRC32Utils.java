@@ -22,11 +22,18 @@ package fr.landel.utils.io;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.zip.CRC32;
 
+import fr.landel.utils.assertor.Assertor;
+
 /**
  * This class is used to get the CRC32 of a file or a directory.
  *
@@ -36,7 +43,17 @@ import java.util.zip.CRC32;
  */
 public final class FileCRC32Utils {
 
-    private static final int BUFFER_SIZE = 10240;
+    /**
+     * The reversed CRC32 polynomial
+     */
+    private static final long CRC32_POLYNOMIAL = 0xEDB88320L;
+
+    /**
+     * The dimension of the GF(2) matrices (the CRC32 length in bits)
+     */
+    private static final int GF2_DIM = 32;
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
 
     /**
      * Constructor.
@@ -146,6 +163,340 @@ public final class FileCRC32Utils {
         return crc32.getValue();
     }
 
+    /**
+     * Get the CRC32 of a file or a directory in parallel. Each file is read by
+     * the executor of the options and the CRCs are combined in the order of
+     * the sequential walk, so the result is the same as
+     * {@link #getCRC32(String)}.
+     * 
+     * @param path
+     *            The path of the file or directory
+     * @param options
+     *            The parallel options
+     * @return The CRC 32 finger print
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    public static Long getCRC32(final String path, final ParallelOptions options) throws IOException {
+        return getCRC32(new File(path), options);
+    }
+
+    /**
+     * Get the CRC32 of a file or a directory in parallel. Each file is read by
+     * the executor of the options and the CRCs are combined in the order of
+     * the sequential walk, so the result is the same as
+     * {@link #getCRC32(File)}. A file larger than
+     * {@link ParallelOptions#getChunkSize()} is split into ranges, each range
+     * is read through positional reads by a different thread (a single huge
+     * file is also checksummed in parallel). The read bytes are throttled by
+     * the rate limiter of the options if defined
+     * ({@link ParallelOptions#withRateLimiter(RateLimiter)}).
+     * 
+     * @param file
+     *            The file or directory
+     * @param options
+     *            The parallel options
+     * @return The CRC 32 finger print
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    public static Long getCRC32(final File file, final ParallelOptions options) throws IOException {
+        return parallelCRC32(file, null, null, options);
+    }
+
+    /**
+     * Get the CRC32 of a file or a directory following a filter in parallel
+     * (same result as {@link #getCRC32(String, FilenameFilter)}).
+     * 
+     * @param path
+     *            The path of the file or directory
+     * @param filter
+     *            The filter to limit the check of a directory
+     * @param options
+     *            The parallel options
+     * @return The CRC 32 finger print
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    public static Long getCRC32(final String path, final FilenameFilter filter, final ParallelOptions options) throws IOException {
+        return getCRC32(new File(path), filter, options);
+    }
+
+    /**
+     * Get the CRC32 of a file or a directory following a filter in parallel
+     * (same result as {@link #getCRC32(String, FileFilter)}).
+     * 
+     * @param path
+     *            The path of the file or directory
+     * @param filter
+     *            The filter to limit the check of a directory
+     * @param options
+     *            The parallel options
+     * @return The CRC 32 finger print
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    public static Long getCRC32(final String path, final FileFilter filter, final ParallelOptions options) throws IOException {
+        return getCRC32(new File(path), filter, options);
+    }
+
+    /**
+     * Get the CRC32 of a file or a directory following a filter in parallel
+     * (same result as {@link #getCRC32(File, FileFilter)}).
+     * 
+     * @param file
+     *            The file or directory
+     * @param filter
+     *            The filter to limit the check of a directory
+     * @param options
+     *            The parallel options
+     * @return The CRC 32 finger print
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    public static Long getCRC32(final File file, final FileFilter filter, final ParallelOptions options) throws IOException {
+        return parallelCRC32(file, filter, null, options);
+    }
+
+    /**
+     * Get the CRC32 of a file or a directory following a filter in parallel
+     * (same result as {@link #getCRC32(File, FilenameFilter)}).
+     * 
+     * @param file
+     *            The file or directory
+     * @param filter
+     *            The filter to limit the check of a directory
+     * @param options
+     *            The parallel options
+     * @return The CRC 32 finger print
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    public static Long getCRC32(final File file, final FilenameFilter filter, final ParallelOptions options) throws IOException {
+        return parallelCRC32(file, null, filter, options);
+    }
+
+    private static Long parallelCRC32(final File file, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        final List<File> files = new ArrayList<>();
+        recursiveList(files, file, fileFilter, filenameFilter);
+
+        final List<FileRange> ranges = new ArrayList<>();
+        for (File subFile : files) {
+            split(ranges, subFile, options.getChunkSize());
+        }
+
+        final RateLimiter rateLimiter = options.getRateLimiter();
+        final List<long[]> partials = ParallelTasks.map(ranges, options, (range) -> range.weight,
+                (range) -> getPartialCRC32(range, rateLimiter));
+
+        long crc = 0;
+        for (long[] partial : partials) {
+            crc = combine(crc, partial[0], partial[1]);
+        }
+        return crc;
+    }
+
+    /**
+     * List the files in the order of {@link #recurisiveCRC32}
+     * 
+     * @param files
+     *            The output list
+     * @param file
+     *            The file or directory
+     * @param fileFilter
+     *            The filter to limit the check of a directory
+     * @param filenameFilter
+     *            The filename filter to limit the check of a directory
+     */
+    private static void recursiveList(final List<File> files, final File file, final FileFilter fileFilter,
+            final FilenameFilter filenameFilter) {
+        if (file.isFile()) {
+            files.add(file);
+        } else if (file.isDirectory()) {
+            File[] subFiles = FileSystemUtils.listFiles(file, fileFilter, filenameFilter);
+            if (subFiles != null) {
+                for (File subFile : subFiles) {
+                    recursiveList(files, subFile.getAbsoluteFile(), fileFilter, filenameFilter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Split a file into ranges. The last range is read until the end of the
+     * file (like the sequential read, even if the file grows).
+     * 
+     * @param ranges
+     *            The output list
+     * @param file
+     *            The file
+     * @param chunkSize
+     *            The maximum size of a range
+     */
+    private static void split(final List<FileRange> ranges, final File file, final long chunkSize) {
+        final long length = file.length();
+
+        long offset = 0;
+        while (length - offset > chunkSize) {
+            ranges.add(new FileRange(file, offset, offset + chunkSize, chunkSize));
+            offset += chunkSize;
+        }
+        ranges.add(new FileRange(file, offset, Long.MAX_VALUE, length - offset));
+    }
+
+    /**
+     * Get the CRC32 of a range of a file and the number of bytes read (the
+     * channel isn't registered in {@link CloseableManager}, several threads may
+     * read the same file).
+     * 
+     * @param range
+     *            The range of the file
+     * @param rateLimiter
+     *            The rate limiter of the read bytes (optional, null if not
+     *            limited)
+     * @return The CRC32 and the length
+     * @throws IOException
+     *             Exception thrown if problems occurs during accessing to the
+     *             specified path
+     */
+    private static long[] getPartialCRC32(final FileRange range, final RateLimiter rateLimiter) throws IOException {
+        final CRC32 crc32 = new CRC32();
+        long position = range.start;
+
+        // a direct buffer avoids the copy from the temporary direct buffer
+        // used by the channel into a heap buffer
+        int bufferSize = (int) Math.max(1, Math.min(BufferSizing.getBufferSize(range.file, BufferSizing.Operation.CHECKSUM), range.weight));
+        if (rateLimiter != null) {
+            bufferSize = Math.min(bufferSize, rateLimiter.getChunkSize());
+        }
+        try (DirectBufferPool.Lease lease = DirectBufferPool.SHARED.acquire(bufferSize);
+                FileInputStream fis = new FileInputStream(range.file);
+                FileChannel channel = fis.getChannel()) {
+
+            final ByteBuffer buffer = lease.buffer();
+            int bufferReadSize;
+            while (position < range.end) {
+                buffer.clear();
+                if (range.end - position < buffer.capacity()) {
+                    buffer.limit((int) (range.end - position));
+                }
+                if ((bufferReadSize = channel.read(buffer, position)) < 0) {
+                    break;
+                }
+                if (rateLimiter != null) {
+                    rateLimiter.acquire(bufferReadSize);
+                }
+                buffer.flip();
+                crc32.update(buffer);
+                position += bufferReadSize;
+            }
+        }
+
+        return new long[] {crc32.getValue(), position - range.start};
+    }
+
+    /**
+     * A range of a file
+     */
+    private static final class FileRange {
+
+        private final File file;
+        private final long start;
+        private final long end;
+        private final long weight;
+
+        private FileRange(final File file, final long start, final long end, final long weight) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Combine two CRC32: get the CRC32 of the concatenation of two blocks from
+     * the CRC32 of each block and the length of the second one (port of zlib
+     * crc32_combine, the CRC32 of the zeros is applied through matrices over
+     * GF(2) in log2(length2) steps).
+     * 
+     * @param crc1
+     *            The CRC32 of the first block
+     * @param crc2
+     *            The CRC32 of the second block
+     * @param length2
+     *            The length of the second block
+     * @return The CRC32 of the two blocks
+     */
+    static long combine(final long crc1, final long crc2, final long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+
+        final long[] even = new long[GF2_DIM];
+        final long[] odd = new long[GF2_DIM];
+
+        // operator for one zero bit
+        odd[0] = CRC32_POLYNOMIAL;
+        long row = 1;
+        for (int n = 1; n < GF2_DIM; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+
+        // operators for two then four zero bits
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        long crc = crc1;
+        long length = length2;
+        do {
+            // apply the zeros operator for this bit of length
+            gf2MatrixSquare(even, odd);
+            if ((length & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            length >>>= 1;
+
+            if (length == 0) {
+                break;
+            }
+
+            gf2MatrixSquare(odd, even);
+            if ((length & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            length >>>= 1;
+        } while (length != 0);
+
+        return crc ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(final long[] matrix, final long vector) {
+        long sum = 0;
+        long vec = vector;
+        for (int i = 0; vec != 0; i++, vec >>>= 1) {
+            if ((vec & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(final long[] square, final long[] matrix) {
+        for (int n = 0; n < GF2_DIM; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+
     private static void recurisiveCRC32(final CRC32 crc32, final File file, final FileFilter fileFilter,
             final FilenameFilter filenameFilter) throws IOException {
         if (file.isFile()) {
@@ -172,17 +523,21 @@ public final class FileCRC32Utils {
      */
     public static Long getCRC32(final InputStream inputStream) throws IOException {
         final CRC32 crc32 = new CRC32();
-        final byte[] buffer = new byte[BUFFER_SIZE];
+        final byte[] buffer = BufferPool.SHARED.acquire(BufferSizing.getBufferSize(BufferSizing.Operation.CHECKSUM));
 
         int bufferReadSize;
 
-        CloseableManager.addCloseable(inputStream.hashCode(), inputStream);
+        CloseableManager.addCloseable(inputStream);
 
-        while ((bufferReadSize = inputStream.read(buffer, 0, BUFFER_SIZE)) >= 0) {
-            crc32.update(buffer, 0, bufferReadSize);
+        try {
+            while ((bufferReadSize = inputStream.read(buffer, 0, buffer.length)) >= 0) {
+                crc32.update(buffer, 0, bufferReadSize);
+            }
+        } finally {
+            BufferPool.SHARED.release(buffer);
         }
 
-        CloseableManager.close(inputStream.hashCode());
+        CloseableManager.close(inputStream);
 
         return crc32.getValue();
     }
@@ -200,14 +555,18 @@ public final class FileCRC32Utils {
      */
     private static void getCRC32File(final CRC32 crc32, final File file) throws IOException {
         int bufferReadSize;
-        final byte[] buffer = new byte[BUFFER_SIZE];
+        final byte[] buffer = BufferPool.SHARED.acquire(BufferSizing.getBufferSize(file, BufferSizing.Operation.CHECKSUM));
 
         // Internal: The CRC object isn't reset
 
         final BufferedInputStream bis = IOStreamUtils.createBufferedInputStream(file);
 
-        while ((bufferReadSize = bis.read(buffer, 0, BUFFER_SIZE)) >= 0) {
-            crc32.update(buffer, 0, bufferReadSize);
+        try {
+            while ((bufferReadSize = bis.read(buffer, 0, buffer.length)) >= 0) {
+                crc32.update(buffer, 0, bufferReadSize);
+            }
+        } finally {
+            BufferPool.SHARED.release(buffer);
         }
 
         CloseableManager.close(file);
@@ -92,35 +92,43 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     }
 
     /**
-     * Move a file.
+     * Move a file. The file is renamed atomically if possible, otherwise it's
+     * copied (with its attributes) and deleted.
      * 
      * @param src
      *            The source file name
      * @param dest
      *            The destination file name
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveFile(final String src, final String dest) throws IOException {
+    public static MoveStrategy moveFile(final String src, final String dest) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyFile(new File(src), new File(dest), true);
+        return move(new File(src), new File(dest), null);
     }
 
     /**
-     * Move a file.
+     * Move a file. The file is renamed atomically if possible, otherwise it's
+     * copied (with its attributes) and deleted.
      * 
      * @param src
      *            The source file name
      * @param dest
      *            The destination file name
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveFile(final File src, final File dest) throws IOException {
+    public static MoveStrategy moveFile(final File src, final File dest) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyFile(src, dest, true);
+        return move(src, dest, null);
     }
 
     /**
@@ -136,7 +144,7 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static void copyFile(final String src, final String dest) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyFile(new File(src), new File(dest), false);
+        copyFile(new File(src), new File(dest), false, false);
     }
 
     /**
@@ -152,28 +160,71 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static void copyFile(final File src, final File dest) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyFile(src, dest, false);
+        copyFile(src, dest, false, false);
     }
 
     /**
-     * Move a directory recursively.
+     * Copy a file.
+     * 
+     * @param src
+     *            The source file name
+     * @param dest
+     *            The destination file name
+     * @param preserveAttributes
+     *            Preserve the times (last modified, last access and creation)
+     *            and the permissions of the source file
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyFile(final String src, final String dest, final boolean preserveAttributes) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyFile(new File(src), new File(dest), false, preserveAttributes);
+    }
+
+    /**
+     * Copy a file.
+     * 
+     * @param src
+     *            The source file name
+     * @param dest
+     *            The destination file name
+     * @param preserveAttributes
+     *            Preserve the times (last modified, last access and creation)
+     *            and the permissions of the source file
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyFile(final File src, final File dest, final boolean preserveAttributes) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyFile(src, dest, false, preserveAttributes);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved.
      * 
      * @param src
      *            The source directory name
      * @param dest
      *            The destination directory name, the directory is created if it
      *            not exists
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveDirectory(final String src, final String dest) throws IOException {
+    public static MoveStrategy moveDirectory(final String src, final String dest) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyDirectory(new File(src), new File(dest), null, null, true);
+        return moveDirectory(new File(src), new File(dest), null, null, null);
     }
 
     /**
-     * Move a directory recursively.
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved.
      * 
      * @param src
      *            The source directory name
@@ -182,17 +233,21 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
      *            not exists
      * @param fileFilter
      *            The filter to limit file to be copied
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveDirectory(final String src, final String dest, final FileFilter fileFilter) throws IOException {
+    public static MoveStrategy moveDirectory(final String src, final String dest, final FileFilter fileFilter) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().and(fileFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyDirectory(new File(src), new File(dest), fileFilter, null, true);
+        return moveDirectory(new File(src), new File(dest), fileFilter, null, null);
     }
 
     /**
-     * Move a directory recursively.
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved.
      * 
      * @param src
      *            The source directory name
@@ -201,34 +256,42 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
      *            not exists
      * @param filenameFilter
      *            The filename filter to limit file to be copied
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveDirectory(final String src, final String dest, final FilenameFilter filenameFilter) throws IOException {
+    public static MoveStrategy moveDirectory(final String src, final String dest, final FilenameFilter filenameFilter) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().and(filenameFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyDirectory(new File(src), new File(dest), null, filenameFilter, true);
+        return moveDirectory(new File(src), new File(dest), null, filenameFilter, null);
     }
 
     /**
-     * Move a directory recursively.
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved.
      * 
      * @param src
      *            The source directory name
      * @param dest
      *            The destination directory name, the directory is created if it
      *            not exists
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveDirectory(final File src, final File dest) throws IOException {
+    public static MoveStrategy moveDirectory(final File src, final File dest) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyDirectory(src, dest, null, null, true);
+        return moveDirectory(src, dest, null, null, null);
     }
 
     /**
-     * Move a directory recursively.
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved.
      * 
      * @param src
      *            The source directory name
@@ -237,17 +300,21 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
      *            not exists
      * @param fileFilter
      *            The filter to limit file to be copied
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveDirectory(final File src, final File dest, final FileFilter fileFilter) throws IOException {
+    public static MoveStrategy moveDirectory(final File src, final File dest, final FileFilter fileFilter) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().and(fileFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyDirectory(src, dest, fileFilter, null, true);
+        return moveDirectory(src, dest, fileFilter, null, null);
     }
 
     /**
-     * Move a directory recursively.
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved.
      * 
      * @param src
      *            The source directory name
@@ -256,13 +323,176 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
      *            not exists
      * @param filenameFilter
      *            The filename filter to limit file to be copied
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    public static void moveDirectory(final File src, final File dest, final FilenameFilter filenameFilter) throws IOException {
+    public static MoveStrategy moveDirectory(final File src, final File dest, final FilenameFilter filenameFilter) throws IOException {
         Assertor.that(src).isNotNull().and(dest).isNotNull().and(filenameFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        copyDirectory(src, dest, null, filenameFilter, true);
+        return moveDirectory(src, dest, null, filenameFilter, null);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved and the copies are throttled by
+     * the rate limiter (which can be shared by the threads of a job).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param rateLimiter
+     *            The rate limiter of the copied bytes
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static MoveStrategy moveDirectory(final String src, final String dest, final RateLimiter rateLimiter) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(rateLimiter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return moveDirectory(new File(src), new File(dest), null, null, rateLimiter);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved and the copies are throttled by
+     * the rate limiter (which can be shared by the threads of a job).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param fileFilter
+     *            The filter to limit file to be copied
+     * @param rateLimiter
+     *            The rate limiter of the copied bytes
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static MoveStrategy moveDirectory(final String src, final String dest, final FileFilter fileFilter,
+            final RateLimiter rateLimiter) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(fileFilter).isNotNull().and(rateLimiter).isNotNull()
+                .orElseThrow(ERROR_PARAM_NULL);
+
+        return moveDirectory(new File(src), new File(dest), fileFilter, null, rateLimiter);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved and the copies are throttled by
+     * the rate limiter (which can be shared by the threads of a job).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param filenameFilter
+     *            The filename filter to limit file to be copied
+     * @param rateLimiter
+     *            The rate limiter of the copied bytes
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static MoveStrategy moveDirectory(final String src, final String dest, final FilenameFilter filenameFilter,
+            final RateLimiter rateLimiter) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(filenameFilter).isNotNull().and(rateLimiter).isNotNull()
+                .orElseThrow(ERROR_PARAM_NULL);
+
+        return moveDirectory(new File(src), new File(dest), null, filenameFilter, rateLimiter);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved and the copies are throttled by
+     * the rate limiter (which can be shared by the threads of a job).
+     * 
+     * @param src
+     *            The source directory
+     * @param dest
+     *            The destination directory, the directory is created if it
+     *            not exists
+     * @param rateLimiter
+     *            The rate limiter of the copied bytes
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static MoveStrategy moveDirectory(final File src, final File dest, final RateLimiter rateLimiter) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(rateLimiter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return moveDirectory(src, dest, null, null, rateLimiter);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved and the copies are throttled by
+     * the rate limiter (which can be shared by the threads of a job).
+     * 
+     * @param src
+     *            The source directory
+     * @param dest
+     *            The destination directory, the directory is created if it
+     *            not exists
+     * @param fileFilter
+     *            The filter to limit file to be copied
+     * @param rateLimiter
+     *            The rate limiter of the copied bytes
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static MoveStrategy moveDirectory(final File src, final File dest, final FileFilter fileFilter, final RateLimiter rateLimiter)
+            throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(fileFilter).isNotNull().and(rateLimiter).isNotNull()
+                .orElseThrow(ERROR_PARAM_NULL);
+
+        return moveDirectory(src, dest, fileFilter, null, rateLimiter);
+    }
+
+    /**
+     * Move a directory recursively. The directory is renamed atomically if
+     * possible, otherwise each file is moved and the copies are throttled by
+     * the rate limiter (which can be shared by the threads of a job).
+     * 
+     * @param src
+     *            The source directory
+     * @param dest
+     *            The destination directory, the directory is created if it
+     *            not exists
+     * @param filenameFilter
+     *            The filename filter to limit file to be copied
+     * @param rateLimiter
+     *            The rate limiter of the copied bytes
+     * @return the strategy used, {@link MoveStrategy#ATOMIC_MOVE} if renamed
+     *         on the same device, {@link MoveStrategy#COPY_AND_DELETE}
+     *         otherwise
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static MoveStrategy moveDirectory(final File src, final File dest, final FilenameFilter filenameFilter,
+            final RateLimiter rateLimiter) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(filenameFilter).isNotNull().and(rateLimiter).isNotNull()
+                .orElseThrow(ERROR_PARAM_NULL);
+
+        return moveDirectory(src, dest, null, filenameFilter, rateLimiter);
     }
 
     /**
@@ -375,16 +605,159 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
         copyDirectory(src, dest, null, filenameFilter, false);
     }
 
+    /**
+     * Copy a directory recursively in parallel: the files are copied by the
+     * executor of the options (at most {@link ParallelOptions#getMaxOpenFiles()}
+     * at the same time).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyDirectory(final String src, final String dest, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyDirectory(new File(src), new File(dest), null, null, options);
+    }
+
+    /**
+     * Copy a directory recursively in parallel: the files are copied by the
+     * executor of the options (at most {@link ParallelOptions#getMaxOpenFiles()}
+     * at the same time).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param fileFilter
+     *            The filter to limit file to be copied
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyDirectory(final String src, final String dest, final FileFilter fileFilter, final ParallelOptions options)
+            throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(fileFilter).isNotNull()
+                .and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyDirectory(new File(src), new File(dest), fileFilter, null, options);
+    }
+
+    /**
+     * Copy a directory recursively in parallel: the files are copied by the
+     * executor of the options (at most {@link ParallelOptions#getMaxOpenFiles()}
+     * at the same time).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param filenameFilter
+     *            The filename filter to limit file to be copied
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyDirectory(final String src, final String dest, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(filenameFilter).isNotNull()
+                .and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyDirectory(new File(src), new File(dest), null, filenameFilter, options);
+    }
+
+    /**
+     * Copy a directory recursively in parallel: the files are copied by the
+     * executor of the options (at most {@link ParallelOptions#getMaxOpenFiles()}
+     * at the same time). The copied bytes are throttled by the rate limiter
+     * of the options if defined ({@link ParallelOptions#withRateLimiter(RateLimiter)}).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyDirectory(final File src, final File dest, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyDirectory(src, dest, null, null, options);
+    }
+
+    /**
+     * Copy a directory recursively in parallel: the files are copied by the
+     * executor of the options (at most {@link ParallelOptions#getMaxOpenFiles()}
+     * at the same time).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param fileFilter
+     *            The filter to limit file to be copied
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyDirectory(final File src, final File dest, final FileFilter fileFilter, final ParallelOptions options)
+            throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(fileFilter).isNotNull()
+                .and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyDirectory(src, dest, fileFilter, null, options);
+    }
+
+    /**
+     * Copy a directory recursively in parallel: the files are copied by the
+     * executor of the options (at most {@link ParallelOptions#getMaxOpenFiles()}
+     * at the same time).
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param filenameFilter
+     *            The filename filter to limit file to be copied
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    public static void copyDirectory(final File src, final File dest, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(dest).isNotNull().and(filenameFilter).isNotNull()
+                .and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        copyDirectory(src, dest, null, filenameFilter, options);
+    }
+
     public static long getSize(final String src) throws IOException {
         Assertor.that(src).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return FileSystemUtils.getSize(new File(src), null, null);
+        return FileSystemUtils.getSize(new File(src), null, (FilenameFilter) null);
     }
 
     public static long getSize(final String src, final FileFilter fileFilter) throws IOException {
         Assertor.that(src).isNotNull().and(fileFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return FileSystemUtils.getSize(new File(src), fileFilter, null);
+        return FileSystemUtils.getSize(new File(src), fileFilter, (FilenameFilter) null);
     }
 
     public static long getSize(final String src, final FilenameFilter filenameFilter) throws IOException {
@@ -396,13 +769,13 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static long getSize(final File src) throws IOException {
         Assertor.that(src).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return FileSystemUtils.getSize(src, null, null);
+        return FileSystemUtils.getSize(src, null, (FilenameFilter) null);
     }
 
     public static long getSize(final File src, final FileFilter fileFilter) throws IOException {
         Assertor.that(src).isNotNull().and(fileFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return FileSystemUtils.getSize(src, fileFilter, null);
+        return FileSystemUtils.getSize(src, fileFilter, (FilenameFilter) null);
     }
 
     public static long getSize(final File src, final FilenameFilter filenameFilter) throws IOException {
@@ -447,6 +820,240 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
         return FileSystemUtils.listFiles(Optional.empty(), src, null, filenameFilter, null);
     }
 
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory name
+     * @param options
+     *            The parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    public static long getSize(final String src, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.getSize(new File(src), null, null, options);
+    }
+
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory name
+     * @param fileFilter
+     *            The file filter to apply
+     * @param options
+     *            The parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    public static long getSize(final String src, final FileFilter fileFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(fileFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.getSize(new File(src), fileFilter, null, options);
+    }
+
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory name
+     * @param filenameFilter
+     *            The filename filter to apply
+     * @param options
+     *            The parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    public static long getSize(final String src, final FilenameFilter filenameFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(filenameFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.getSize(new File(src), null, filenameFilter, options);
+    }
+
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory
+     * @param options
+     *            The parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    public static long getSize(final File src, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.getSize(src, null, null, options);
+    }
+
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory
+     * @param fileFilter
+     *            The file filter to apply
+     * @param options
+     *            The parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    public static long getSize(final File src, final FileFilter fileFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(fileFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.getSize(src, fileFilter, null, options);
+    }
+
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory
+     * @param filenameFilter
+     *            The filename filter to apply
+     * @param options
+     *            The parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    public static long getSize(final File src, final FilenameFilter filenameFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(filenameFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.getSize(src, null, filenameFilter, options);
+    }
+
+    /**
+     * List the files of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory name
+     * @param options
+     *            The parallel options
+     * @return the list of files (same order as the sequential listing)
+     * @throws IOException
+     *             on IO errors
+     */
+    public static List<File> listFiles(final String src, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.listFiles(new File(src), null, null, options);
+    }
+
+    /**
+     * List the files of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory name
+     * @param fileFilter
+     *            The file filter to apply
+     * @param options
+     *            The parallel options
+     * @return the list of files (same order as the sequential listing)
+     * @throws IOException
+     *             on IO errors
+     */
+    public static List<File> listFiles(final String src, final FileFilter fileFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(fileFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.listFiles(new File(src), fileFilter, null, options);
+    }
+
+    /**
+     * List the files of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory name
+     * @param filenameFilter
+     *            The filename filter to apply
+     * @param options
+     *            The parallel options
+     * @return the list of files (same order as the sequential listing)
+     * @throws IOException
+     *             on IO errors
+     */
+    public static List<File> listFiles(final String src, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(filenameFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.listFiles(new File(src), null, filenameFilter, options);
+    }
+
+    /**
+     * List the files of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory
+     * @param options
+     *            The parallel options
+     * @return the list of files (same order as the sequential listing)
+     * @throws IOException
+     *             on IO errors
+     */
+    public static List<File> listFiles(final File src, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.listFiles(src, null, null, options);
+    }
+
+    /**
+     * List the files of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory
+     * @param fileFilter
+     *            The file filter to apply
+     * @param options
+     *            The parallel options
+     * @return the list of files (same order as the sequential listing)
+     * @throws IOException
+     *             on IO errors
+     */
+    public static List<File> listFiles(final File src, final FileFilter fileFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(fileFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.listFiles(src, fileFilter, null, options);
+    }
+
+    /**
+     * List the files of a directory in parallel: the directories of a same
+     * depth are listed by the executor of the options.
+     * 
+     * @param src
+     *            The directory
+     * @param filenameFilter
+     *            The filename filter to apply
+     * @param options
+     *            The parallel options
+     * @return the list of files (same order as the sequential listing)
+     * @throws IOException
+     *             on IO errors
+     */
+    public static List<File> listFiles(final File src, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(src).isNotNull().and(filenameFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return FileSystemUtils.listFiles(src, null, filenameFilter, options);
+    }
+
     /**
      * Gets the list of files following filters
      * 
@@ -482,7 +1089,7 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static boolean deleteDirectory(final String dir) throws IOException {
         Assertor.that(dir).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return deleteDirectory(new File(dir), null, null);
+        return deleteDirectory(new File(dir), null, (FilenameFilter) null);
     }
 
     /**
@@ -499,7 +1106,7 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static boolean deleteDirectory(final String dir, final FileFilter fileFilter) throws IOException {
         Assertor.that(dir).isNotNull().and(fileFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return deleteDirectory(new File(dir), fileFilter, null);
+        return deleteDirectory(new File(dir), fileFilter, (FilenameFilter) null);
     }
 
     /**
@@ -531,7 +1138,7 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static boolean deleteDirectory(final File dir) throws IOException {
         Assertor.that(dir).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return deleteDirectory(dir, null, null);
+        return deleteDirectory(dir, null, (FilenameFilter) null);
     }
 
     /**
@@ -548,7 +1155,7 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
     public static boolean deleteDirectory(final File dir, final FileFilter fileFilter) throws IOException {
         Assertor.that(dir).isNotNull().and(fileFilter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
 
-        return deleteDirectory(dir, fileFilter, null);
+        return deleteDirectory(dir, fileFilter, (FilenameFilter) null);
     }
 
     /**
@@ -568,6 +1175,124 @@ public final class FileSystemUtils extends InternalFileSystemUtils {
         return deleteDirectory(dir, null, filenameFilter);
     }
 
+    /**
+     * Remove a directory in parallel: the files are deleted by the executor
+     * of the options, then the empty directories from the deepest level.
+     * 
+     * @param dir
+     *            The directory name
+     * @param options
+     *            The parallel options
+     * @return true, if full deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    public static boolean deleteDirectory(final String dir, final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return deleteDirectory(new File(dir), null, null, options);
+    }
+
+    /**
+     * Remove a directory in parallel: the files are deleted by the executor
+     * of the options, then the empty directories from the deepest level.
+     * 
+     * @param dir
+     *            The directory name
+     * @param fileFilter
+     *            The file filter to apply
+     * @param options
+     *            The parallel options
+     * @return true, if full deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    public static boolean deleteDirectory(final String dir, final FileFilter fileFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and(fileFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return deleteDirectory(new File(dir), fileFilter, null, options);
+    }
+
+    /**
+     * Remove a directory in parallel: the files are deleted by the executor
+     * of the options, then the empty directories from the deepest level.
+     * 
+     * @param dir
+     *            The directory name
+     * @param filenameFilter
+     *            The filename filter to apply
+     * @param options
+     *            The parallel options
+     * @return true, if full deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    public static boolean deleteDirectory(final String dir, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and(filenameFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return deleteDirectory(new File(dir), null, filenameFilter, options);
+    }
+
+    /**
+     * Remove a directory in parallel: the files are deleted by the executor
+     * of the options, then the empty directories from the deepest level.
+     * 
+     * @param dir
+     *            The directory
+     * @param options
+     *            The parallel options
+     * @return true, if full deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    public static boolean deleteDirectory(final File dir, final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return deleteDirectory(dir, null, null, options);
+    }
+
+    /**
+     * Remove a directory in parallel: the files are deleted by the executor
+     * of the options, then the empty directories from the deepest level.
+     * 
+     * @param dir
+     *            The directory
+     * @param fileFilter
+     *            The file filter to apply
+     * @param options
+     *            The parallel options
+     * @return true, if full deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    public static boolean deleteDirectory(final File dir, final FileFilter fileFilter, final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and(fileFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return deleteDirectory(dir, fileFilter, null, options);
+    }
+
+    /**
+     * Remove a directory in parallel: the files are deleted by the executor
+     * of the options, then the empty directories from the deepest level.
+     * 
+     * @param dir
+     *            The directory
+     * @param filenameFilter
+     *            The filename filter to apply
+     * @param options
+     *            The parallel options
+     * @return true, if full deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    public static boolean deleteDirectory(final File dir, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and(filenameFilter).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        return deleteDirectory(dir, null, filenameFilter, options);
+    }
+
     /**
      * Check if the specified directory is empty.
      * 
@@ -21,13 +21,21 @@ package fr.landel.utils.io;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -37,7 +45,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,9 +96,12 @@ public final class FileUtils {
      */
     public static final String NEWLINE_MACOS = LFCR;
 
-    private static final String C = String.valueOf(CR);
-    private static final String L = String.valueOf(LF);
-    private static final int BUFFER_SIZE = 10240;
+    /**
+     * Size of the char buffers (the byte buffers are sized by
+     * {@link BufferSizing})
+     */
+    private static final int CHAR_BUFFER_SIZE = 8192;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FileUtils.class);
 
@@ -167,17 +177,71 @@ public final class FileUtils {
         Assertor.that(file).isNotNull().orElseThrow("The 'file' parameter cannot be null");
         Assertor.that(charset).isNotNull().orElseThrow("The 'charset' parameter cannot be null");
 
-        final StringBuilder buffer;
+        final CharsetDecoder decoder = newDecoder(charset);
+
+        // the content is presized from the file length
+        final StringBuilder buffer = new StringBuilder(getCharsCapacity(file.length(), decoder));
 
         final BufferedInputStream bis = IOStreamUtils.createBufferedInputStream(file);
 
-        buffer = getFileContent(bis, charset);
+        loadContent(buffer, bis, decoder);
 
         CloseableManager.close(file);
 
         return buffer;
     }
 
+    /**
+     * Get the content of a file into a {@link CharBuffer}. The bytes are
+     * decoded directly into the buffer (sized from the file length), no
+     * intermediate array or string is created. The buffer is ready to be read
+     * (position at 0 and limit at the end of the content) and can be used as a
+     * {@link CharSequence}.
+     * 
+     * @param path
+     *            The path of the file
+     * @param charset
+     *            The file charset
+     * @return The content
+     * @throws IOException
+     *             Exception thrown if problems occurs during reading
+     */
+    public static CharBuffer getFileCharBuffer(final String path, final Charset charset) throws IOException {
+        Assertor.that(path).isNotNull().orElseThrow("The 'path' parameter cannot be null");
+
+        return FileUtils.getFileCharBuffer(new File(path), charset);
+    }
+
+    /**
+     * Get the content of a file into a {@link CharBuffer}. The bytes are
+     * decoded directly into the buffer (sized from the file length), no
+     * intermediate array or string is created. The buffer is ready to be read
+     * (position at 0 and limit at the end of the content) and can be used as a
+     * {@link CharSequence}.
+     * 
+     * @param file
+     *            The file
+     * @param charset
+     *            The file charset
+     * @return The content
+     * @throws IOException
+     *             Exception thrown if problems occurs during reading
+     */
+    public static CharBuffer getFileCharBuffer(final File file, final Charset charset) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow("The 'file' parameter cannot be null");
+        Assertor.that(charset).isNotNull().orElseThrow("The 'charset' parameter cannot be null");
+
+        final CharsetDecoder decoder = newDecoder(charset);
+
+        final BufferedInputStream bis = IOStreamUtils.createBufferedInputStream(file);
+
+        final CharBuffer content = decode(bis, decoder, CharBuffer.allocate(getCharsCapacity(file.length(), decoder)), null);
+
+        CloseableManager.close(file);
+
+        return content.flip();
+    }
+
     /**
      * Get the content of a input stream (charset used: UTF-8).
      * 
@@ -206,9 +270,12 @@ public final class FileUtils {
         Assertor.that(inputStream).isNotNull().orElseThrow("The 'inputStream' parameter cannot be null");
         Assertor.that(charset).isNotNull().orElseThrow("The 'charset' parameter cannot be null");
 
-        final StringBuilder content = new StringBuilder();
+        final CharsetDecoder decoder = newDecoder(charset);
+
+        // the available bytes are used as size hint
+        final StringBuilder content = new StringBuilder(getCharsCapacity(inputStream.available(), decoder));
 
-        loadContent(content, inputStream, charset);
+        loadContent(content, inputStream, decoder);
 
         return content;
     }
@@ -241,28 +308,94 @@ public final class FileUtils {
         }
 
         try (InputStream inputStream = loader.getResourceAsStream(path)) {
-            loadContent(content, inputStream, charset);
+            loadContent(content, inputStream, newDecoder(charset));
         }
 
         return content;
     }
 
-    private static void loadContent(final StringBuilder content, final InputStream inputStream, final Charset charset) throws IOException {
+    private static void loadContent(final StringBuilder content, final InputStream inputStream, final CharsetDecoder decoder)
+            throws IOException {
         Assertor.that(inputStream).isNotNull().orElseThrow("The 'inputStream' from the classpath cannot be null");
 
-        try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            int bufferReadSize;
-            final byte[] buffer = new byte[BUFFER_SIZE];
+        decode(inputStream, decoder, CharBuffer.allocate(CHAR_BUFFER_SIZE), content);
+    }
+
+    /**
+     * Decode the stream. The decoder keeps the bytes of a character cut at the
+     * end of the read buffer until the next read, so the content is decoded on
+     * the fly without loading all bytes first.
+     * 
+     * @param inputStream
+     *            The input stream
+     * @param decoder
+     *            The decoder
+     * @param output
+     *            The output buffer
+     * @param content
+     *            The content, if not null, the output is a chunk appended to
+     *            the content each time it's full, otherwise the output is grown
+     *            if necessary
+     * @return The output buffer (the last one if grown)
+     * @throws IOException
+     *             Exception thrown if problems occurs during reading
+     */
+    private static CharBuffer decode(final InputStream inputStream, final CharsetDecoder decoder, final CharBuffer output,
+            final StringBuilder content) throws IOException {
+        final ByteBuffer bytes = BufferPool.SHARED.acquireBuffer(BufferSizing.getBufferSize(BufferSizing.Operation.READ));
+        CharBuffer chars = output;
+
+        try {
+            boolean end = false;
+            while (!end) {
+                final int bufferReadSize = inputStream.read(bytes.array(), bytes.position(), bytes.remaining());
+                if (bufferReadSize < 0) {
+                    end = true;
+                } else {
+                    bytes.position(bytes.position() + bufferReadSize);
+                }
 
-            while ((bufferReadSize = inputStream.read(buffer, 0, BUFFER_SIZE)) >= 0) {
-                baos.write(buffer, 0, bufferReadSize);
+                bytes.flip();
+                while (decoder.decode(bytes, chars, end).isOverflow()) {
+                    chars = drain(chars, content);
+                }
+                bytes.compact();
             }
+        } finally {
+            BufferPool.SHARED.release(bytes);
+        }
 
-            // convert into the specified charset after loading all data to
-            // avoid the cutting of encoded character at the end of the buffer
-            // size
-            content.append(new String(baos.toByteArray(), 0, baos.size(), charset));
+        while (decoder.flush(chars).isOverflow()) {
+            chars = drain(chars, content);
         }
+
+        if (content != null) {
+            chars = drain(chars, content);
+        }
+        return chars;
+    }
+
+    private static CharBuffer drain(final CharBuffer chars, final StringBuilder content) {
+        if (content != null) {
+            content.append(chars.array(), chars.arrayOffset(), chars.position());
+            chars.clear();
+            return chars;
+        }
+
+        // the size was underestimated
+        final CharBuffer grown = CharBuffer.allocate((int) Math.min(MAX_ARRAY_SIZE, Math.max(chars.capacity() * 2L, CHAR_BUFFER_SIZE)));
+        chars.flip();
+        grown.put(chars);
+        return grown;
+    }
+
+    private static CharsetDecoder newDecoder(final Charset charset) {
+        // same behavior as the String constructor
+        return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static int getCharsCapacity(final long nbBytes, final CharsetDecoder decoder) {
+        return (int) Math.min(MAX_ARRAY_SIZE, (long) Math.ceil(nbBytes * (double) decoder.averageCharsPerByte()) + 1);
     }
 
     /**
@@ -437,15 +570,119 @@ public final class FileUtils {
         Assertor.that(outputStream).isNotNull().orElseThrow("The 'outputStream' parameter cannot be null");
 
         int bufferReadSize;
-        final byte[] buffer = new byte[BUFFER_SIZE];
+        final byte[] buffer = BufferPool.SHARED.acquire(BufferSizing.getBufferSize(BufferSizing.Operation.COPY));
 
-        while ((bufferReadSize = inputStream.read(buffer, 0, BUFFER_SIZE)) >= 0) {
-            outputStream.write(buffer, 0, bufferReadSize);
+        try {
+            while ((bufferReadSize = inputStream.read(buffer, 0, buffer.length)) >= 0) {
+                outputStream.write(buffer, 0, bufferReadSize);
+            }
+        } finally {
+            BufferPool.SHARED.release(buffer);
         }
 
         outputStream.flush();
     }
 
+    /**
+     * Write a stream content into a segmented buffer, the bytes are read
+     * directly into the buffer segments (no intermediate copy, and no
+     * contiguous array to regrow).
+     * 
+     * @param inputStream
+     *            The input stream
+     * @param buffer
+     *            The segmented buffer
+     * @throws IOException
+     *             thrown if problems occurs during reading
+     */
+    public static void writeStream(final InputStream inputStream, final SegmentedByteBuffer buffer) throws IOException {
+        Assertor.that(inputStream).isNotNull().orElseThrow("The 'inpuStream' parameter cannot be null");
+        Assertor.that(buffer).isNotNull().orElseThrow("The 'buffer' parameter cannot be null");
+
+        buffer.readFrom(inputStream);
+    }
+
+    /**
+     * Write a segmented buffer content into a stream.
+     * 
+     * @param buffer
+     *            The segmented buffer
+     * @param outputStream
+     *            The output stream
+     * @throws IOException
+     *             thrown if problems occurs during writing
+     */
+    public static void writeStream(final SegmentedByteBuffer buffer, final OutputStream outputStream) throws IOException {
+        Assertor.that(buffer).isNotNull().orElseThrow("The 'buffer' parameter cannot be null");
+        Assertor.that(outputStream).isNotNull().orElseThrow("The 'outputStream' parameter cannot be null");
+
+        buffer.writeTo(outputStream);
+
+        outputStream.flush();
+    }
+
+    /**
+     * Convert all newline characters of a file into another file, the content
+     * is streamed through a {@link NewLineWriter} (constant memory, see
+     * {@link #convertToWindows(CharSequence)} for the rules).
+     * 
+     * @param source
+     *            The path of the source file
+     * @param target
+     *            The path of the target file (created or replaced)
+     * @param charset
+     *            The charset of the files
+     * @param newline
+     *            The output newline, like {@link #NEWLINE_WINDOWS}
+     * @throws IOException
+     *             thrown if problems occurs during reading or writing, or if
+     *             source and target are the same file
+     */
+    public static void convertNewLines(final String source, final String target, final Charset charset, final String newline)
+            throws IOException {
+        Assertor.that(source).isNotNull().and(target).isNotNull().orElseThrow("The 'source' or 'target' parameters cannot be null");
+
+        convertNewLines(new File(source), new File(target), charset, newline);
+    }
+
+    /**
+     * Convert all newline characters of a file into another file, the content
+     * is streamed through a {@link NewLineWriter} (constant memory, see
+     * {@link #convertToWindows(CharSequence)} for the rules).
+     * 
+     * @param source
+     *            The source file
+     * @param target
+     *            The target file (created or replaced)
+     * @param charset
+     *            The charset of the files
+     * @param newline
+     *            The output newline, like {@link #NEWLINE_WINDOWS}
+     * @throws IOException
+     *             thrown if problems occurs during reading or writing, or if
+     *             source and target are the same file
+     */
+    public static void convertNewLines(final File source, final File target, final Charset charset, final String newline)
+            throws IOException {
+        Assertor.that(source).isNotNull().and(target).isNotNull().and(charset).isNotNull().and(newline).isNotNull()
+                .orElseThrow("The 'source', 'target', 'charset' or 'newline' parameters cannot be null");
+
+        if (source.getAbsoluteFile().equals(target.getAbsoluteFile())) {
+            // the target is truncated on opening
+            throw new IOException("The source and the target cannot be the same file");
+        }
+
+        final char[] buffer = new char[CHAR_BUFFER_SIZE];
+        int bufferReadSize;
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(source), charset);
+                Writer writer = new NewLineWriter(new OutputStreamWriter(new FileOutputStream(target), charset), newline)) {
+            while ((bufferReadSize = reader.read(buffer, 0, CHAR_BUFFER_SIZE)) >= 0) {
+                writer.write(buffer, 0, bufferReadSize);
+            }
+        }
+    }
+
     /**
      * Compare two files
      * 
@@ -493,24 +730,40 @@ public final class FileUtils {
     private static boolean isIdentical(final File file1, final File file2) {
         boolean result = true;
 
-        try (BufferedInputStream bis1 = new BufferedInputStream(new FileInputStream(file1));
-                BufferedInputStream bis2 = new BufferedInputStream(new FileInputStream(file2))) {
-
-            final byte[] buffer1 = new byte[BUFFER_SIZE];
-            final byte[] buffer2 = new byte[BUFFER_SIZE];
-
-            while (result && bis1.read(buffer1, 0, BUFFER_SIZE) > 0 && bis2.read(buffer2, 0, BUFFER_SIZE) > 0) {
-                if (!ArrayUtils.isSameLength(buffer1, buffer2) || !Arrays.equals(buffer1, buffer2)) {
-                    result = false;
-                }
-            }
+        final int bufferSize = BufferSizing.getBufferSize(file1, BufferSizing.Operation.COMPARE);
+        final byte[] buffer1 = BufferPool.SHARED.acquire(bufferSize);
+        final byte[] buffer2 = BufferPool.SHARED.acquire(bufferSize);
+
+        // the pooled arrays are read directly (no extra buffered stream)
+        try (InputStream is1 = new FileInputStream(file1); InputStream is2 = new FileInputStream(file2)) {
+            int read1;
+            int read2;
+            do {
+                read1 = readFully(is1, buffer1);
+                read2 = readFully(is2, buffer2);
+                // only the read bytes are compared, the pooled arrays aren't
+                // cleared
+                result = read1 == read2 && Arrays.equals(buffer1, 0, read1, buffer2, 0, read2);
+            } while (result && read1 == buffer1.length);
         } catch (IOException e) {
             result = false;
+        } finally {
+            BufferPool.SHARED.release(buffer1);
+            BufferPool.SHARED.release(buffer2);
         }
 
         return result;
     }
 
+    private static int readFully(final InputStream inputStream, final byte[] buffer) throws IOException {
+        int total = 0;
+        int read;
+        while (total < buffer.length && (read = inputStream.read(buffer, total, buffer.length - total)) >= 0) {
+            total += read;
+        }
+        return total;
+    }
+
     /**
      * Convert all newline characters into Windows newlines.
      * 
@@ -519,30 +772,21 @@ public final class FileUtils {
      * @return The text converted
      */
     public static StringBuilder convertToWindows(final StringBuilder input) {
-        final StringBuilder output = new StringBuilder(input);
-
-        int pos = 0;
-        while ((pos = output.indexOf(LFCR, pos)) > -1) {
-            output.replace(pos, pos + 2, CRLF);
-            pos++;
-        }
-        pos = 0;
-        while ((pos = output.indexOf(L, pos)) > -1) {
-            if (pos == 0 || output.charAt(pos - 1) != CR) {
-                output.replace(pos, pos + 1, CRLF);
-            }
-            pos++;
-        }
-        pos = 0;
-        final int len = output.length();
-        while ((pos = output.indexOf(C, pos)) > -1) {
-            if (pos == len - 1 || output.charAt(pos + 1) != LF) {
-                output.replace(pos, pos + 1, CRLF);
-            }
-            pos++;
-        }
+        return convertToWindows((CharSequence) input);
+    }
 
-        return output;
+    /**
+     * Convert all newline characters into Windows newlines. The newlines are
+     * read from left to right ({@code "\r\n"}, {@code "\n\r"}, {@code '\r'}
+     * and {@code '\n'} count for one newline), the text is converted in a
+     * single pass into an output of the exact length.
+     * 
+     * @param input
+     *            The text to convert
+     * @return The text converted
+     */
+    public static StringBuilder convertToWindows(final CharSequence input) {
+        return NewLineConverter.convert(input, NEWLINE_WINDOWS);
     }
 
     /**
@@ -553,25 +797,21 @@ public final class FileUtils {
      * @return The text converted
      */
     public static StringBuilder convertToUnix(final StringBuilder input) {
-        final StringBuilder output = new StringBuilder(input);
-
-        int pos = 0;
-        while ((pos = output.indexOf(LFCR, pos)) > -1) {
-            output.replace(pos, pos + 2, L);
-            pos++;
-        }
-        pos = 0;
-        while ((pos = output.indexOf(CRLF, pos)) > -1) {
-            output.replace(pos, pos + 2, L);
-            pos++;
-        }
-        pos = 0;
-        while ((pos = output.indexOf(C, pos)) > -1) {
-            output.replace(pos, pos + 1, L);
-            pos++;
-        }
+        return convertToUnix((CharSequence) input);
+    }
 
-        return output;
+    /**
+     * Convert all newline characters into Unix newlines. The newlines are read
+     * from left to right ({@code "\r\n"}, {@code "\n\r"}, {@code '\r'} and
+     * {@code '\n'} count for one newline), the text is converted in a single
+     * pass.
+     * 
+     * @param input
+     *            The text to convert
+     * @return The text converted
+     */
+    public static StringBuilder convertToUnix(final CharSequence input) {
+        return NewLineConverter.convert(input, NEWLINE_UNIX);
     }
 
     /**
@@ -582,29 +822,20 @@ public final class FileUtils {
      * @return The text converted
      */
     public static StringBuilder convertToMacOS(final StringBuilder input) {
-        final StringBuilder output = new StringBuilder(input);
-
-        int pos = 0;
-        while ((pos = output.indexOf(CRLF, pos)) > -1) {
-            output.replace(pos, pos + 2, LFCR);
-            pos++;
-        }
-        pos = 0;
-        while ((pos = output.indexOf(C, pos)) > -1) {
-            if (pos == 0 || output.charAt(pos - 1) != LF) {
-                output.replace(pos, pos + 1, LFCR);
-            }
-            pos++;
-        }
-        pos = 0;
-        final int len = output.length();
-        while ((pos = output.indexOf(L, pos)) > -1) {
-            if (pos == len - 1 || output.charAt(pos + 1) != CR) {
-                output.replace(pos, pos + 1, LFCR);
-            }
-            pos++;
-        }
+        return convertToMacOS((CharSequence) input);
+    }
 
-        return output;
+    /**
+     * Convert all newline characters into Mac OS newlines. The newlines are
+     * read from left to right ({@code "\r\n"}, {@code "\n\r"}, {@code '\r'}
+     * and {@code '\n'} count for one newline), the text is converted in a
+     * single pass into an output of the exact length.
+     * 
+     * @param input
+     *            The text to convert
+     * @return The text converted
+     */
+    public static StringBuilder convertToMacOS(final CharSequence input) {
+        return NewLineConverter.convert(input, NEWLINE_MACOS);
     }
 }
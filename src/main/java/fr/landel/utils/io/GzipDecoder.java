@@ -0,0 +1,651 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/**
+ * Pure Java decoder of GZIP members (RFC 1951 and 1952). Contrary to
+ * {@link java.util.zip.Inflater}, it exposes the deflate block boundaries as
+ * bit positions in the compressed file and can restart at one of them from
+ * the 32 KiB window of the preceding output (like zlib's zran), this is the
+ * basis of {@link GzipIndex} and {@link SeekableGzipInputStream}.
+ *
+ * <p>
+ * A read never crosses a block boundary, so the caller can check
+ * {@link #isBlockStart()} between two reads. The concatenated members are
+ * read as one stream, the CRC32 and size of a member are checked when it has
+ * been decoded from its start.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class GzipDecoder {
+
+    /**
+     * Size of the deflate window
+     */
+    static final int WINDOW_SIZE = 32 * 1024;
+
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    private static final int INPUT_SIZE = 64 * 1024;
+
+    /**
+     * Number of bits of the direct lookup tables
+     */
+    private static final int FAST_BITS = 10;
+
+    private static final int MAX_BITS = 15;
+
+    private static final int FLAG_HCRC = 2;
+    private static final int FLAG_EXTRA = 4;
+    private static final int FLAG_NAME = 8;
+    private static final int FLAG_COMMENT = 16;
+
+    private static final int STATE_HEADER = 0;
+    private static final int STATE_STORED = 1;
+    private static final int STATE_HUFFMAN = 2;
+    private static final int STATE_TRAILER = 3;
+    private static final int STATE_END = 4;
+
+    private static final int[] LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115,
+            131, 163, 195, 227, 258};
+    private static final int[] LENGTH_EXTRA = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0};
+    private static final int[] DISTANCE_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025,
+            1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577};
+    private static final int[] DISTANCE_EXTRA = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12,
+            13, 13};
+
+    /**
+     * Order of the code length code lengths in a dynamic block header
+     */
+    private static final int[] CODE_LENGTH_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+    private static final Huffman FIXED_LITERALS;
+    private static final Huffman FIXED_DISTANCES;
+
+    private static final String ERROR_FORMAT = "Not in GZIP format";
+    private static final String ERROR_EOF = "Unexpected end of the compressed stream";
+
+    static {
+        final byte[] lengths = new byte[288];
+        for (int i = 0; i < 144; ++i) {
+            lengths[i] = 8;
+        }
+        for (int i = 144; i < 256; ++i) {
+            lengths[i] = 9;
+        }
+        for (int i = 256; i < 280; ++i) {
+            lengths[i] = 7;
+        }
+        for (int i = 280; i < 288; ++i) {
+            lengths[i] = 8;
+        }
+        final byte[] distances = new byte[30];
+        for (int i = 0; i < distances.length; ++i) {
+            distances[i] = 5;
+        }
+        try {
+            FIXED_LITERALS = new Huffman(lengths, 0, lengths.length);
+            FIXED_DISTANCES = new Huffman(distances, 0, distances.length);
+        } catch (ZipException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final InputStream in;
+    private final byte[] input = new byte[INPUT_SIZE];
+    private int inputPosition;
+    private int inputLength;
+
+    /**
+     * Position in the file of the next byte loaded in the bit buffer
+     */
+    private long position;
+
+    private long bits;
+    private int bitCount;
+
+    private final byte[] window = new byte[WINDOW_SIZE];
+
+    /**
+     * Number of bytes written in the window (dictionary included)
+     */
+    private long total;
+
+    private int state;
+    private boolean last;
+    private int storedRemaining;
+    private Huffman literals;
+    private Huffman distances;
+    private int copyLength;
+    private int copyDistance;
+
+    private final CRC32 crc = new CRC32();
+    private long memberLength;
+
+    /**
+     * If the current member has been decoded from its start
+     */
+    private boolean checked;
+
+    /**
+     * Constructor, the GZIP header of the first member is read
+     *
+     * @param in
+     *            the compressed input stream, at its start
+     * @throws IOException
+     *             if the header cannot be read or is not a GZIP one
+     */
+    GzipDecoder(final InputStream in) throws IOException {
+        this.in = in;
+        if (!this.readHeader(true)) {
+            throw new ZipException(ERROR_FORMAT);
+        }
+        this.checked = true;
+        this.state = STATE_HEADER;
+    }
+
+    /**
+     * Constructor from a restart point (a block boundary)
+     *
+     * @param in
+     *            the compressed input stream, positioned at the byte which
+     *            contains the first bit of the block
+     * @param position
+     *            the position of this byte in the file
+     * @param offset
+     *            the offset of the first bit of the block in this byte
+     *            (0-7)
+     * @param dictionary
+     *            the output preceding the block
+     * @param dictionaryLength
+     *            the length of the dictionary (at most 32 KiB are used)
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    GzipDecoder(final InputStream in, final long position, final int offset, final byte[] dictionary, final int dictionaryLength)
+            throws IOException {
+        this.in = in;
+        this.position = position;
+        if (offset > 0) {
+            this.need(offset);
+            this.drop(offset);
+        }
+        final int length = Math.min(dictionaryLength, WINDOW_SIZE);
+        System.arraycopy(dictionary, dictionaryLength - length, this.window, 0, length);
+        this.total = length;
+        this.state = STATE_HEADER;
+    }
+
+    /**
+     * @return true, if the decoder is positioned at the start of a deflate
+     *         block (a restart point)
+     */
+    boolean isBlockStart() {
+        return this.state == STATE_HEADER;
+    }
+
+    /**
+     * @return the position of the next bit to decode in the compressed file
+     */
+    long getBitPosition() {
+        return (this.position << 3) - this.bitCount;
+    }
+
+    /**
+     * Copy the window (the last 32 KiB of output at most) in order
+     *
+     * @param destination
+     *            the destination array (at least {@link #WINDOW_SIZE} bytes)
+     * @return the number of copied bytes
+     */
+    int getWindow(final byte[] destination) {
+        final int length = (int) Math.min(this.total, WINDOW_SIZE);
+        final int start = (int) ((this.total - length) & WINDOW_MASK);
+        final int first = Math.min(length, WINDOW_SIZE - start);
+        System.arraycopy(this.window, start, destination, 0, first);
+        System.arraycopy(this.window, 0, destination, first, length - first);
+        return length;
+    }
+
+    /**
+     * Decode bytes, the read stops at the end of the current block
+     *
+     * @param b
+     *            the destination array
+     * @param off
+     *            the offset in the array
+     * @param len
+     *            the maximum number of bytes
+     * @return the number of decoded bytes or -1 at the end of the last member
+     * @throws IOException
+     *             if the stream cannot be read or is corrupted
+     */
+    int read(final byte[] b, final int off, final int len) throws IOException {
+        final int n = this.inflate(b, off, len);
+        if (n > 0) {
+            if (this.checked) {
+                this.crc.update(b, off, n);
+            }
+            this.memberLength += n;
+        }
+        return n;
+    }
+
+    private int inflate(final byte[] b, final int off, final int len) throws IOException {
+        int produced = 0;
+        while (produced < len) {
+            if (this.state == STATE_HUFFMAN) {
+                if (this.copyLength > 0) {
+                    final int n = Math.min(this.copyLength, len - produced);
+                    for (int i = 0; i < n; ++i) {
+                        final byte value = this.window[(int) ((this.total - this.copyDistance) & WINDOW_MASK)];
+                        this.window[(int) (this.total++ & WINDOW_MASK)] = value;
+                        b[off + produced++] = value;
+                    }
+                    this.copyLength -= n;
+                } else {
+                    final int symbol = this.decode(this.literals);
+                    if (symbol < 256) {
+                        final byte value = (byte) symbol;
+                        this.window[(int) (this.total++ & WINDOW_MASK)] = value;
+                        b[off + produced++] = value;
+                    } else if (symbol == 256) {
+                        this.state = this.endOfBlock();
+                    } else {
+                        this.readCopy(symbol - 257);
+                    }
+                }
+            } else if (this.state == STATE_HEADER) {
+                if (produced > 0) {
+                    return produced;
+                }
+                this.readBlockHeader();
+            } else if (this.state == STATE_STORED) {
+                final int n = Math.min(this.storedRemaining, len - produced);
+                for (int i = 0; i < n; ++i) {
+                    final byte value = (byte) this.readByte();
+                    this.window[(int) (this.total++ & WINDOW_MASK)] = value;
+                    b[off + produced++] = value;
+                }
+                this.storedRemaining -= n;
+                if (this.storedRemaining == 0) {
+                    this.state = this.endOfBlock();
+                }
+            } else if (this.state == STATE_TRAILER) {
+                // the CRC is updated with the produced bytes first
+                if (produced > 0) {
+                    return produced;
+                }
+                this.readTrailer();
+            } else {
+                return produced > 0 ? produced : -1;
+            }
+        }
+        return produced;
+    }
+
+    private void readCopy(final int index) throws IOException {
+        if (index >= LENGTH_BASE.length) {
+            throw new ZipException("Invalid literal/length code");
+        }
+        final int length = LENGTH_BASE[index] + this.bits(LENGTH_EXTRA[index]);
+        final int symbol = this.decode(this.distances);
+        if (symbol >= DISTANCE_BASE.length) {
+            throw new ZipException("Invalid distance code");
+        }
+        final int distance = DISTANCE_BASE[symbol] + this.bits(DISTANCE_EXTRA[symbol]);
+        if (distance > this.total) {
+            throw new ZipException("Invalid distance too far back");
+        }
+        this.copyLength = length;
+        this.copyDistance = distance;
+    }
+
+    private void readBlockHeader() throws IOException {
+        this.last = this.bits(1) == 1;
+        final int type = this.bits(2);
+        if (type == 0) {
+            this.align();
+            final int length = this.readByte() | (this.readByte() << 8);
+            final int complement = this.readByte() | (this.readByte() << 8);
+            if (length != (~complement & 0xFFFF)) {
+                throw new ZipException("Invalid stored block lengths");
+            }
+            this.storedRemaining = length;
+            this.state = length > 0 ? STATE_STORED : this.endOfBlock();
+        } else if (type == 1) {
+            this.literals = FIXED_LITERALS;
+            this.distances = FIXED_DISTANCES;
+            this.state = STATE_HUFFMAN;
+        } else if (type == 2) {
+            this.readDynamicTables();
+            this.state = STATE_HUFFMAN;
+        } else {
+            throw new ZipException("Invalid block type");
+        }
+    }
+
+    private int endOfBlock() {
+        return this.last ? STATE_TRAILER : STATE_HEADER;
+    }
+
+    private void readDynamicTables() throws IOException {
+        final int literalCount = this.bits(5) + 257;
+        final int distanceCount = this.bits(5) + 1;
+        final int codeLengthCount = this.bits(4) + 4;
+        if (literalCount > 286 || distanceCount > 30) {
+            throw new ZipException("Too many length or distance symbols");
+        }
+
+        final byte[] lengths = new byte[literalCount + distanceCount];
+        for (int i = 0; i < codeLengthCount; ++i) {
+            lengths[CODE_LENGTH_ORDER[i]] = (byte) this.bits(3);
+        }
+        final Huffman codeLengths = new Huffman(lengths, 0, CODE_LENGTH_ORDER.length);
+        for (int i = 0; i < CODE_LENGTH_ORDER.length; ++i) {
+            lengths[i] = 0;
+        }
+
+        int index = 0;
+        while (index < lengths.length) {
+            final int symbol = this.decode(codeLengths);
+            if (symbol < 16) {
+                lengths[index++] = (byte) symbol;
+            } else {
+                final byte value;
+                final int repeat;
+                if (symbol == 16) {
+                    if (index == 0) {
+                        throw new ZipException("Invalid bit length repeat");
+                    }
+                    value = lengths[index - 1];
+                    repeat = 3 + this.bits(2);
+                } else if (symbol == 17) {
+                    value = 0;
+                    repeat = 3 + this.bits(3);
+                } else {
+                    value = 0;
+                    repeat = 11 + this.bits(7);
+                }
+                if (index + repeat > lengths.length) {
+                    throw new ZipException("Invalid bit length repeat");
+                }
+                for (int i = 0; i < repeat; ++i) {
+                    lengths[index++] = value;
+                }
+            }
+        }
+        if (lengths[256] == 0) {
+            throw new ZipException("Invalid code -- missing end-of-block");
+        }
+
+        this.literals = new Huffman(lengths, 0, literalCount);
+        this.distances = new Huffman(lengths, literalCount, distanceCount);
+    }
+
+    private void readTrailer() throws IOException {
+        this.align();
+        final long crc32 = this.readInt();
+        final long size = this.readInt();
+        if (this.checked && (crc32 != this.crc.getValue() || size != (this.memberLength & 0xFFFF_FFFFL))) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        this.crc.reset();
+        this.memberLength = 0;
+        this.checked = true;
+        this.state = this.readHeader(false) ? STATE_HEADER : STATE_END;
+    }
+
+    /**
+     * Read a member header
+     *
+     * @param first
+     *            if it's the first member (a trailing garbage is ignored
+     *            after the other ones, like {@link java.util.zip.GZIPInputStream})
+     * @return true, if a header was read, false at the end of the stream
+     * @throws IOException
+     *             if the header is invalid
+     */
+    private boolean readHeader(final boolean first) throws IOException {
+        final int id1 = this.readByteOrEnd();
+        final int id2 = id1 < 0 ? -1 : this.readByteOrEnd();
+        if (id1 != 0x1F || id2 != 0x8B) {
+            if (first) {
+                throw new ZipException(ERROR_FORMAT);
+            }
+            return false;
+        }
+        if (this.readByte() != 8) {
+            throw new ZipException("Unsupported compression method");
+        }
+        final int flags = this.readByte();
+        // modification time, extra flags and operating system
+        this.skipBytes(6);
+        if ((flags & FLAG_EXTRA) != 0) {
+            this.skipBytes(this.readByte() | (this.readByte() << 8));
+        }
+        if ((flags & FLAG_NAME) != 0) {
+            this.skipString();
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            this.skipString();
+        }
+        if ((flags & FLAG_HCRC) != 0) {
+            this.skipBytes(2);
+        }
+        return true;
+    }
+
+    private void skipString() throws IOException {
+        while (this.readByte() != 0) {
+            // skip until the terminating zero
+        }
+    }
+
+    private void skipBytes(final int count) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            this.readByte();
+        }
+    }
+
+    private long readInt() throws IOException {
+        return (this.readByte() | (this.readByte() << 8) | (this.readByte() << 16) | ((long) this.readByte() << 24));
+    }
+
+    private int decode(final Huffman huffman) throws IOException {
+        this.fill(MAX_BITS);
+        final int entry = huffman.fast[(int) this.bits & ((1 << FAST_BITS) - 1)];
+        final int length = entry & 0xF;
+        if (length != 0 && length <= this.bitCount) {
+            this.drop(length);
+            return entry >>> 4;
+        }
+
+        // canonical decoding, bit by bit (codes longer than FAST_BITS)
+        int code = 0;
+        int first = 0;
+        int index = 0;
+        for (int len = 1; len <= MAX_BITS; ++len) {
+            if (len > this.bitCount) {
+                throw new EOFException(ERROR_EOF);
+            }
+            code |= (int) (this.bits >>> (len - 1)) & 1;
+            final int count = huffman.count[len];
+            if (code - count < first) {
+                this.drop(len);
+                return huffman.symbols[index + code - first];
+            }
+            index += count;
+            first += count;
+            first <<= 1;
+            code <<= 1;
+        }
+        throw new ZipException("Invalid Huffman code");
+    }
+
+    private int bits(final int count) throws IOException {
+        if (count == 0) {
+            return 0;
+        }
+        this.need(count);
+        final int value = (int) (this.bits & ((1L << count) - 1));
+        this.drop(count);
+        return value;
+    }
+
+    private void need(final int count) throws IOException {
+        this.fill(count);
+        if (this.bitCount < count) {
+            throw new EOFException(ERROR_EOF);
+        }
+    }
+
+    /**
+     * Load bytes in the bit buffer, stops at the end of the stream
+     *
+     * @param count
+     *            the number of expected bits
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    private void fill(final int count) throws IOException {
+        while (this.bitCount < count) {
+            final int b = this.nextByte();
+            if (b < 0) {
+                return;
+            }
+            this.bits |= (long) b << this.bitCount;
+            this.bitCount += 8;
+        }
+    }
+
+    private void drop(final int count) {
+        this.bits >>>= count;
+        this.bitCount -= count;
+    }
+
+    /**
+     * Skip the bits up to the next byte boundary of the file
+     */
+    private void align() {
+        this.drop(this.bitCount & 7);
+    }
+
+    private int readByte() throws IOException {
+        final int b = this.readByteOrEnd();
+        if (b < 0) {
+            throw new EOFException(ERROR_EOF);
+        }
+        return b;
+    }
+
+    private int readByteOrEnd() throws IOException {
+        if (this.bitCount >= 8) {
+            final int b = (int) this.bits & 0xFF;
+            this.drop(8);
+            return b;
+        }
+        return this.nextByte();
+    }
+
+    private int nextByte() throws IOException {
+        if (this.inputPosition == this.inputLength) {
+            final int n = this.in.read(this.input, 0, this.input.length);
+            this.inputPosition = 0;
+            this.inputLength = Math.max(n, 0);
+            if (n <= 0) {
+                return -1;
+            }
+        }
+        ++this.position;
+        return this.input[this.inputPosition++] & 0xFF;
+    }
+
+    /**
+     * Canonical Huffman code, with a direct lookup table for the short codes
+     */
+    private static final class Huffman {
+
+        /**
+         * Number of codes per length
+         */
+        private final int[] count = new int[MAX_BITS + 1];
+
+        /**
+         * The symbols ordered by code
+         */
+        private final int[] symbols;
+
+        /**
+         * Lookup table indexed by the next {@link #FAST_BITS} bits (in
+         * stream order): symbol &lt;&lt; 4 | length, 0 if the code is
+         * longer
+         */
+        private final int[] fast = new int[1 << FAST_BITS];
+
+        private Huffman(final byte[] lengths, final int offset, final int length) throws ZipException {
+            this.symbols = new int[length];
+            for (int i = 0; i < length; ++i) {
+                ++this.count[lengths[offset + i]];
+            }
+            this.count[0] = 0;
+
+            int left = 1;
+            for (int len = 1; len <= MAX_BITS; ++len) {
+                left = (left << 1) - this.count[len];
+                if (left < 0) {
+                    throw new ZipException("Invalid Huffman code lengths");
+                }
+            }
+
+            final int[] offsets = new int[MAX_BITS + 2];
+            final int[] codes = new int[MAX_BITS + 2];
+            int code = 0;
+            for (int len = 1; len <= MAX_BITS; ++len) {
+                offsets[len + 1] = offsets[len] + this.count[len];
+                code = (code + this.count[len - 1]) << 1;
+                codes[len] = code;
+            }
+
+            for (int symbol = 0; symbol < length; ++symbol) {
+                final int len = lengths[offset + symbol];
+                if (len == 0) {
+                    continue;
+                }
+                this.symbols[offsets[len]++] = symbol;
+                final int reversed = Integer.reverse(codes[len]++) >>> (32 - len);
+                if (len <= FAST_BITS) {
+                    for (int i = reversed; i < this.fast.length; i += 1 << len) {
+                        this.fast[i] = (symbol << 4) | len;
+                    }
+                }
+            }
+        }
+    }
+}
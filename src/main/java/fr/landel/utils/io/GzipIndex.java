@@ -0,0 +1,528 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Random access index of a GZIP file (like zlib's zran): while the file is
+ * inflated once, a restart point is recorded at the first deflate block
+ * boundary after every span of uncompressed bytes. A point holds the
+ * uncompressed offset, the bit position of the block in the file and the
+ * 32 KiB of output preceding the block (deflated in the index). From the
+ * nearest point, {@link SeekableGzipInputStream} only inflates at most a span
+ * (plus a block) to reach any uncompressed offset.
+ *
+ * <p>
+ * The index is saved in a sidecar file (the GZIP file name followed by
+ * {@link #EXTENSION}), {@link #of(File)} reads it or rebuilds it if it's
+ * missing or doesn't match the GZIP file anymore (a log which has been
+ * completed or rewritten for example): the length, the last modification time
+ * and the trailer (CRC32 and size of the last member) are compared. The
+ * sidecar is written in a temporary file and then renamed, so a concurrent
+ * reader never sees a partial index. The concatenated members are supported.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class GzipIndex {
+
+    /**
+     * Default span between two restart points (1 MiB of uncompressed data)
+     */
+    public static final long DEFAULT_SPAN = 1024 * 1024;
+
+    /**
+     * Extension of the sidecar index file
+     */
+    public static final String EXTENSION = ".zidx";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GzipIndex.class);
+
+    private static final int MAGIC = 0x5A494458;
+    private static final int VERSION = 2;
+
+    /**
+     * Length of the GZIP trailer (CRC32 and size of the last member)
+     */
+    private static final int TRAILER_LENGTH = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String ERROR_FORMAT = "The file is not a GZIP index";
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final long span;
+    private final long compressedLength;
+    private final long lastModified;
+    private final long trailer;
+    private final long uncompressedLength;
+
+    /**
+     * Uncompressed offsets of the points (ascending)
+     */
+    private final long[] offsets;
+
+    /**
+     * Bit positions of the points in the compressed file
+     */
+    private final long[] bitPositions;
+
+    private final int[] windowLengths;
+
+    /**
+     * Deflated windows
+     */
+    private final byte[][] windows;
+
+    private GzipIndex(final long span, final long compressedLength, final long lastModified, final long trailer,
+            final long uncompressedLength, final long[] offsets, final long[] bitPositions, final int[] windowLengths, final byte[][] windows) {
+        this.span = span;
+        this.compressedLength = compressedLength;
+        this.lastModified = lastModified;
+        this.trailer = trailer;
+        this.uncompressedLength = uncompressedLength;
+        this.offsets = offsets;
+        this.bitPositions = bitPositions;
+        this.windowLengths = windowLengths;
+        this.windows = windows;
+    }
+
+    /**
+     * Build the index of the GZIP file with a restart point every
+     * {@link #DEFAULT_SPAN} bytes (the index is not saved)
+     *
+     * @param file
+     *            the GZIP file
+     * @return the index
+     * @throws IOException
+     *             if the file cannot be read or is not a valid GZIP file
+     */
+    public static GzipIndex build(final File file) throws IOException {
+        return build(file, DEFAULT_SPAN);
+    }
+
+    /**
+     * Build the index of the GZIP file (the index is not saved)
+     *
+     * @param file
+     *            the GZIP file
+     * @param span
+     *            the minimum number of uncompressed bytes between two restart
+     *            points
+     * @return the index
+     * @throws IOException
+     *             if the file cannot be read or is not a valid GZIP file
+     * @throws IllegalArgumentException
+     *             if {@code file} is {@code null} or if the span is not
+     *             greater than 0
+     */
+    public static GzipIndex build(final File file, final long span) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        Assertor.that(span).isGT(0L).orElseThrow("The span must be greater than 0");
+
+        // the state of the file before the reading (if the file is modified
+        // meanwhile, the index doesn't match and is rebuilt the next time)
+        final long compressedLength = file.length();
+        final long lastModified = file.lastModified();
+        final long trailer = readTrailer(file);
+
+        final List<long[]> points = new ArrayList<>();
+        final List<byte[]> windows = new ArrayList<>();
+        final List<Integer> windowLengths = new ArrayList<>();
+
+        final byte[] buffer = BufferPool.SHARED.acquire(BUFFER_SIZE);
+        final byte[] window = new byte[GzipDecoder.WINDOW_SIZE];
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        long length = 0;
+        try (InputStream is = new FileInputStream(file)) {
+            final GzipDecoder decoder = new GzipDecoder(is);
+            long next = 0;
+            int n;
+            do {
+                if (length >= next && decoder.isBlockStart()) {
+                    final int windowLength = decoder.getWindow(window);
+                    points.add(new long[] {length, decoder.getBitPosition()});
+                    windowLengths.add(windowLength);
+                    windows.add(deflate(deflater, window, windowLength));
+                    next = length + span;
+                }
+                n = decoder.read(buffer, 0, buffer.length);
+                if (n > 0) {
+                    length += n;
+                }
+            } while (n >= 0);
+        } finally {
+            deflater.end();
+            BufferPool.SHARED.release(buffer);
+        }
+
+        final int size = points.size();
+        final long[] offsets = new long[size];
+        final long[] bitPositions = new long[size];
+        final int[] lengths = new int[size];
+        for (int i = 0; i < size; ++i) {
+            offsets[i] = points.get(i)[0];
+            bitPositions[i] = points.get(i)[1];
+            lengths[i] = windowLengths.get(i);
+        }
+        return new GzipIndex(span, compressedLength, lastModified, trailer, length, offsets, bitPositions, lengths,
+                windows.toArray(new byte[size][]));
+    }
+
+    /**
+     * Get the index of the GZIP file: the sidecar index is read if it matches
+     * the file, otherwise the index is built with {@link #DEFAULT_SPAN} and
+     * saved (if the directory is read-only, the index is only returned)
+     *
+     * @param file
+     *            the GZIP file
+     * @return the index
+     * @throws IOException
+     *             if the file cannot be read or is not a valid GZIP file
+     */
+    public static GzipIndex of(final File file) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+
+        final File indexFile = getIndexFile(file);
+        if (indexFile.isFile()) {
+            try {
+                final GzipIndex index = read(indexFile);
+                if (index.matches(file)) {
+                    return index;
+                }
+            } catch (IOException e) {
+                LOGGER.debug("The GZIP index {} cannot be read, it's rebuilt", indexFile, e);
+            }
+        }
+
+        final GzipIndex index = build(file);
+        try {
+            index.write(indexFile);
+        } catch (IOException e) {
+            LOGGER.debug("The GZIP index {} cannot be saved", indexFile, e);
+        }
+        return index;
+    }
+
+    /**
+     * Get the sidecar index file of a GZIP file
+     *
+     * @param file
+     *            the GZIP file
+     * @return the index file (the GZIP file name followed by
+     *         {@link #EXTENSION})
+     */
+    public static File getIndexFile(final File file) {
+        Assertor.that(file).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return new File(file.getPath() + EXTENSION);
+    }
+
+    /**
+     * Read an index file
+     *
+     * @param indexFile
+     *            the index file
+     * @return the index
+     * @throws IOException
+     *             if the file cannot be read or is not an index
+     */
+    public static GzipIndex read(final File indexFile) throws IOException {
+        Assertor.that(indexFile).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (dis.readInt() != MAGIC) {
+                throw new IOException(ERROR_FORMAT);
+            }
+            final int version = dis.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported GZIP index version: " + version);
+            }
+            final long span = dis.readLong();
+            final long compressedLength = dis.readLong();
+            final long lastModified = dis.readLong();
+            final long trailer = dis.readLong();
+            final long uncompressedLength = dis.readLong();
+            final int size = dis.readInt();
+            if (span <= 0 || size < 0) {
+                throw new IOException(ERROR_FORMAT);
+            }
+
+            final long[] offsets = new long[size];
+            final long[] bitPositions = new long[size];
+            final int[] windowLengths = new int[size];
+            final byte[][] windows = new byte[size][];
+            for (int i = 0; i < size; ++i) {
+                offsets[i] = dis.readLong();
+                bitPositions[i] = dis.readLong();
+                windowLengths[i] = dis.readInt();
+                final int length = dis.readInt();
+                if (windowLengths[i] < 0 || windowLengths[i] > GzipDecoder.WINDOW_SIZE || length < 0
+                        || (i > 0 && offsets[i] < offsets[i - 1])) {
+                    throw new IOException(ERROR_FORMAT);
+                }
+                windows[i] = new byte[length];
+                dis.readFully(windows[i]);
+            }
+            return new GzipIndex(span, compressedLength, lastModified, trailer, uncompressedLength, offsets, bitPositions, windowLengths,
+                    windows);
+        }
+    }
+
+    /**
+     * Write the index: the index is written in a temporary file of the same
+     * directory, which then replaces the index file (atomically if the file
+     * system supports it)
+     *
+     * @param indexFile
+     *            the index file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(final File indexFile) throws IOException {
+        Assertor.that(indexFile).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        final File temp = File.createTempFile(indexFile.getName(), ".tmp", indexFile.getAbsoluteFile().getParentFile());
+        try {
+            this.writeTo(temp);
+            try {
+                Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * Write the content of the index
+     *
+     * @param file
+     *            the destination file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    private void writeTo(final File file) throws IOException {
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeLong(this.span);
+            dos.writeLong(this.compressedLength);
+            dos.writeLong(this.lastModified);
+            dos.writeLong(this.trailer);
+            dos.writeLong(this.uncompressedLength);
+            dos.writeInt(this.offsets.length);
+            for (int i = 0; i < this.offsets.length; ++i) {
+                dos.writeLong(this.offsets[i]);
+                dos.writeLong(this.bitPositions[i]);
+                dos.writeInt(this.windowLengths[i]);
+                dos.writeInt(this.windows[i].length);
+                dos.write(this.windows[i]);
+            }
+        }
+    }
+
+    /**
+     * Check if the index was built from the file (same length, same last
+     * modification time and same trailer)
+     *
+     * @param file
+     *            the GZIP file
+     * @return true, if the index matches
+     */
+    public boolean matches(final File file) {
+        if (file == null || file.length() != this.compressedLength || file.lastModified() != this.lastModified) {
+            return false;
+        }
+        try {
+            return readTrailer(file) == this.trailer;
+        } catch (IOException e) {
+            LOGGER.debug("The trailer of the GZIP file {} cannot be read", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Read the trailer of a GZIP file (the CRC32 and the size of the last
+     * member)
+     *
+     * @param file
+     *            the GZIP file
+     * @return the trailer as a long, 0 if the file is too short
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    private static long readTrailer(final File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final long length = raf.length();
+            if (length < TRAILER_LENGTH) {
+                return 0;
+            }
+            raf.seek(length - TRAILER_LENGTH);
+            return raf.readLong();
+        }
+    }
+
+    /**
+     * @return the minimum number of uncompressed bytes between two restart
+     *         points
+     */
+    public long getSpan() {
+        return this.span;
+    }
+
+    /**
+     * @return the length of the GZIP file
+     */
+    public long getCompressedLength() {
+        return this.compressedLength;
+    }
+
+    /**
+     * @return the last modification time of the GZIP file
+     */
+    public long getLastModified() {
+        return this.lastModified;
+    }
+
+    /**
+     * @return the length of the uncompressed data
+     */
+    public long getUncompressedLength() {
+        return this.uncompressedLength;
+    }
+
+    /**
+     * @return the number of restart points
+     */
+    public int size() {
+        return this.offsets.length;
+    }
+
+    /**
+     * Find the last restart point before an uncompressed offset
+     *
+     * @param offset
+     *            the uncompressed offset
+     * @return the index of the point
+     */
+    int find(final long offset) {
+        final int index = Arrays.binarySearch(this.offsets, offset);
+        // several points cannot have the same offset (span > 0)
+        return Math.max(index >= 0 ? index : -index - 2, 0);
+    }
+
+    /**
+     * @param point
+     *            the index of the point
+     * @return the uncompressed offset of the point
+     */
+    long getOffset(final int point) {
+        return this.offsets[point];
+    }
+
+    /**
+     * @param point
+     *            the index of the point
+     * @return the bit position of the point in the compressed file
+     */
+    long getBitPosition(final int point) {
+        return this.bitPositions[point];
+    }
+
+    /**
+     * Inflate the window of a point
+     *
+     * @param point
+     *            the index of the point
+     * @param destination
+     *            the destination array (at least 32 KiB)
+     * @return the length of the window
+     * @throws IOException
+     *             if the window is corrupted
+     */
+    int getWindow(final int point, final byte[] destination) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(this.windows[point]);
+            final int length = this.windowLengths[point];
+            int n = 0;
+            while (n < length && !inflater.finished()) {
+                final int read = inflater.inflate(destination, n, length - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != length) {
+                throw new IOException("The window of the GZIP index is corrupted");
+            }
+            return length;
+        } catch (DataFormatException e) {
+            throw new IOException("The window of the GZIP index is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(final Deflater deflater, final byte[] window, final int length) {
+        deflater.reset();
+        deflater.setInput(window, 0, length);
+        deflater.finish();
+        byte[] output = new byte[Math.max(64, length / 2)];
+        int n = 0;
+        while (!deflater.finished()) {
+            if (n == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            n += deflater.deflate(output, n, output.length - n);
+        }
+        return Arrays.copyOf(output, n);
+    }
+}
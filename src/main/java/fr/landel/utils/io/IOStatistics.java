@@ -0,0 +1,500 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Opt-in statistics of the streams created by {@link IOStreamUtils}: when
+ * enabled, the file (and URL) streams opened by the factories are wrapped to
+ * record the number of calls, the transferred bytes and a latency histogram
+ * of the reads, the writes and the closes. The records are aggregated per
+ * path prefix (the longest enabled prefix of the path, "" if none matches; a
+ * prefix only matches whole names: "/data/in" matches "/data/in/file" but not
+ * "/data/inbox") and per {@link Operation} in striped counters ({@link LongAdder}), so the
+ * threads don't contend on them. The wrappers are below the buffers of the
+ * factories, they measure the system calls.
+ *
+ * <p>
+ * When disabled (default), the factories don't wrap anything: the only cost
+ * is a volatile read on opening. The streams wrapped while enabled keep
+ * recording until closed. The mapped streams and the seekable GZIP stream
+ * read through their own channel, they are not instrumented.
+ * </p>
+ *
+ * <pre>
+ * IOStatistics.enable("/var/log", "/data");
+ * ...
+ * Snapshot snapshot = IOStatistics.snapshot();
+ * long p99 = snapshot.get("/var/log", Operation.READ).getPercentileNanos(0.99);
+ * </pre>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class IOStatistics {
+
+    /**
+     * Number of buckets of the histograms: the bucket {@code i} counts the
+     * latencies between 2^i and 2^(i+1) nanoseconds (the last one counts the
+     * longer ones)
+     */
+    public static final int BUCKETS = 40;
+
+    /**
+     * The recorded operations
+     */
+    public enum Operation {
+        /**
+         * A read call, with the number of read bytes
+         */
+        READ,
+
+        /**
+         * A write call, with the number of written bytes
+         */
+        WRITE,
+
+        /**
+         * The close of the stream
+         */
+        CLOSE
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private static volatile boolean enabled;
+
+    /**
+     * The enabled prefixes, the longest first
+     */
+    private static volatile String[] prefixes = {};
+
+    /**
+     * The recorders per prefix, indexed by operation
+     */
+    private static final ConcurrentMap<String, Recorder[]> RECORDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     */
+    private IOStatistics() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Enable the statistics of the streams created from now on
+     *
+     * @param prefixes
+     *            the prefixes of the aggregation: file paths (the relative
+     *            ones are made absolute) or URL prefixes (like "file:" or
+     *            "http://host/"), the streams whose path doesn't match any
+     *            prefix are aggregated under ""
+     * @throws IllegalArgumentException
+     *             if the array or a prefix is null
+     */
+    public static void enable(final String... prefixes) {
+        Assertor.that(prefixes).isNotNull().and().not().contains(null).orElseThrow(ERROR_PARAM_NULL);
+
+        final Set<String> normalized = new LinkedHashSet<>();
+        for (String prefix : prefixes) {
+            // a scheme has at least 2 characters (not a drive letter)
+            if (prefix.isEmpty() || prefix.indexOf(':') > 1 || new File(prefix).isAbsolute()) {
+                normalized.add(prefix);
+            } else {
+                normalized.add(new File(prefix).getAbsolutePath());
+            }
+        }
+        final String[] sorted = normalized.toArray(new String[normalized.size()]);
+        Arrays.sort(sorted, Comparator.comparingInt(String::length).reversed());
+
+        IOStatistics.prefixes = sorted;
+        enabled = true;
+    }
+
+    /**
+     * Disable the statistics of the streams created from now on (the
+     * recorded statistics are kept)
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * @return true, if the streams are instrumented
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reset the recorded statistics (the counters are reset in place, so the
+     * open streams continue to record)
+     */
+    public static void reset() {
+        for (Recorder[] recorders : RECORDERS.values()) {
+            for (Recorder recorder : recorders) {
+                recorder.reset();
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot of the statistics. The counters are read one by one
+     * while the streams record, the snapshot is weakly consistent.
+     *
+     * @return the snapshot
+     */
+    public static Snapshot snapshot() {
+        final Map<String, Map<Operation, Statistics>> statistics = new TreeMap<>();
+        for (Map.Entry<String, Recorder[]> entry : RECORDERS.entrySet()) {
+            final Map<Operation, Statistics> operations = new EnumMap<>(Operation.class);
+            for (Operation operation : OPERATIONS) {
+                operations.put(operation, entry.getValue()[operation.ordinal()].toStatistics());
+            }
+            statistics.put(entry.getKey(), Collections.unmodifiableMap(operations));
+        }
+        return new Snapshot(Collections.unmodifiableMap(statistics));
+    }
+
+    /**
+     * Wrap the input stream of a file if the statistics are enabled
+     *
+     * @param in
+     *            the input stream
+     * @param file
+     *            the file
+     * @return the instrumented stream or the input stream itself
+     */
+    static InputStream instrument(final InputStream in, final File file) {
+        if (enabled) {
+            return new InstrumentedInputStream(in, recorders(file.getAbsolutePath()));
+        }
+        return in;
+    }
+
+    /**
+     * Wrap the input stream of an URL if the statistics are enabled
+     *
+     * @param in
+     *            the input stream
+     * @param url
+     *            the URL
+     * @return the instrumented stream or the input stream itself
+     */
+    static InputStream instrument(final InputStream in, final URL url) {
+        if (enabled) {
+            return new InstrumentedInputStream(in, recorders(url.toExternalForm()));
+        }
+        return in;
+    }
+
+    /**
+     * Wrap the output stream of a file if the statistics are enabled
+     *
+     * @param out
+     *            the output stream
+     * @param file
+     *            the file
+     * @return the instrumented stream or the output stream itself
+     */
+    static OutputStream instrument(final OutputStream out, final File file) {
+        if (enabled) {
+            return new InstrumentedOutputStream(out, recorders(file.getAbsolutePath()));
+        }
+        return out;
+    }
+
+    private static Recorder[] recorders(final String path) {
+        String key = "";
+        for (String prefix : prefixes) {
+            if (matches(path, prefix)) {
+                key = prefix;
+                break;
+            }
+        }
+        return RECORDERS.computeIfAbsent(key, k -> {
+            final Recorder[] recorders = new Recorder[OPERATIONS.length];
+            for (int i = 0; i < recorders.length; ++i) {
+                recorders[i] = new Recorder();
+            }
+            return recorders;
+        });
+    }
+
+    /**
+     * Check if a path starts with a prefix on a name boundary: the path is
+     * the prefix, or the prefix ends with a separator (like "file:" or
+     * "http://host/"), or the path continues with a separator after the prefix
+     *
+     * @param path
+     *            the path or the URL
+     * @param prefix
+     *            the prefix
+     * @return true, if the prefix matches
+     */
+    static boolean matches(final String path, final String prefix) {
+        if (!path.startsWith(prefix)) {
+            return false;
+        } else if (prefix.isEmpty() || path.length() == prefix.length() || isSeparator(prefix.charAt(prefix.length() - 1))) {
+            return true;
+        }
+        return isSeparator(path.charAt(prefix.length()));
+    }
+
+    private static boolean isSeparator(final char c) {
+        return c == '/' || c == File.separatorChar || c == ':';
+    }
+
+    /**
+     * The striped counters of an operation
+     */
+    static final class Recorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        private Recorder() {
+            for (int i = 0; i < BUCKETS; ++i) {
+                this.histogram[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Record a call
+         *
+         * @param transferred
+         *            the number of transferred bytes
+         * @param duration
+         *            the duration in nanoseconds
+         */
+        void record(final long transferred, final long duration) {
+            final long positive = Math.max(duration, 0);
+            this.count.increment();
+            if (transferred > 0) {
+                this.bytes.add(transferred);
+            }
+            this.nanos.add(positive);
+            this.max.accumulate(positive);
+            this.histogram[Math.min(63 - Long.numberOfLeadingZeros(Math.max(positive, 1)), BUCKETS - 1)].increment();
+        }
+
+        private void reset() {
+            this.count.reset();
+            this.bytes.reset();
+            this.nanos.reset();
+            this.max.reset();
+            for (LongAdder bucket : this.histogram) {
+                bucket.reset();
+            }
+        }
+
+        private Statistics toStatistics() {
+            final long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; ++i) {
+                buckets[i] = this.histogram[i].sum();
+            }
+            return new Statistics(this.count.sum(), this.bytes.sum(), this.nanos.sum(), this.max.get(), buckets);
+        }
+    }
+
+    /**
+     * Snapshot of the statistics per prefix and per operation
+     */
+    public static final class Snapshot {
+
+        private final Map<String, Map<Operation, Statistics>> statistics;
+
+        private Snapshot(final Map<String, Map<Operation, Statistics>> statistics) {
+            this.statistics = statistics;
+        }
+
+        /**
+         * @return the prefixes which have been used (sorted)
+         */
+        public Set<String> getPrefixes() {
+            return this.statistics.keySet();
+        }
+
+        /**
+         * @return the statistics per prefix and per operation (unmodifiable)
+         */
+        public Map<String, Map<Operation, Statistics>> getStatistics() {
+            return this.statistics;
+        }
+
+        /**
+         * Get the statistics of an operation for a prefix
+         *
+         * @param prefix
+         *            the prefix (as enabled, "" for the other paths)
+         * @param operation
+         *            the operation
+         * @return the statistics (empty if the prefix hasn't been used)
+         */
+        public Statistics get(final String prefix, final Operation operation) {
+            final Map<Operation, Statistics> operations = this.statistics.get(prefix);
+            if (operations != null) {
+                return operations.get(operation);
+            }
+            return Statistics.EMPTY;
+        }
+
+        /**
+         * Get the statistics of an operation for all the prefixes
+         *
+         * @param operation
+         *            the operation
+         * @return the merged statistics
+         */
+        public Statistics getTotal(final Operation operation) {
+            Statistics total = Statistics.EMPTY;
+            for (Map<Operation, Statistics> operations : this.statistics.values()) {
+                total = total.merge(operations.get(operation));
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Statistics of an operation
+     */
+    public static final class Statistics {
+
+        private static final Statistics EMPTY = new Statistics(0, 0, 0, 0, new long[BUCKETS]);
+
+        private final long count;
+        private final long bytes;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] histogram;
+
+        private Statistics(final long count, final long bytes, final long totalNanos, final long maxNanos, final long[] histogram) {
+            this.count = count;
+            this.bytes = bytes;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.histogram = histogram;
+        }
+
+        /**
+         * @return the number of calls
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * @return the number of transferred bytes
+         */
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * @return the total duration of the calls in nanoseconds
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        /**
+         * @return the longest call in nanoseconds
+         */
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        /**
+         * @return the mean duration of a call in nanoseconds (0 without call)
+         */
+        public long getMeanNanos() {
+            return this.count > 0 ? this.totalNanos / this.count : 0;
+        }
+
+        /**
+         * Get an upper bound of a percentile of the durations (the upper
+         * bound of the histogram bucket, the maximum for the last one)
+         *
+         * @param percentile
+         *            the percentile (between 0 and 1, like 0.99)
+         * @return the duration in nanoseconds (0 without call)
+         * @throws IllegalArgumentException
+         *             if the percentile is not between 0 and 1
+         */
+        public long getPercentileNanos(final double percentile) {
+            Assertor.that(percentile).isGTE(0d).and().isLTE(1d).orElseThrow("The percentile must be between 0 and 1");
+
+            final long total = Arrays.stream(this.histogram).sum();
+            if (total == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long cumulated = 0;
+            for (int i = 0; i < BUCKETS - 1; ++i) {
+                cumulated += this.histogram[i];
+                if (cumulated >= rank) {
+                    return Math.min((1L << (i + 1)) - 1, this.maxNanos);
+                }
+            }
+            return this.maxNanos;
+        }
+
+        /**
+         * @return a copy of the histogram of the durations (see
+         *         {@link IOStatistics#BUCKETS})
+         */
+        public long[] getHistogram() {
+            return this.histogram.clone();
+        }
+
+        private Statistics merge(final Statistics other) {
+            final long[] merged = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; ++i) {
+                merged[i] = this.histogram[i] + other.histogram[i];
+            }
+            return new Statistics(this.count + other.count, this.bytes + other.bytes, this.totalNanos + other.totalNanos,
+                    Math.max(this.maxNanos, other.maxNanos), merged);
+        }
+    }
+}
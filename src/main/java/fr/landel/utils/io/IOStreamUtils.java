@@ -31,15 +31,18 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.zip.GZIPInputStream;
 
 import fr.landel.utils.assertor.Assertor;
 
 /**
- * Utility class to manage streams.
+ * Utility class to manage streams. The file streams can be instrumented
+ * (see {@link IOStatistics}).
  *
  * @since Nov 27, 2015
  * @author Gilles Landel
@@ -86,7 +89,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized BufferedReader createBufferedReader(final String fileName, final String encoding)
+    public static BufferedReader createBufferedReader(final String fileName, final String encoding)
             throws IOException, UnsupportedEncodingException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createBufferedReader(new File(fileName), encoding);
@@ -105,7 +108,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized BufferedReader createBufferedReader(final File file, final String encoding)
+    public static BufferedReader createBufferedReader(final File file, final String encoding)
             throws IOException, UnsupportedEncodingException {
         Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         final BufferedReader br = new BufferedReader(createInputStreamReader(file, encoding));
@@ -126,7 +129,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized InputStreamReader createInputStreamReader(final String fileName, final String encoding)
+    public static InputStreamReader createInputStreamReader(final String fileName, final String encoding)
             throws IOException, UnsupportedEncodingException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createInputStreamReader(new File(fileName), encoding);
@@ -145,7 +148,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized InputStreamReader createInputStreamReader(final File file, final String encoding)
+    public static InputStreamReader createInputStreamReader(final File file, final String encoding)
             throws IOException, UnsupportedEncodingException {
         final InputStreamReader isr;
 
@@ -170,7 +173,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Thrown if file wasn't found or in case of opening URL stream
      */
-    public static synchronized InputStreamReader createInputStreamReader(final URL url, final String encoding) throws IOException {
+    public static InputStreamReader createInputStreamReader(final URL url, final String encoding) throws IOException {
         final InputStreamReader isr;
 
         if (encoding != null) {
@@ -192,7 +195,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized DataInputStream createDataInputStream(final String fileName) throws IOException {
+    public static DataInputStream createDataInputStream(final String fileName) throws IOException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createDataInputStream(new File(fileName));
     }
@@ -206,7 +209,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized DataInputStream createDataInputStream(final File file) throws IOException {
+    public static DataInputStream createDataInputStream(final File file) throws IOException {
         Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
         return CloseableManager.addCloseable(file, new DataInputStream(createBufferedInputStream(file)));
     }
@@ -220,7 +223,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown on creating stream
      */
-    public static synchronized DataInputStream createDataInputStream(final URL url) throws IOException {
+    public static DataInputStream createDataInputStream(final URL url) throws IOException {
         Assertor.that(url).isNotNull().orElseThrow(new FileNotFoundException(ERROR_URL_PARAM_NULL), false);
         return CloseableManager.addCloseable(url, new DataInputStream(createBufferedInputStream(url)));
     }
@@ -234,7 +237,7 @@ public final class IOStreamUtils {
      * @throws FileNotFoundException
      *             Error thrown on creating stream
      */
-    public static synchronized BufferedInputStream createBufferedInputStream(final String fileName) throws IOException {
+    public static BufferedInputStream createBufferedInputStream(final String fileName) throws IOException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createBufferedInputStream(new File(fileName));
     }
@@ -248,13 +251,13 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if file wasn't found
      */
-    public static synchronized BufferedInputStream createBufferedInputStream(final File file) throws IOException {
+    public static BufferedInputStream createBufferedInputStream(final File file) throws IOException {
         Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
 
-        final FileInputStream fis = new FileInputStream(file);
+        final InputStream fis = IOStatistics.instrument(new FileInputStream(file), file);
         CloseableManager.addCloseable(file, fis);
 
-        final BufferedInputStream bis = new BufferedInputStream(fis);
+        final BufferedInputStream bis = new BufferedInputStream(fis, BufferSizing.getBufferSize(file, BufferSizing.Operation.READ));
         CloseableManager.addCloseable(file, bis);
 
         return bis;
@@ -269,10 +272,10 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Thrown if file wasn't found or in case of opening URL stream
      */
-    public static synchronized BufferedInputStream createBufferedInputStream(final URL url) throws IOException {
+    public static BufferedInputStream createBufferedInputStream(final URL url) throws IOException {
         Assertor.that(url).isNotNull().orElseThrow(new FileNotFoundException(ERROR_URL_PARAM_NULL), false);
 
-        final InputStream is = url.openStream();
+        final InputStream is = IOStatistics.instrument(url.openStream(), url);
         CloseableManager.addCloseable(url, is);
 
         final BufferedInputStream bis = new BufferedInputStream(is);
@@ -281,6 +284,246 @@ public final class IOStreamUtils {
         return bis;
     }
 
+    /**
+     * Create a memory-mapped input stream from the specified file name (see
+     * {@link MappedInputStream})
+     * 
+     * @param fileName
+     *            The input file name
+     * @return The mapped input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static MappedInputStream createMappedInputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createMappedInputStream(new File(fileName));
+    }
+
+    /**
+     * Create a memory-mapped input stream from the specified file, the file is
+     * read through sliding windows (no system call per read and no copy into
+     * an intermediate buffer). Prefer it for large read-mostly files. If the
+     * stream is closed by another thread than the reader (like
+     * {@link CloseableManager#close(File)}), the window is left to the
+     * garbage collector (see {@link MappedInputStream}).
+     * 
+     * @param file
+     *            The input file
+     * @return The mapped input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static MappedInputStream createMappedInputStream(final File file) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+
+        return CloseableManager.addCloseable(file, new MappedInputStream(file));
+    }
+
+    /**
+     * Create a data input stream over a memory-mapped input stream from the
+     * specified file name
+     * 
+     * @param fileName
+     *            The input file name
+     * @return The data input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static DataInputStream createMappedDataInputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createMappedDataInputStream(new File(fileName));
+    }
+
+    /**
+     * Create a data input stream over a memory-mapped input stream from the
+     * specified file (see {@link #createMappedInputStream(File)})
+     * 
+     * @param file
+     *            The input file
+     * @return The data input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static DataInputStream createMappedDataInputStream(final File file) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+        return CloseableManager.addCloseable(file, new DataInputStream(createMappedInputStream(file)));
+    }
+
+    /**
+     * Create a read-ahead input stream from the specified file name (see
+     * {@link #createPrefetchInputStream(File)})
+     * 
+     * @param fileName
+     *            The input file name
+     * @return The prefetch input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static PrefetchInputStream createPrefetchInputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createPrefetchInputStream(new File(fileName));
+    }
+
+    /**
+     * Create a read-ahead input stream from the specified file: the next
+     * {@link PrefetchInputStream#DEFAULT_BLOCKS} blocks are read on a
+     * background thread while the caller processes the current one. The
+     * blocks are sized from the file (see {@link BufferSizing}).
+     * 
+     * @param file
+     *            The input file
+     * @return The prefetch input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static PrefetchInputStream createPrefetchInputStream(final File file) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+        return createPrefetchInputStream(file, BufferSizing.getBufferSize(file, BufferSizing.Operation.READ),
+                PrefetchInputStream.DEFAULT_BLOCKS);
+    }
+
+    /**
+     * Create a read-ahead input stream from the specified file name (see
+     * {@link #createPrefetchInputStream(File, int, int)})
+     * 
+     * @param fileName
+     *            The input file name
+     * @param blockSize
+     *            The size of a block
+     * @param blocks
+     *            The number of blocks read ahead
+     * @return The prefetch input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     */
+    public static PrefetchInputStream createPrefetchInputStream(final String fileName, final int blockSize, final int blocks)
+            throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createPrefetchInputStream(new File(fileName), blockSize, blocks);
+    }
+
+    /**
+     * Create a read-ahead input stream from the specified file, closing it
+     * (directly or through {@link CloseableManager}) cancels the pending
+     * prefetches.
+     * 
+     * @param file
+     *            The input file
+     * @param blockSize
+     *            The size of a block
+     * @param blocks
+     *            The number of blocks read ahead
+     * @return The prefetch input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found
+     * @throws IllegalArgumentException
+     *             if the block size or the number of blocks is not greater
+     *             than 0
+     */
+    public static PrefetchInputStream createPrefetchInputStream(final File file, final int blockSize, final int blocks)
+            throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+
+        final InputStream fis = IOStatistics.instrument(new FileInputStream(file), file);
+        final PrefetchInputStream pis;
+        try {
+            pis = new PrefetchInputStream(fis, blockSize, blocks);
+        } catch (IllegalArgumentException e) {
+            fis.close();
+            throw e;
+        }
+
+        CloseableManager.addCloseable(file, fis);
+        return CloseableManager.addCloseable(file, pis);
+    }
+
+    /**
+     * Create a GZIP input stream from the specified file name (see
+     * {@link #createGzipInputStream(File)})
+     * 
+     * @param fileName
+     *            The input file name
+     * @return The decompressed input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found or if the header is not
+     *             a GZIP one
+     */
+    public static PrefetchInputStream createGzipInputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createGzipInputStream(new File(fileName));
+    }
+
+    /**
+     * Create a GZIP input stream from the specified file: the file is read
+     * and inflated by a background thread, which prefetches the next blocks
+     * of decompressed data while the caller processes the current one (see
+     * {@link PrefetchInputStream}). The concatenated GZIP members are read
+     * as one stream.
+     * 
+     * @param file
+     *            The input file
+     * @return The decompressed input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found or if the header is not
+     *             a GZIP one
+     */
+    public static PrefetchInputStream createGzipInputStream(final File file) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+
+        final InputStream fis = IOStatistics.instrument(new FileInputStream(file), file);
+        final GZIPInputStream gzis;
+        try {
+            // the header is read on creation
+            gzis = new GZIPInputStream(fis, BufferSizing.getBufferSize(file, BufferSizing.Operation.READ));
+        } catch (IOException e) {
+            fis.close();
+            throw e;
+        }
+
+        CloseableManager.addCloseable(file, fis);
+        CloseableManager.addCloseable(file, gzis);
+        return CloseableManager.addCloseable(file, new PrefetchInputStream(gzis));
+    }
+
+    /**
+     * Create a seekable GZIP input stream from the specified file name (see
+     * {@link #createSeekableGzipInputStream(File)})
+     * 
+     * @param fileName
+     *            The input file name
+     * @return The seekable input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found or is not a valid GZIP
+     *             file
+     */
+    public static SeekableGzipInputStream createSeekableGzipInputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createSeekableGzipInputStream(new File(fileName));
+    }
+
+    /**
+     * Create a seekable GZIP input stream from the specified file: the
+     * restart points are read from the sidecar index of the file, which is
+     * built (one full inflation) and saved if it's missing or outdated (see
+     * {@link GzipIndex#of(File)}). A seek then only inflates the data from the
+     * nearest restart point (see {@link SeekableGzipInputStream}).
+     * 
+     * @param file
+     *            The input file
+     * @return The seekable input stream
+     * @throws IOException
+     *             Error thrown if file wasn't found or is not a valid GZIP
+     *             file
+     */
+    public static SeekableGzipInputStream createSeekableGzipInputStream(final File file) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+
+        return CloseableManager.addCloseable(file, new SeekableGzipInputStream(file, GzipIndex.of(file)));
+    }
+
     /**
      * Create an output stream writer from the specified path
      * 
@@ -292,7 +535,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final String fileName)
+    public static OutputStreamWriter createBufferedWriter(final String fileName)
             throws IOException, UnsupportedEncodingException {
         return createBufferedWriter(fileName, null, false);
     }
@@ -310,7 +553,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final String fileName, final String encoding)
+    public static OutputStreamWriter createBufferedWriter(final String fileName, final String encoding)
             throws IOException, UnsupportedEncodingException {
         return createBufferedWriter(fileName, encoding, false);
     }
@@ -329,7 +572,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final String fileName, final boolean append)
+    public static OutputStreamWriter createBufferedWriter(final String fileName, final boolean append)
             throws IOException, UnsupportedEncodingException {
         return createBufferedWriter(fileName, null, append);
     }
@@ -345,7 +588,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final File file) throws IOException, UnsupportedEncodingException {
+    public static OutputStreamWriter createBufferedWriter(final File file) throws IOException, UnsupportedEncodingException {
         return createBufferedWriter(file, null, false);
     }
 
@@ -362,7 +605,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final File file, final String encoding)
+    public static OutputStreamWriter createBufferedWriter(final File file, final String encoding)
             throws IOException, UnsupportedEncodingException {
         return createBufferedWriter(file, encoding, false);
     }
@@ -381,7 +624,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final File file, final boolean append)
+    public static OutputStreamWriter createBufferedWriter(final File file, final boolean append)
             throws IOException, UnsupportedEncodingException {
         return createBufferedWriter(file, null, append);
     }
@@ -402,7 +645,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final String fileName, final String encoding, final boolean append)
+    public static OutputStreamWriter createBufferedWriter(final String fileName, final String encoding, final boolean append)
             throws IOException, UnsupportedEncodingException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createBufferedWriter(new File(fileName), encoding, append);
@@ -424,7 +667,7 @@ public final class IOStreamUtils {
      * @throws UnsupportedEncodingException
      *             Error thrown if encoding doesn't match
      */
-    public static synchronized OutputStreamWriter createBufferedWriter(final File file, final String encoding, final boolean append)
+    public static OutputStreamWriter createBufferedWriter(final File file, final String encoding, final boolean append)
             throws IOException, UnsupportedEncodingException {
 
         final OutputStreamWriter osw;
@@ -449,7 +692,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized BufferedOutputStream createBufferedOutputStream(final String fileName) throws IOException {
+    public static BufferedOutputStream createBufferedOutputStream(final String fileName) throws IOException {
         return createBufferedOutputStream(fileName, false);
     }
 
@@ -465,7 +708,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized BufferedOutputStream createBufferedOutputStream(final String fileName, final boolean append)
+    public static BufferedOutputStream createBufferedOutputStream(final String fileName, final boolean append)
             throws IOException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createBufferedOutputStream(new File(fileName), append);
@@ -480,7 +723,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized BufferedOutputStream createBufferedOutputStream(final File file) throws IOException {
+    public static BufferedOutputStream createBufferedOutputStream(final File file) throws IOException {
         return createBufferedOutputStream(file, false);
     }
 
@@ -496,13 +739,13 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized BufferedOutputStream createBufferedOutputStream(final File file, final boolean append) throws IOException {
+    public static BufferedOutputStream createBufferedOutputStream(final File file, final boolean append) throws IOException {
         Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
 
-        final FileOutputStream fos = new FileOutputStream(file, append);
+        final OutputStream fos = IOStatistics.instrument(new FileOutputStream(file, append), file);
         CloseableManager.addCloseable(file, fos);
 
-        final BufferedOutputStream bos = new BufferedOutputStream(fos);
+        final BufferedOutputStream bos = new BufferedOutputStream(fos, BufferSizing.getBufferSize(file, BufferSizing.Operation.WRITE));
         CloseableManager.addCloseable(file, bos);
 
         return bos;
@@ -517,7 +760,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized DataOutputStream createDataOutputStream(final String fileName) throws IOException {
+    public static DataOutputStream createDataOutputStream(final String fileName) throws IOException {
         return createDataOutputStream(fileName, false);
     }
 
@@ -533,7 +776,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized DataOutputStream createDataOutputStream(final String fileName, final boolean append) throws IOException {
+    public static DataOutputStream createDataOutputStream(final String fileName, final boolean append) throws IOException {
         Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
         return createDataOutputStream(new File(fileName), append);
     }
@@ -547,7 +790,7 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized DataOutputStream createDataOutputStream(final File file) throws IOException {
+    public static DataOutputStream createDataOutputStream(final File file) throws IOException {
         return createDataOutputStream(file, false);
     }
 
@@ -563,13 +806,13 @@ public final class IOStreamUtils {
      * @throws IOException
      *             Error thrown if wasn't found
      */
-    public static synchronized DataOutputStream createDataOutputStream(final File file, final boolean append) throws IOException {
+    public static DataOutputStream createDataOutputStream(final File file, final boolean append) throws IOException {
         Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
 
-        final FileOutputStream fos = new FileOutputStream(file, append);
+        final OutputStream fos = IOStatistics.instrument(new FileOutputStream(file, append), file);
         CloseableManager.addCloseable(file, fos);
 
-        final BufferedOutputStream bos = new BufferedOutputStream(fos);
+        final BufferedOutputStream bos = new BufferedOutputStream(fos, BufferSizing.getBufferSize(file, BufferSizing.Operation.WRITE));
         CloseableManager.addCloseable(file, bos);
 
         final DataOutputStream dos = new DataOutputStream(bos);
@@ -577,4 +820,336 @@ public final class IOStreamUtils {
 
         return dos;
     }
+
+    /**
+     * Create a memory-mapped output stream from the specified path
+     * 
+     * @param fileName
+     *            The output file name
+     * @return The mapped output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static MappedOutputStream createMappedOutputStream(final String fileName) throws IOException {
+        return createMappedOutputStream(fileName, false);
+    }
+
+    /**
+     * Create a memory-mapped output stream from the specified path
+     * 
+     * @param fileName
+     *            The output file name
+     * @param append
+     *            if true, then bytes will be written to the end of the file
+     *            rather than the beginning
+     * @return The mapped output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static MappedOutputStream createMappedOutputStream(final String fileName, final boolean append) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createMappedOutputStream(new File(fileName), append);
+    }
+
+    /**
+     * Create a memory-mapped output stream from the specified file
+     * 
+     * @param file
+     *            The output file
+     * @return The mapped output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static MappedOutputStream createMappedOutputStream(final File file) throws IOException {
+        return createMappedOutputStream(file, false);
+    }
+
+    /**
+     * Create a memory-mapped output stream from the specified file, the file
+     * is preallocated by extents and written through mapped regions (no system
+     * call per write), it's truncated to the written length on close. Prefer
+     * it for large sequential writes. If the stream is never closed (leak or
+     * crash) or is closed by another thread than the writer (like
+     * {@link CloseableManager#close(File)}), the file isn't truncated: it
+     * keeps zeros up to the end of the last extent (see
+     * {@link MappedOutputStream}).
+     * 
+     * @param file
+     *            The output file
+     * @param append
+     *            if true, then bytes will be written to the end of the file
+     *            rather than the beginning
+     * @return The mapped output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static MappedOutputStream createMappedOutputStream(final File file, final boolean append) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+        if (file.isDirectory()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+
+        return CloseableManager.addCloseable(file, new MappedOutputStream(file, append));
+    }
+
+    /**
+     * Create a data output stream over a memory-mapped output stream from the
+     * specified path
+     * 
+     * @param fileName
+     *            The output file name
+     * @return The data output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static DataOutputStream createMappedDataOutputStream(final String fileName) throws IOException {
+        return createMappedDataOutputStream(fileName, false);
+    }
+
+    /**
+     * Create a data output stream over a memory-mapped output stream from the
+     * specified path
+     * 
+     * @param fileName
+     *            The output file name
+     * @param append
+     *            if true, then bytes will be written to the end of the file
+     *            rather than the beginning
+     * @return The data output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static DataOutputStream createMappedDataOutputStream(final String fileName, final boolean append) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createMappedDataOutputStream(new File(fileName), append);
+    }
+
+    /**
+     * Create a data output stream over a memory-mapped output stream from the
+     * specified file
+     * 
+     * @param file
+     *            The output file
+     * @return The data output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static DataOutputStream createMappedDataOutputStream(final File file) throws IOException {
+        return createMappedDataOutputStream(file, false);
+    }
+
+    /**
+     * Create a data output stream over a memory-mapped output stream from the
+     * specified file (see {@link #createMappedOutputStream(File, boolean)})
+     * 
+     * @param file
+     *            The output file
+     * @param append
+     *            if true, then bytes will be written to the end of the file
+     *            rather than the beginning
+     * @return The data output stream
+     * @throws IOException
+     *             Error thrown if wasn't found
+     */
+    public static DataOutputStream createMappedDataOutputStream(final File file, final boolean append) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+        return CloseableManager.addCloseable(file, new DataOutputStream(createMappedOutputStream(file, append)));
+    }
+
+    /**
+     * Create a write-behind output stream from the specified file name (see
+     * {@link #createWriteBehindOutputStream(File, boolean)})
+     * 
+     * @param fileName
+     *            The output file name
+     * @return The write-behind output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static WriteBehindOutputStream createWriteBehindOutputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createWriteBehindOutputStream(new File(fileName), false);
+    }
+
+    /**
+     * Create a write-behind output stream from the specified file name (see
+     * {@link #createWriteBehindOutputStream(File, boolean)})
+     * 
+     * @param fileName
+     *            The output file name
+     * @param append
+     *            If the file has to be completed
+     * @return The write-behind output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static WriteBehindOutputStream createWriteBehindOutputStream(final String fileName, final boolean append) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createWriteBehindOutputStream(new File(fileName), append);
+    }
+
+    /**
+     * Create a write-behind output stream from the specified file (see
+     * {@link #createWriteBehindOutputStream(File, boolean)})
+     * 
+     * @param file
+     *            The output file
+     * @return The write-behind output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static WriteBehindOutputStream createWriteBehindOutputStream(final File file) throws IOException {
+        return createWriteBehindOutputStream(file, false);
+    }
+
+    /**
+     * Create a write-behind output stream from the specified file: the caller
+     * fills a block while a background thread writes the previous one into
+     * the file ({@link WriteBehindOutputStream#DEFAULT_BLOCKS} blocks of the
+     * maximum write buffer size, see {@link BufferSizing}). The errors are
+     * thrown by the next write or by the close.
+     * 
+     * @param file
+     *            The output file
+     * @param append
+     *            If the file has to be completed
+     * @return The write-behind output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static WriteBehindOutputStream createWriteBehindOutputStream(final File file, final boolean append) throws IOException {
+        return createWriteBehindOutputStream(file, append, BufferSizing.getProfile(BufferSizing.Operation.WRITE).getMax(),
+                WriteBehindOutputStream.DEFAULT_BLOCKS);
+    }
+
+    /**
+     * Create a write-behind output stream from the specified file name (see
+     * {@link #createWriteBehindOutputStream(File, boolean, int, int)})
+     * 
+     * @param fileName
+     *            The output file name
+     * @param append
+     *            If the file has to be completed
+     * @param blockSize
+     *            The size of a block
+     * @param blocks
+     *            The number of blocks
+     * @return The write-behind output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static WriteBehindOutputStream createWriteBehindOutputStream(final String fileName, final boolean append, final int blockSize,
+            final int blocks) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createWriteBehindOutputStream(new File(fileName), append, blockSize, blocks);
+    }
+
+    /**
+     * Create a write-behind output stream from the specified file, the
+     * blocks are queued until a background thread writes them (the caller
+     * waits when all the blocks are queued).
+     * 
+     * @param file
+     *            The output file
+     * @param append
+     *            If the file has to be completed
+     * @param blockSize
+     *            The size of a block
+     * @param blocks
+     *            The number of blocks
+     * @return The write-behind output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     * @throws IllegalArgumentException
+     *             if the block size or the number of blocks is not greater
+     *             than 0
+     */
+    public static WriteBehindOutputStream createWriteBehindOutputStream(final File file, final boolean append, final int blockSize,
+            final int blocks) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+
+        final OutputStream fos = IOStatistics.instrument(new FileOutputStream(file, append), file);
+        final WriteBehindOutputStream wbos;
+        try {
+            wbos = new WriteBehindOutputStream(fos, blockSize, blocks);
+        } catch (IllegalArgumentException e) {
+            fos.close();
+            throw e;
+        }
+
+        CloseableManager.addCloseable(file, fos);
+        return CloseableManager.addCloseable(file, wbos);
+    }
+
+    /**
+     * Create a parallel GZIP output stream from the specified file name (see
+     * {@link #createParallelGzipOutputStream(File, boolean)})
+     * 
+     * @param fileName
+     *            The output file name
+     * @return The GZIP output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static ParallelGzipOutputStream createParallelGzipOutputStream(final String fileName) throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createParallelGzipOutputStream(new File(fileName), false);
+    }
+
+    /**
+     * Create a parallel GZIP output stream from the specified file name (see
+     * {@link #createParallelGzipOutputStream(File, boolean)})
+     * 
+     * @param fileName
+     *            The output file name
+     * @param append
+     *            If the file has to be completed (a new GZIP member is
+     *            added)
+     * @return The GZIP output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static ParallelGzipOutputStream createParallelGzipOutputStream(final String fileName, final boolean append)
+            throws IOException {
+        Assertor.that(fileName).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_NAME_PARAM_NULL), false);
+        return createParallelGzipOutputStream(new File(fileName), append);
+    }
+
+    /**
+     * Create a parallel GZIP output stream from the specified file (see
+     * {@link #createParallelGzipOutputStream(File, boolean)})
+     * 
+     * @param file
+     *            The output file
+     * @return The GZIP output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static ParallelGzipOutputStream createParallelGzipOutputStream(final File file) throws IOException {
+        return createParallelGzipOutputStream(file, false);
+    }
+
+    /**
+     * Create a parallel GZIP output stream from the specified file: the
+     * blocks are compressed by the common {@link java.util.concurrent.ForkJoinPool}
+     * and written in order as a single standard GZIP member (see
+     * {@link ParallelGzipOutputStream}).
+     * 
+     * @param file
+     *            The output file
+     * @param append
+     *            If the file has to be completed (a new GZIP member is
+     *            added)
+     * @return The GZIP output stream
+     * @throws IOException
+     *             Error thrown if the file cannot be created
+     */
+    public static ParallelGzipOutputStream createParallelGzipOutputStream(final File file, final boolean append) throws IOException {
+        Assertor.that(file).isNotNull().orElseThrow(new FileNotFoundException(ERROR_FILE_PARAM_NULL), false);
+
+        final OutputStream fos = IOStatistics.instrument(new FileOutputStream(file, append), file);
+        CloseableManager.addCloseable(file, fos);
+
+        return CloseableManager.addCloseable(file, new ParallelGzipOutputStream(fos));
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Input stream recording the reads and the close in the recorders of
+ * {@link IOStatistics}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+class InstrumentedInputStream extends FilterInputStream {
+
+    private final IOStatistics.Recorder reads;
+    private final IOStatistics.Recorder closes;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Constructor
+     *
+     * @param in
+     *            the input stream
+     * @param recorders
+     *            the recorders indexed by operation
+     */
+    InstrumentedInputStream(final InputStream in, final IOStatistics.Recorder[] recorders) {
+        super(in);
+
+        this.reads = recorders[IOStatistics.Operation.READ.ordinal()];
+        this.closes = recorders[IOStatistics.Operation.CLOSE.ordinal()];
+    }
+
+    @Override
+    public int read() throws IOException {
+        final long start = System.nanoTime();
+        final int b = this.in.read();
+        this.reads.record(b >= 0 ? 1 : 0, System.nanoTime() - start);
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int len) throws IOException {
+        final long start = System.nanoTime();
+        final int n = this.in.read(bytes, offset, len);
+        this.reads.record(n, System.nanoTime() - start);
+        return n;
+    }
+
+    /**
+     * Close the stream, only the first call is recorded (the factories also
+     * register the buffered wrapper, which can close this stream again)
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        this.in.close();
+        this.closes.record(0, System.nanoTime() - start);
+    }
+}
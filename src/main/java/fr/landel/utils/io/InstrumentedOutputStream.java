@@ -0,0 +1,90 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Output stream recording the writes and the close in the recorders of
+ * {@link IOStatistics}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+class InstrumentedOutputStream extends FilterOutputStream {
+
+    private final IOStatistics.Recorder writes;
+    private final IOStatistics.Recorder closes;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Constructor
+     *
+     * @param out
+     *            the output stream
+     * @param recorders
+     *            the recorders indexed by operation
+     */
+    InstrumentedOutputStream(final OutputStream out, final IOStatistics.Recorder[] recorders) {
+        super(out);
+
+        this.writes = recorders[IOStatistics.Operation.WRITE.ordinal()];
+        this.closes = recorders[IOStatistics.Operation.CLOSE.ordinal()];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        final long start = System.nanoTime();
+        this.out.write(b);
+        this.writes.record(1, System.nanoTime() - start);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int len) throws IOException {
+        // FilterOutputStream writes byte by byte
+        final long start = System.nanoTime();
+        this.out.write(bytes, offset, len);
+        this.writes.record(len, System.nanoTime() - start);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * Close the stream, only the first call is recorded (the factories also
+     * register the buffered wrapper, which can close this stream again)
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        this.out.close();
+        this.closes.record(0, System.nanoTime() - start);
+    }
+}
@@ -19,17 +19,31 @@
  */
 package fr.landel.utils.io;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -62,7 +76,10 @@ class InternalFileSystemUtils {
      */
     protected static final String ERROR_PARAM_NULL = "At least one parameter is null";
 
-    private static final int BUFFER_SIZE = 10240;
+    /**
+     * Size of the direct buffer used when the transfer falls back to reads
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
 
     /**
      * Constructor.
@@ -90,19 +107,48 @@ class InternalFileSystemUtils {
     /**
      * Copy a file.
      * 
+     * <p>
+     * The content is transferred between file channels, so the operating
+     * system can copy the data without passing it through the user space (like
+     * copy_file_range or sendfile). The stream copy is only used to finish the
+     * copy if the channel cannot transfer all the data.
+     * </p>
+     * 
      * @param src
      *            The source file name
      * @param dest
      *            The destination file name
      * @param removeSource
      *            Remove the source after copy
+     * @param preserveAttributes
+     *            Preserve the times and the permissions of the source file
      * @throws IOException
      *             Exception thrown if problems occurs during coping
      */
-    protected static void copyFile(final File src, final File dest, final boolean removeSource) throws IOException {
-        int bufferReadSize;
-        final byte[] buffer = new byte[BUFFER_SIZE];
+    protected static void copyFile(final File src, final File dest, final boolean removeSource, final boolean preserveAttributes)
+            throws IOException {
+        copyFile(src, dest, removeSource, preserveAttributes, null);
+    }
 
+    /**
+     * Copy a file, the transfer is throttled by the rate limiter (in chunks of
+     * the limiter).
+     * 
+     * @param src
+     *            The source file name
+     * @param dest
+     *            The destination file name
+     * @param removeSource
+     *            Remove the source after copy
+     * @param preserveAttributes
+     *            Preserve the times and the permissions of the source file
+     * @param rateLimiter
+     *            The rate limiter (optional, null if not limited)
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    protected static void copyFile(final File src, final File dest, final boolean removeSource, final boolean preserveAttributes,
+            final RateLimiter rateLimiter) throws IOException {
         final File target;
         if (dest.isDirectory()) {
             target = new File(dest, src.getName());
@@ -111,17 +157,15 @@ class InternalFileSystemUtils {
         }
 
         if (InternalFileSystemUtils.createDirectory(target.getParentFile())) {
-            if (!src.getAbsolutePath().equals(dest.getAbsolutePath())) {
-                final BufferedInputStream bis = IOStreamUtils.createBufferedInputStream(src);
-                final BufferedOutputStream bos = IOStreamUtils.createBufferedOutputStream(target);
+            // the target is truncated on opening, the source cannot be copied
+            // onto itself
+            if (!src.getAbsolutePath().equals(target.getAbsolutePath())) {
+                transfer(src, target, rateLimiter);
 
-                while ((bufferReadSize = bis.read(buffer, 0, BUFFER_SIZE)) >= 0) {
-                    bos.write(buffer, 0, bufferReadSize);
+                if (preserveAttributes) {
+                    copyAttributes(src, target);
                 }
 
-                CloseableManager.close(target);
-                CloseableManager.close(src);
-
                 if (removeSource && !src.delete()) {
                     throw new IOException("Cannot remove the source file");
                 }
@@ -131,6 +175,203 @@ class InternalFileSystemUtils {
         }
     }
 
+    /**
+     * Move a file. The file is renamed if possible (atomic move on the same
+     * device), otherwise it's copied (with its attributes) and deleted.
+     * 
+     * @param src
+     *            The source file
+     * @param dest
+     *            The destination file or directory
+     * @param rateLimiter
+     *            The rate limiter of the copy (optional, null if not limited)
+     * @return the strategy used
+     * @throws IOException
+     *             Exception thrown if problems occurs during moving
+     */
+    protected static MoveStrategy move(final File src, final File dest, final RateLimiter rateLimiter) throws IOException {
+        final File target;
+        if (dest.isDirectory()) {
+            target = new File(dest, src.getName());
+        } else {
+            target = dest;
+        }
+
+        if (!src.exists()) {
+            throw new FileNotFoundException("the source doesn't exist");
+        } else if (!InternalFileSystemUtils.createDirectory(target.getParentFile())) {
+            throw new FileNotFoundException("destination directory doesn't exist and cannot be created");
+        } else if (src.getAbsolutePath().equals(target.getAbsolutePath()) || rename(src, target)) {
+            return MoveStrategy.ATOMIC_MOVE;
+        }
+
+        copyFile(src, target, true, true, rateLimiter);
+        return MoveStrategy.COPY_AND_DELETE;
+    }
+
+    /**
+     * Move a directory recursively. Without filter and if the destination
+     * doesn't exist, the directory is renamed (atomic move on the same
+     * device). Otherwise each entry is moved into the destination directory.
+     * 
+     * @param src
+     *            The source directory
+     * @param dest
+     *            The destination directory, the directory is created if it not
+     *            exists
+     * @param fileFilter
+     *            The filter to limit file to be moved
+     * @param filenameFilter
+     *            The filename filter to limit file to be moved
+     * @param rateLimiter
+     *            The rate limiter of the copies (optional, null if not
+     *            limited, the renaming is not limited)
+     * @return the strategy used
+     * @throws IOException
+     *             Exception thrown if problems occurs during moving
+     */
+    protected static MoveStrategy moveDirectory(final File src, final File dest, final FileFilter fileFilter,
+            final FilenameFilter filenameFilter, final RateLimiter rateLimiter) throws IOException {
+        Assertor.that(src).validates((file) -> file.exists()).orElseThrow(() -> new FileNotFoundException("the source doesn't exist"));
+
+        MoveStrategy strategy = MoveStrategy.ATOMIC_MOVE;
+
+        if (src.isDirectory()) {
+            if (fileFilter == null && filenameFilter == null && !dest.exists()
+                    && InternalFileSystemUtils.createDirectory(dest.getAbsoluteFile().getParentFile()) && rename(src, dest)) {
+                return strategy;
+            }
+
+            if (InternalFileSystemUtils.createDirectory(dest)) {
+                final File[] filesToMove = listFiles(src, fileFilter, filenameFilter);
+                if (ArrayUtils.isNotEmpty(filesToMove)) {
+                    for (File file : filesToMove) {
+                        if (file.isDirectory()) {
+                            strategy = strategy
+                                    .and(moveDirectory(file, createFile(dest, file.getName()), fileFilter, filenameFilter, rateLimiter));
+                        } else {
+                            strategy = strategy.and(move(file, new File(dest, file.getName()), rateLimiter));
+                        }
+                    }
+                }
+                if (!src.delete()) {
+                    throw new IOException("Cannot delete the directory" + src.getAbsolutePath());
+                }
+            } else {
+                throw new IOException("cannot access or create the destination directory");
+            }
+        } else if (matchFilter(src, fileFilter, filenameFilter)) {
+            strategy = move(src, dest, rateLimiter);
+        }
+
+        return strategy;
+    }
+
+    /**
+     * Rename the source into the target (atomic move).
+     * 
+     * @param src
+     *            The source file or directory
+     * @param target
+     *            The target file or directory
+     * @return true, if renamed, false if the file system cannot move
+     *         atomically (the target is on another device), in this case the
+     *         copy is used
+     * @throws IOException
+     *             if the move fails for another reason (the target exists and
+     *             cannot be replaced, access denied, invalid path...)
+     */
+    private static boolean rename(final File src, final File target) throws IOException {
+        try {
+            Files.move(src.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (AtomicMoveNotSupportedException e) {
+            return false;
+        } catch (InvalidPathException e) {
+            throw new FileNotFoundException(e.getMessage());
+        }
+    }
+
+    /**
+     * Transfer the content of the source file into the target file
+     * 
+     * @param src
+     *            The source file
+     * @param target
+     *            The target file (created or truncated)
+     * @param rateLimiter
+     *            The rate limiter (optional, null if not limited)
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    private static void transfer(final File src, final File target, final RateLimiter rateLimiter) throws IOException {
+        try (FileInputStream fis = new FileInputStream(src);
+                FileChannel input = fis.getChannel();
+                FileOutputStream fos = new FileOutputStream(target);
+                FileChannel output = fos.getChannel()) {
+
+            final long size = input.size();
+            final long chunkSize = rateLimiter != null ? rateLimiter.getChunkSize() : Long.MAX_VALUE;
+            long position = 0;
+            long transferred;
+            while (position < size) {
+                final long count = Math.min(size - position, chunkSize);
+                if (rateLimiter != null) {
+                    rateLimiter.acquire(count);
+                }
+                if ((transferred = input.transferTo(position, count, output)) <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+
+            // fallback: data not transferred (or appended since the size
+            // reading) are copied through a direct buffer
+            input.position(position);
+            try (DirectBufferPool.Lease lease = DirectBufferPool.SHARED.acquire(TRANSFER_BUFFER_SIZE)) {
+                final ByteBuffer buffer = lease.buffer();
+                int read;
+                while ((read = input.read(buffer)) >= 0 || buffer.position() > 0) {
+                    if (rateLimiter != null) {
+                        rateLimiter.acquire(read);
+                    }
+                    buffer.flip();
+                    output.write(buffer);
+                    buffer.compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the times and the permissions of the source file to the target
+     * file
+     * 
+     * @param src
+     *            The source file
+     * @param target
+     *            The target file
+     * @throws IOException
+     *             Exception thrown if attributes cannot be read or written
+     */
+    private static void copyAttributes(final File src, final File target) throws IOException {
+        final Path source = src.toPath();
+        final Path destination = target.toPath();
+
+        // the times are set first, the permissions may forbid the writing
+        final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        Files.getFileAttributeView(destination, BasicFileAttributeView.class).setTimes(attributes.lastModifiedTime(),
+                attributes.lastAccessTime(), attributes.creationTime());
+
+        final PosixFileAttributeView posixView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        final DosFileAttributeView dosView = Files.getFileAttributeView(source, DosFileAttributeView.class);
+        if (posixView != null) {
+            Files.setPosixFilePermissions(destination, posixView.readAttributes().permissions());
+        } else if (dosView != null) {
+            Files.getFileAttributeView(destination, DosFileAttributeView.class).setReadOnly(dosView.readAttributes().isReadOnly());
+        }
+    }
+
     /**
      * Copy a directory recursively.
      * 
@@ -175,7 +416,107 @@ class InternalFileSystemUtils {
                 throw new IOException("cannot access or create the destination directory");
             }
         } else if (matchFilter(src, fileFilter, filenameFilter)) {
-            copyFile(src, dest, removeSource);
+            copyFile(src, dest, removeSource, false);
+        }
+    }
+
+    /**
+     * Copy a directory recursively in parallel. The directories are created
+     * first by the calling thread (same walk and same filters as the
+     * sequential copy), then the files are copied following the options.
+     * 
+     * @param src
+     *            The source directory name
+     * @param dest
+     *            The destination directory name, the directory is created if it
+     *            not exists
+     * @param fileFilter
+     *            The filter to limit file to be copied
+     * @param filenameFilter
+     *            The filename filter to limit file to be copied
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             Exception thrown if problems occurs during coping
+     */
+    protected static void copyDirectory(final File src, final File dest, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(src).validates((file) -> file.exists()).orElseThrow(() -> new FileNotFoundException("the source doesn't exist"));
+
+        final List<FileCopy> copies = new ArrayList<>();
+        if (src.isDirectory()) {
+            prepareCopy(src, dest, fileFilter, filenameFilter, copies);
+        } else if (matchFilter(src, fileFilter, filenameFilter)) {
+            copies.add(new FileCopy(src, dest));
+        }
+
+        copy(copies, options);
+    }
+
+    /**
+     * Copy the listed files following the options
+     * 
+     * @param copies
+     *            The files to copy
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             the first error thrown by a copy
+     */
+    private static void copy(final List<FileCopy> copies, final ParallelOptions options) throws IOException {
+        ParallelTasks.map(copies, options, (copy) -> copy.length, (copy) -> {
+            copyFile(copy.src, copy.dest, false, false, options.getRateLimiter());
+            return null;
+        });
+    }
+
+    /**
+     * Create the destination directories and list the files to copy
+     * 
+     * @param src
+     *            The source directory
+     * @param dest
+     *            The destination directory
+     * @param fileFilter
+     *            The filter to limit file to be copied
+     * @param filenameFilter
+     *            The filename filter to limit file to be copied
+     * @param copies
+     *            The output list of files to copy
+     * @throws IOException
+     *             if a destination directory cannot be created
+     */
+    private static void prepareCopy(final File src, final File dest, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final List<FileCopy> copies) throws IOException {
+        if (InternalFileSystemUtils.createDirectory(dest)) {
+            final File[] filesToCopy = listFiles(src, fileFilter, filenameFilter);
+            if (ArrayUtils.isNotEmpty(filesToCopy)) {
+                for (File file : filesToCopy) {
+                    if (file.isDirectory()) {
+                        prepareCopy(file, createFile(dest, file.getName()), fileFilter, filenameFilter, copies);
+                    } else {
+                        copies.add(new FileCopy(file, new File(dest, file.getName())));
+                    }
+                }
+            }
+        } else {
+            throw new IOException("cannot access or create the destination directory");
+        }
+    }
+
+    /**
+     * A file to copy
+     */
+    private static final class FileCopy {
+
+        private final File src;
+        private final File dest;
+        private final long length;
+
+        private FileCopy(final File src, final File dest) {
+            this.src = src;
+            this.dest = dest;
+            this.length = src.length();
         }
     }
 
@@ -276,6 +617,164 @@ class InternalFileSystemUtils {
         return list;
     }
 
+    /**
+     * Get the size of a directory in parallel: the directories of a same
+     * depth are listed and their entries are read following the options.
+     * 
+     * @param src
+     *            the directory to analyze
+     * @param fileFilter
+     *            the file filter (optional)
+     * @param filenameFilter
+     *            the filename filter (optional)
+     * @param options
+     *            the parallel options
+     * @return the size or zero
+     * @throws IOException
+     *             on IO errors
+     */
+    protected static long getSize(final File src, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        if (!src.isDirectory()) {
+            return getSize(src, fileFilter, filenameFilter);
+        }
+
+        long size = 0;
+        for (List<Listing> level : walk(src, fileFilter, filenameFilter, options)) {
+            for (Listing listing : level) {
+                for (long length : listing.lengths) {
+                    if (length > 0) {
+                        size += length;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * List the files in a directory in parallel, the list has the same order
+     * as the sequential one.
+     * 
+     * @param src
+     *            the directory to analyze
+     * @param fileFilter
+     *            the file filter (optional)
+     * @param filenameFilter
+     *            the filename filter (optional)
+     * @param options
+     *            the parallel options
+     * @return the list of files
+     * @throws IOException
+     *             on IO errors
+     */
+    protected static List<File> listFiles(final File src, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        if (!src.isDirectory()) {
+            return listFiles(Optional.ofNullable(null), src, fileFilter, filenameFilter, null);
+        }
+
+        final Map<File, Listing> listings = new HashMap<>();
+        for (List<Listing> level : walk(src, fileFilter, filenameFilter, options)) {
+            for (Listing listing : level) {
+                listings.put(listing.dir, listing);
+            }
+        }
+
+        final List<File> list = new ArrayList<>();
+        collect(listings, listings.get(src), list);
+        return list;
+    }
+
+    /**
+     * Add the entries of the listing and, after them, the entries of each sub
+     * directory
+     * 
+     * @param listings
+     *            the listings by directory
+     * @param listing
+     *            the current listing
+     * @param list
+     *            the output list
+     */
+    private static void collect(final Map<File, Listing> listings, final Listing listing, final List<File> list) {
+        list.addAll(Arrays.asList(listing.entries));
+        for (int i = 0; i < listing.entries.length; i++) {
+            if (listing.directories[i]) {
+                collect(listings, listings.get(listing.entries[i]), list);
+            }
+        }
+    }
+
+    /**
+     * Walk the directory level by level: the directories of a level are
+     * listed in parallel, each task also reads the attributes of the entries
+     * (one call per entry), so the calling thread doesn't access the disk.
+     * 
+     * @param src
+     *            the root directory
+     * @param fileFilter
+     *            the file filter (optional)
+     * @param filenameFilter
+     *            the filename filter (optional)
+     * @param options
+     *            the parallel options
+     * @return the listings of each level (the first one contains the root)
+     * @throws IOException
+     *             on IO errors
+     */
+    private static List<List<Listing>> walk(final File src, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        final List<List<Listing>> levels = new ArrayList<>();
+        List<File> directories = Collections.singletonList(src);
+
+        while (!directories.isEmpty()) {
+            final List<Listing> level = ParallelTasks.map(directories, options, (dir) -> 0L,
+                    (dir) -> new Listing(dir, listFiles(dir, fileFilter, filenameFilter)));
+            levels.add(level);
+
+            directories = new ArrayList<>();
+            for (Listing listing : level) {
+                for (int i = 0; i < listing.entries.length; i++) {
+                    if (listing.directories[i]) {
+                        directories.add(listing.entries[i]);
+                    }
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * The entries of a directory and their attributes
+     */
+    private static final class Listing {
+
+        private final File dir;
+        private final File[] entries;
+        private final boolean[] directories;
+        private final long[] lengths;
+
+        private Listing(final File dir, final File[] entries) {
+            this.dir = dir;
+            this.entries = entries != null ? entries : new File[0];
+            this.directories = new boolean[this.entries.length];
+            this.lengths = new long[this.entries.length];
+
+            for (int i = 0; i < this.entries.length; i++) {
+                try {
+                    final BasicFileAttributes attributes = Files.readAttributes(this.entries[i].toPath(), BasicFileAttributes.class);
+                    this.directories[i] = attributes.isDirectory();
+                    this.lengths[i] = attributes.isRegularFile() ? attributes.size() : -1;
+                } catch (IOException | InvalidPathException e) {
+                    // removed or broken link, like File#isFile and
+                    // File#isDirectory, the entry is ignored
+                    this.lengths[i] = -1;
+                }
+            }
+        }
+    }
+
     /**
      * Gets the list of files following filters
      * 
@@ -325,9 +824,43 @@ class InternalFileSystemUtils {
                 copyDirectory(filesToCopy[i], createFile(dest, filesToCopy[i].getName()), fileFilter, filenameFilter, removeSource);
             } else {
                 // Copy the file
-                copyFile(filesToCopy[i], new File(dest + File.separator + filesToCopy[i].getName()), removeSource);
+                copyFile(filesToCopy[i], new File(dest + File.separator + filesToCopy[i].getName()), removeSource, false);
+            }
+        }
+    }
+
+    /**
+     * Copy files in parallel. The directories are created first by the calling
+     * thread (same walk and same filters as the sequential copy), then the
+     * files are copied following the options.
+     * 
+     * @param filesToCopy
+     *            files to copy
+     * @param dest
+     *            destination file
+     * @param fileFilter
+     *            file filter
+     * @param filenameFilter
+     *            filename filter
+     * @param options
+     *            The parallel options
+     * @throws IOException
+     *             IOexception
+     */
+    protected static void copy(final File[] filesToCopy, final File dest, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(filesToCopy).isNotNull().and(dest).isNotNull().and(options).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        final List<FileCopy> copies = new ArrayList<>();
+        for (File file : filesToCopy) {
+            if (file.isDirectory()) {
+                prepareCopy(file, createFile(dest, file.getName()), fileFilter, filenameFilter, copies);
+            } else {
+                copies.add(new FileCopy(file, new File(dest, file.getName())));
             }
         }
+
+        copy(copies, options);
     }
 
     /**
@@ -373,6 +906,55 @@ class InternalFileSystemUtils {
         return !notDeleted;
     }
 
+    /**
+     * Deletes a directory in parallel: the files are deleted following the
+     * options, then the empty directories are deleted from the deepest level
+     * (same filters and same result as the sequential deletion).
+     * 
+     * @param dir
+     *            the directory to delete (required)
+     * @param fileFilter
+     *            the file filter (optional)
+     * @param filenameFilter
+     *            the filename filter (optional)
+     * @param options
+     *            the parallel options
+     * @return true, if deleted
+     * @throws IOException
+     *             on IO errors
+     */
+    protected static boolean deleteDirectory(final File dir, final FileFilter fileFilter, final FilenameFilter filenameFilter,
+            final ParallelOptions options) throws IOException {
+        Assertor.that(dir).isNotNull().and().validates((file) -> file.isDirectory(), "not a directory").orElseThrow();
+
+        final List<List<Listing>> levels = walk(dir, fileFilter, filenameFilter, options);
+
+        final List<File> files = new ArrayList<>();
+        for (List<Listing> level : levels) {
+            for (Listing listing : level) {
+                for (int i = 0; i < listing.entries.length; i++) {
+                    if (!listing.directories[i]) {
+                        files.add(listing.entries[i]);
+                    }
+                }
+            }
+        }
+
+        boolean notDeleted = ParallelTasks.map(files, options, (file) -> 0L, (file) -> file.delete()).contains(Boolean.FALSE);
+
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            final List<File> directories = new ArrayList<>();
+            for (Listing listing : levels.get(i)) {
+                directories.add(listing.dir);
+            }
+            // Delete the empty directories following filters
+            notDeleted |= ParallelTasks.map(directories, options, (directory) -> 0L, (directory) -> !isDirectoryEmpty(directory)
+                    || listFiles(directory, fileFilter, filenameFilter).length > 0 || directory.delete()).contains(Boolean.FALSE);
+        }
+
+        return !notDeleted;
+    }
+
     /**
      * Check if the specified directory is empty.
      * 
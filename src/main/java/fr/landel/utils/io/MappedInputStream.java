@@ -0,0 +1,277 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Input stream which reads a file through sliding memory-mapped windows: no
+ * system call per read and no copy into an intermediate heap buffer. The
+ * position can be moved anywhere ({@link #seek(long)}) for random scans.
+ * 
+ * <p>
+ * The length of the file is read on opening. The current window is unmapped
+ * on close (or when the window slides), the stream is not thread-safe.
+ * </p>
+ * 
+ * <p>
+ * The stream can be closed from another thread (like
+ * {@link CloseableManager#closeAll()}): the window is only unmapped if the
+ * closing thread is the one which mapped it, otherwise the reference is
+ * dropped and the garbage collector unmaps it once the reading thread doesn't
+ * use it anymore (an unmapped window would crash the JVM on the next read).
+ * The reading thread then gets an {@link IOException}.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class MappedInputStream extends InputStream {
+
+    /**
+     * Default window size (64 MiB)
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long length;
+    private final int windowSize;
+
+    private final Object lock = new Object();
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    /**
+     * The thread which mapped the current window
+     */
+    private Thread mapper;
+
+    private long position;
+    private long mark;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor (window size: {@link #DEFAULT_WINDOW_SIZE})
+     * 
+     * @param file
+     *            the file to read
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public MappedInputStream(final File file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param file
+     *            the file to read
+     * @param windowSize
+     *            the size of the mapped windows
+     * @throws IOException
+     *             if the file cannot be opened
+     * @throws IllegalArgumentException
+     *             if the window size is not greater than 0
+     */
+    public MappedInputStream(final File file, final int windowSize) throws IOException {
+        Assertor.that(windowSize).isGT(0).orElseThrow("The window size must be greater than 0");
+
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        try {
+            this.length = this.channel.size();
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the length of the file
+     */
+    public long length() {
+        return this.length;
+    }
+
+    /**
+     * @return the current position in the file
+     */
+    public long position() {
+        return this.position;
+    }
+
+    /**
+     * Move the position, the window is mapped on the next read.
+     * 
+     * @param newPosition
+     *            the new position (a position after the end of the file
+     *            returns the end of stream on read)
+     * @throws IOException
+     *             if the position is negative or if the stream is closed
+     */
+    public void seek(final long newPosition) throws IOException {
+        this.ensureOpen();
+
+        if (newPosition < 0) {
+            throw new IOException("The position cannot be negative");
+        }
+        this.position = newPosition;
+    }
+
+    @Override
+    public int read() throws IOException {
+        this.ensureOpen();
+
+        if (this.position >= this.length) {
+            return -1;
+        }
+
+        final MappedByteBuffer buffer = this.slide();
+        return buffer.get((int) (this.position++ - this.windowStart)) & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int len) throws IOException {
+        if (offset < 0 || len < 0 || len > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.ensureOpen();
+
+        if (len == 0) {
+            return 0;
+        } else if (this.position >= this.length) {
+            return -1;
+        }
+
+        // fills the array across the windows
+        final int total = (int) Math.min(len, this.length - this.position);
+        int read = 0;
+        while (read < total) {
+            final MappedByteBuffer buffer = this.slide();
+            final int start = (int) (this.position - this.windowStart);
+            final int count = Math.min(total - read, buffer.limit() - start);
+
+            buffer.position(start);
+            buffer.get(bytes, offset + read, count);
+
+            this.position += count;
+            read += count;
+        }
+
+        return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        this.ensureOpen();
+
+        final long skipped = Math.max(0, Math.min(n, this.length - this.position));
+        this.position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        this.ensureOpen();
+
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, this.length - this.position));
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(final int readlimit) {
+        this.mark = this.position;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        this.ensureOpen();
+
+        this.position = this.mark;
+    }
+
+    /**
+     * Unmap the current window (if mapped by the current thread, otherwise
+     * it's left to the garbage collector) and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.lock) {
+            if (!this.closed) {
+                this.closed = true;
+
+                if (this.mapper == Thread.currentThread()) {
+                    this.unmap();
+                } else {
+                    // another thread may still read the window
+                    this.window = null;
+                }
+                this.channel.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("The stream is closed");
+        }
+    }
+
+    private MappedByteBuffer slide() throws IOException {
+        final MappedByteBuffer current = this.window;
+        if (current != null && this.position >= this.windowStart && this.position < this.windowStart + current.limit()) {
+            return current;
+        }
+
+        synchronized (this.lock) {
+            this.ensureOpen();
+            this.unmap();
+
+            this.windowStart = this.position - this.position % this.windowSize;
+            final long size = Math.min(this.windowSize, this.length - this.windowStart);
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, size);
+            this.mapper = Thread.currentThread();
+            return this.window;
+        }
+    }
+
+    private void unmap() {
+        if (this.window != null) {
+            final MappedByteBuffer buffer = this.window;
+            this.window = null;
+            DirectBufferCleaner.clean(buffer);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Output stream which writes a file through memory-mapped regions: no system
+ * call per write. The file is preallocated by extents (mapping a region after
+ * the end grows the file) and truncated to the written length on close.
+ * 
+ * <p>
+ * The data is written into the page cache like a
+ * {@link java.io.FileOutputStream}, {@link #flush()} does nothing. The current
+ * region is unmapped on close (or when the region slides), the stream is not
+ * thread-safe.
+ * </p>
+ * 
+ * <p>
+ * The stream can be closed from another thread (like
+ * {@link CloseableManager#closeAll()}): if the closing thread isn't the one
+ * which mapped the current region, the region is left to the garbage
+ * collector and the file isn't truncated (the writing thread may still write
+ * into the region, an unmapped region or a truncated file would crash the
+ * JVM). The file then keeps the zeros up to the end of the extent, like a
+ * stream which is never closed.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class MappedOutputStream extends OutputStream {
+
+    /**
+     * Default extent size (64 MiB)
+     */
+    public static final int DEFAULT_EXTENT_SIZE = 64 * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedOutputStream.class);
+
+    private final FileChannel channel;
+    private final int extentSize;
+
+    private final File file;
+    private final Object lock = new Object();
+
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    /**
+     * The thread which mapped the current region
+     */
+    private Thread mapper;
+
+    private long position;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor (extent size: {@link #DEFAULT_EXTENT_SIZE})
+     * 
+     * @param file
+     *            the file to write
+     * @param append
+     *            if true, then bytes will be written to the end of the file
+     *            rather than the beginning
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public MappedOutputStream(final File file, final boolean append) throws IOException {
+        this(file, append, DEFAULT_EXTENT_SIZE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param file
+     *            the file to write
+     * @param append
+     *            if true, then bytes will be written to the end of the file
+     *            rather than the beginning
+     * @param extentSize
+     *            the size of the mapped regions (the file grows by this size)
+     * @throws IOException
+     *             if the file cannot be opened
+     * @throws IllegalArgumentException
+     *             if the extent size is not greater than 0
+     */
+    public MappedOutputStream(final File file, final boolean append, final int extentSize) throws IOException {
+        Assertor.that(extentSize).isGT(0).orElseThrow("The extent size must be greater than 0");
+
+        // READ is required by the READ_WRITE mapping
+        if (append) {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } else {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        this.file = file;
+        this.extentSize = extentSize;
+
+        try {
+            this.position = this.channel.size();
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of bytes of the file (written or preexisting in
+     *         append mode)
+     */
+    public long position() {
+        return this.position;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.ensureOpen();
+
+        final MappedByteBuffer buffer = this.slide();
+        buffer.put((int) (this.position++ - this.regionStart), (byte) b);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int len) throws IOException {
+        if (offset < 0 || len < 0 || len > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.ensureOpen();
+
+        int written = 0;
+        while (written < len) {
+            final MappedByteBuffer buffer = this.slide();
+            final int start = (int) (this.position - this.regionStart);
+            final int count = Math.min(len - written, this.extentSize - start);
+
+            buffer.position(start);
+            buffer.put(bytes, offset + written, count);
+
+            this.position += count;
+            written += count;
+        }
+    }
+
+    /**
+     * Does nothing, the bytes are already in the page cache.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+    }
+
+    /**
+     * Unmap the current region, truncate the file to the written length and
+     * close it (if the region has been mapped by another thread, it's left to
+     * the garbage collector and the file isn't truncated).
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.lock) {
+            if (!this.closed) {
+                this.closed = true;
+
+                try {
+                    if (this.region == null || this.mapper == Thread.currentThread()) {
+                        // unmapped first, a mapped file cannot be truncated on Windows
+                        this.unmap();
+                        this.channel.truncate(this.position);
+                    } else {
+                        // another thread may still write into the region
+                        this.region = null;
+                        LOGGER.warn("The mapped file {} is closed by another thread than the writer, it's not truncated", this.file);
+                    }
+                } finally {
+                    this.channel.close();
+                }
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("The stream is closed");
+        }
+    }
+
+    private MappedByteBuffer slide() throws IOException {
+        final MappedByteBuffer current = this.region;
+        if (current != null && this.position < this.regionStart + this.extentSize) {
+            return current;
+        }
+
+        synchronized (this.lock) {
+            this.ensureOpen();
+            this.unmap();
+
+            // the mapping extends the file to the end of the region
+            this.regionStart = this.position - this.position % this.extentSize;
+            this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, this.regionStart, this.extentSize);
+            this.mapper = Thread.currentThread();
+            return this.region;
+        }
+    }
+
+    private void unmap() {
+        if (this.region != null) {
+            final MappedByteBuffer buffer = this.region;
+            this.region = null;
+            DirectBufferCleaner.clean(buffer);
+        }
+    }
+}
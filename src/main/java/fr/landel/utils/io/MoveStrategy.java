@@ -0,0 +1,60 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+/**
+ * The strategy used to move a file or a directory (see
+ * {@link FileSystemUtils#moveFile(java.io.File, java.io.File)} and
+ * {@link FileSystemUtils#moveDirectory(java.io.File, java.io.File)}).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public enum MoveStrategy {
+
+    /**
+     * Renamed by the file system (source and destination on the same device),
+     * no data copied
+     */
+    ATOMIC_MOVE,
+
+    /**
+     * At least one file was copied and then deleted (source and destination on
+     * different devices)
+     */
+    COPY_AND_DELETE;
+
+    /**
+     * Combine the strategy of a directory with the strategy of one of its
+     * entries.
+     * 
+     * @param other
+     *            the other strategy
+     * @return {@link #COPY_AND_DELETE} if one of the strategies is
+     *         {@link #COPY_AND_DELETE}, {@link #ATOMIC_MOVE} otherwise
+     */
+    MoveStrategy and(final MoveStrategy other) {
+        if (COPY_AND_DELETE.equals(this) || COPY_AND_DELETE.equals(other)) {
+            return COPY_AND_DELETE;
+        }
+        return ATOMIC_MOVE;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+/**
+ * Internal class to convert the newlines of a text in a single pass.
+ * 
+ * <p>
+ * The newlines are read from left to right, the pairs {@code "\r\n"} and
+ * {@code "\n\r"} count for one newline, a lone {@code '\r'} or {@code '\n'}
+ * also counts for one. Each newline is replaced by the output newline and the
+ * text between two newlines is appended in bulk.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class NewLineConverter {
+
+    /**
+     * No character to skip
+     */
+    static final int NONE = -1;
+
+    /**
+     * Constructor.
+     *
+     */
+    private NewLineConverter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Convert all newlines of the input.
+     * 
+     * @param input
+     *            The text to convert
+     * @param newline
+     *            The output newline
+     * @return The text converted
+     */
+    static StringBuilder convert(final CharSequence input, final String newline) {
+        final int length = input.length();
+        final StringBuilder output = new StringBuilder(getOutputLength(input, newline));
+
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            final char c = input.charAt(i);
+            if (c == FileUtils.CR || c == FileUtils.LF) {
+                output.append(input, start, i).append(newline);
+                if (i + 1 < length && isPair(c, input.charAt(i + 1))) {
+                    i++;
+                }
+                start = ++i;
+            } else {
+                i++;
+            }
+        }
+        output.append(input, start, length);
+
+        return output;
+    }
+
+    /**
+     * Check if the characters form a newline pair ({@code "\r\n"} or
+     * {@code "\n\r"})
+     * 
+     * @param first
+     *            The first newline character
+     * @param second
+     *            The next character
+     * @return true, if pair
+     */
+    static boolean isPair(final char first, final char second) {
+        return (first == FileUtils.CR && second == FileUtils.LF) || (first == FileUtils.LF && second == FileUtils.CR);
+    }
+
+    /**
+     * Get the character which forms a newline pair with the specified one. The
+     * streaming filters write the newline on the first character and skip the
+     * next one if it's this character (a pair split across two buffers is
+     * handled the same way).
+     * 
+     * @param c
+     *            The character
+     * @return the other character of the pair, {@link #NONE} if the character
+     *         isn't a newline character
+     */
+    static int pairOf(final int c) {
+        if (c == FileUtils.CR) {
+            return FileUtils.LF;
+        } else if (c == FileUtils.LF) {
+            return FileUtils.CR;
+        }
+        return NONE;
+    }
+
+    /**
+     * Get the length of the converted text. For a single character newline,
+     * the output cannot be longer than the input, otherwise the newlines are
+     * counted (a read-only scan) to allocate the exact length.
+     * 
+     * @param input
+     *            The text to convert
+     * @param newline
+     *            The output newline
+     * @return The output length
+     */
+    private static int getOutputLength(final CharSequence input, final String newline) {
+        final int length = input.length();
+        if (newline.length() <= 1) {
+            return length;
+        }
+
+        long outputLength = length;
+        int i = 0;
+        while (i < length) {
+            final char c = input.charAt(i++);
+            if (c == FileUtils.CR || c == FileUtils.LF) {
+                if (i < length && isPair(c, input.charAt(i))) {
+                    i++;
+                    outputLength += newline.length() - 2;
+                } else {
+                    outputLength += newline.length() - 1;
+                }
+            }
+        }
+        return (int) Math.min(outputLength, Integer.MAX_VALUE - 8);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Input stream which converts the newlines on the fly (constant memory), the
+ * bytes {@code '\r'} and {@code '\n'} are converted like the characters of
+ * {@link NewLineReader}. Only for encodings where these bytes are always
+ * newline characters (ASCII, ISO-8859-*, UTF-8...), use {@link NewLineReader}
+ * for the others (like UTF-16). The mark isn't supported.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineInputStream extends FilterInputStream {
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] newline;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int newlinePosition;
+    private int skip = NewLineConverter.NONE;
+
+    /**
+     * Constructor
+     *
+     * @param in
+     *            the underlying input stream (required, not null)
+     * @param newline
+     *            the output newline, like {@link FileUtils#NEWLINE_WINDOWS}
+     *            (required, not null)
+     * @throws IllegalArgumentException
+     *             if {@code in} or {@code newline} is {@code null}
+     */
+    public NewLineInputStream(final InputStream in, final String newline) {
+        super(check(in, newline));
+        this.newline = newline.getBytes(StandardCharsets.ISO_8859_1);
+        this.newlinePosition = this.newline.length;
+    }
+
+    /**
+     * Check the parameters of the constructor
+     * 
+     * @param in
+     *            the underlying input stream
+     * @param newline
+     *            the output newline
+     * @return the underlying input stream
+     */
+    private static InputStream check(final InputStream in, final String newline) {
+        Assertor.that(in).isNotNull().and(newline).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        if (this.read(b, 0, 1) < 0) {
+            return -1;
+        }
+        return b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        while (count < len) {
+            if (this.newlinePosition < this.newline.length) {
+                b[off + count++] = this.newline[this.newlinePosition++];
+            } else if (this.position < this.limit) {
+                final byte value = this.buffer[this.position++];
+                if (value == this.skip) {
+                    this.skip = NewLineConverter.NONE;
+                } else if ((this.skip = NewLineConverter.pairOf(value)) != NewLineConverter.NONE) {
+                    this.newlinePosition = 0;
+                } else {
+                    b[off + count++] = value;
+                }
+            } else if (count > 0 || !this.fill()) {
+                // don't block if some bytes are available
+                break;
+            }
+        }
+
+        if (count == 0) {
+            return -1;
+        }
+        return count;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = this.in.read(this.buffer, 0, BUFFER_SIZE);
+        } while (read == 0);
+
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        final byte[] skipped = new byte[(int) Math.max(0, Math.min(n, BUFFER_SIZE))];
+        long remaining = n;
+        int read;
+        while (remaining > 0 && (read = this.read(skipped, 0, (int) Math.min(remaining, skipped.length))) > 0) {
+            remaining -= read;
+        }
+        return Math.max(0, n - remaining);
+    }
+
+    @Override
+    public int available() throws IOException {
+        // lower bound: the pending newline bytes
+        return this.newline.length - this.newlinePosition;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
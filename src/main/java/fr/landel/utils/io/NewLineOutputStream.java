@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Output stream which converts the newlines on the fly (constant memory), the
+ * bytes {@code '\r'} and {@code '\n'} are converted like the characters of
+ * {@link NewLineWriter}. Only for encodings where these bytes are always
+ * newline characters (ASCII, ISO-8859-*, UTF-8...), use {@link NewLineWriter}
+ * for the others (like UTF-16).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineOutputStream extends FilterOutputStream {
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final byte[] newline;
+    private int skip = NewLineConverter.NONE;
+
+    /**
+     * Constructor
+     *
+     * @param out
+     *            the underlying output stream (required, not null)
+     * @param newline
+     *            the output newline, like {@link FileUtils#NEWLINE_WINDOWS}
+     *            (required, not null)
+     * @throws IllegalArgumentException
+     *             if {@code out} or {@code newline} is {@code null}
+     */
+    public NewLineOutputStream(final OutputStream out, final String newline) {
+        super(check(out, newline));
+        this.newline = newline.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Check the parameters of the constructor
+     * 
+     * @param out
+     *            the underlying output stream
+     * @param newline
+     *            the output newline
+     * @return the underlying output stream
+     */
+    private static OutputStream check(final OutputStream out, final String newline) {
+        Assertor.that(out).isNotNull().and(newline).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return out;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        final int value = b & 0xFF;
+        if (value == this.skip) {
+            this.skip = NewLineConverter.NONE;
+        } else if ((this.skip = NewLineConverter.pairOf(value)) != NewLineConverter.NONE) {
+            this.out.write(this.newline);
+        } else {
+            this.out.write(value);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        final int end = off + len;
+        int start = off;
+        for (int i = off; i < end; i++) {
+            final int value = b[i] & 0xFF;
+            if (value == this.skip) {
+                this.out.write(b, start, i - start);
+                start = i + 1;
+                this.skip = NewLineConverter.NONE;
+            } else if ((this.skip = NewLineConverter.pairOf(value)) != NewLineConverter.NONE) {
+                this.out.write(b, start, i - start);
+                this.out.write(this.newline);
+                start = i + 1;
+            }
+        }
+        this.out.write(b, start, end - start);
+    }
+}
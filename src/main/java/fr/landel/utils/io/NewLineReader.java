@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Reader which converts the newlines on the fly (constant memory). The
+ * newlines are read from left to right, the pairs {@code "\r\n"} and
+ * {@code "\n\r"} count for one newline, a lone {@code '\r'} or {@code '\n'}
+ * also counts for one (same rules as {@link FileUtils#convertToUnix}). A pair
+ * split across two reads of the underlying reader is handled. The mark isn't
+ * supported.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineReader extends FilterReader {
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String newline;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int newlinePosition;
+    private int skip = NewLineConverter.NONE;
+
+    /**
+     * Constructor
+     *
+     * @param in
+     *            the underlying reader (required, not null)
+     * @param newline
+     *            the output newline, like {@link FileUtils#NEWLINE_WINDOWS}
+     *            (required, not null)
+     * @throws IllegalArgumentException
+     *             if {@code in} or {@code newline} is {@code null}
+     */
+    public NewLineReader(final Reader in, final String newline) {
+        super(check(in, newline));
+        this.newline = newline;
+        this.newlinePosition = newline.length();
+    }
+
+    /**
+     * Check the parameters of the constructor
+     * 
+     * @param in
+     *            the underlying reader
+     * @param newline
+     *            the output newline
+     * @return the underlying reader
+     */
+    private static Reader check(final Reader in, final String newline) {
+        Assertor.that(in).isNotNull().and(newline).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final char[] c = new char[1];
+        if (this.read(c, 0, 1) < 0) {
+            return -1;
+        }
+        return c[0];
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        if (len == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        while (count < len) {
+            if (this.newlinePosition < this.newline.length()) {
+                cbuf[off + count++] = this.newline.charAt(this.newlinePosition++);
+            } else if (this.position < this.limit) {
+                final char c = this.buffer[this.position++];
+                if (c == this.skip) {
+                    this.skip = NewLineConverter.NONE;
+                } else if ((this.skip = NewLineConverter.pairOf(c)) != NewLineConverter.NONE) {
+                    this.newlinePosition = 0;
+                } else {
+                    cbuf[off + count++] = c;
+                }
+            } else if (count > 0 || !this.fill()) {
+                // don't block if some characters are available
+                break;
+            }
+        }
+
+        if (count == 0) {
+            return -1;
+        }
+        return count;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = this.in.read(this.buffer, 0, BUFFER_SIZE);
+        } while (read == 0);
+
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+
+        final char[] skipped = new char[(int) Math.min(n, BUFFER_SIZE)];
+        long remaining = n;
+        int read;
+        while (remaining > 0 && (read = this.read(skipped, 0, (int) Math.min(remaining, skipped.length))) > 0) {
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return this.newlinePosition < this.newline.length() || this.position < this.limit || this.in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+}
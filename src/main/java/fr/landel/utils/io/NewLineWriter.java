@@ -0,0 +1,133 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Writer which converts the newlines on the fly (constant memory). The
+ * newlines are read from left to right, the pairs {@code "\r\n"} and
+ * {@code "\n\r"} count for one newline, a lone {@code '\r'} or {@code '\n'}
+ * also counts for one (same rules as {@link FileUtils#convertToUnix}). A pair
+ * split across two writes is handled.
+ * 
+ * <pre>
+ * try (Writer writer = new NewLineWriter(new FileWriter(file), FileUtils.NEWLINE_UNIX)) {
+ *     writer.write("line1\r");
+ *     writer.write("\nline2\r\n");
+ * }
+ * // file content: "line1\nline2\n"
+ * </pre>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineWriter extends FilterWriter {
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final String newline;
+    private int skip = NewLineConverter.NONE;
+
+    /**
+     * Constructor
+     *
+     * @param out
+     *            the underlying writer (required, not null)
+     * @param newline
+     *            the output newline, like {@link FileUtils#NEWLINE_WINDOWS}
+     *            (required, not null)
+     * @throws IllegalArgumentException
+     *             if {@code out} or {@code newline} is {@code null}
+     */
+    public NewLineWriter(final Writer out, final String newline) {
+        super(check(out, newline));
+        this.newline = newline;
+    }
+
+    /**
+     * Check the parameters of the constructor
+     * 
+     * @param out
+     *            the underlying writer
+     * @param newline
+     *            the output newline
+     * @return the underlying writer
+     */
+    private static Writer check(final Writer out, final String newline) {
+        Assertor.that(out).isNotNull().and(newline).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return out;
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        final char character = (char) c;
+        if (character == this.skip) {
+            this.skip = NewLineConverter.NONE;
+        } else if ((this.skip = NewLineConverter.pairOf(character)) != NewLineConverter.NONE) {
+            this.out.write(this.newline);
+        } else {
+            this.out.write(character);
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        final int end = off + len;
+        int start = off;
+        for (int i = off; i < end; i++) {
+            final char c = cbuf[i];
+            if (c == this.skip) {
+                this.out.write(cbuf, start, i - start);
+                start = i + 1;
+                this.skip = NewLineConverter.NONE;
+            } else if ((this.skip = NewLineConverter.pairOf(c)) != NewLineConverter.NONE) {
+                this.out.write(cbuf, start, i - start);
+                this.out.write(this.newline);
+                start = i + 1;
+            }
+        }
+        this.out.write(cbuf, start, end - start);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        final int end = off + len;
+        int start = off;
+        for (int i = off; i < end; i++) {
+            final char c = str.charAt(i);
+            if (c == this.skip) {
+                this.out.write(str, start, i - start);
+                start = i + 1;
+                this.skip = NewLineConverter.NONE;
+            } else if ((this.skip = NewLineConverter.pairOf(c)) != NewLineConverter.NONE) {
+                this.out.write(str, start, i - start);
+                this.out.write(this.newline);
+                start = i + 1;
+            }
+        }
+        this.out.write(str, start, end - start);
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * GZIP output stream which compresses the blocks in parallel (like pigz): the
+ * written bytes are split into blocks, each block is deflated by the executor
+ * with the last 32 KiB of the previous block as dictionary and its CRC32 is
+ * computed on the same thread. The compressed blocks are written in order by
+ * the caller, so the result is a single standard GZIP member (readable by
+ * {@link java.util.zip.GZIPInputStream} and gzip) whose ratio is close to the
+ * sequential one.
+ * 
+ * <p>
+ * Each block ends on a byte boundary (sync flush), {@link #flush()} also
+ * compresses the current partial block. The number of blocks compressed at
+ * the same time is bounded, the caller waits for the oldest block beyond
+ * this limit. The stream is not thread-safe.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * Default size of a block (128 KiB)
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * Default number of blocks compressed at the same time
+     */
+    public static final int DEFAULT_MAX_PENDING = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Size of the deflate window, the dictionary of a block
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    /**
+     * Empty final block (fixed Huffman codes)
+     */
+    private static final byte[] LAST_BLOCK = {0x03, 0x00};
+
+    private static final String ERROR_CLOSED = "The stream is closed";
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final OutputStream out;
+    private final int level;
+    private final int blockSize;
+    private final int maxPending;
+    private final Executor executor;
+
+    /**
+     * The idle deflaters (one per running task at most)
+     */
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The blocks being compressed, in writing order
+     */
+    private final Deque<CompletableFuture<Compressed>> pending = new ArrayDeque<>();
+
+    private byte[] buffer;
+    private int count;
+
+    /**
+     * The input of the last submitted block (dictionary of the next one)
+     */
+    private byte[] previous;
+    private int previousLength;
+
+    /**
+     * The input of the last written block, released when the next block is
+     * written (its compression used it as dictionary)
+     */
+    private byte[] written;
+
+    private long crc;
+    private long length;
+
+    private boolean headerWritten;
+    private boolean closed;
+
+    /**
+     * Constructor (default compression level, blocks of
+     * {@link #DEFAULT_BLOCK_SIZE} bytes compressed in the common
+     * {@link ForkJoinPool})
+     * 
+     * @param out
+     *            the output stream
+     */
+    public ParallelGzipOutputStream(final OutputStream out) {
+        this(out, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor (blocks of {@link #DEFAULT_BLOCK_SIZE} bytes compressed in
+     * the common {@link ForkJoinPool})
+     * 
+     * @param out
+     *            the output stream
+     * @param level
+     *            the compression level (0-9 or
+     *            {@link Deflater#DEFAULT_COMPRESSION})
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final int level) {
+        this(out, level, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_PENDING, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param out
+     *            the output stream
+     * @param level
+     *            the compression level (0-9 or
+     *            {@link Deflater#DEFAULT_COMPRESSION})
+     * @param blockSize
+     *            the size of a block
+     * @param maxPending
+     *            the maximum number of blocks compressed at the same time
+     * @param executor
+     *            the executor of the compression tasks
+     * @throws IllegalArgumentException
+     *             if a parameter is null, if the level is invalid, or if the
+     *             block size or the maximum number of pending blocks is not
+     *             greater than 0
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final int level, final int blockSize, final int maxPending,
+            final Executor executor) {
+        Assertor.that(out).isNotNull().and(executor).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        Assertor.that(level).validates((l) -> l == Deflater.DEFAULT_COMPRESSION || l >= 0 && l <= 9)
+                .orElseThrow("The compression level must be between 0 and 9");
+        Assertor.that(blockSize).isGT(0).orElseThrow("The block size must be greater than 0");
+        Assertor.that(maxPending).isGT(0).orElseThrow("The maximum number of pending blocks must be greater than 0");
+
+        this.out = out;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxPending = maxPending;
+        this.executor = executor;
+        this.buffer = BufferPool.SHARED.acquire(blockSize);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.ensureOpen();
+
+        if (this.count == this.blockSize) {
+            this.submit();
+        }
+        this.buffer[this.count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        this.ensureOpen();
+
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (this.count == this.blockSize) {
+                this.submit();
+            }
+            final int size = Math.min(remaining, this.blockSize - this.count);
+            System.arraycopy(b, offset, this.buffer, this.count, size);
+            this.count += size;
+            offset += size;
+            remaining -= size;
+        }
+    }
+
+    /**
+     * Compress the current block, write all the compressed blocks and flush
+     * the output stream (the written data can be fully decompressed).
+     */
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+
+        this.submit();
+        while (!this.pending.isEmpty()) {
+            this.writeOldest();
+        }
+        this.out.flush();
+    }
+
+    /**
+     * Compress the remaining data, write the GZIP trailer and close the output
+     * stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        try {
+            this.submit();
+            while (!this.pending.isEmpty()) {
+                this.writeOldest();
+            }
+            this.writeHeader();
+            this.out.write(LAST_BLOCK);
+
+            final byte[] trailer = new byte[8];
+            writeInt(trailer, 0, this.crc);
+            writeInt(trailer, 4, this.length);
+            this.out.write(trailer);
+        } finally {
+            // wait for the tasks still running after an error (they use the
+            // deflaters)
+            for (CompletableFuture<Compressed> future : this.pending) {
+                future.handle((compressed, e) -> null).join();
+            }
+            this.release();
+            this.pending.clear();
+
+            Deflater deflater;
+            while ((deflater = this.deflaters.poll()) != null) {
+                deflater.end();
+            }
+
+            this.out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException(ERROR_CLOSED);
+        }
+    }
+
+    /**
+     * Submit the current block to the executor (if not empty), wait for the
+     * oldest block if too many are pending
+     * 
+     * @throws IOException
+     *             on error of a previous block
+     */
+    private void submit() throws IOException {
+        if (this.count == 0) {
+            return;
+        }
+
+        if (this.pending.size() >= this.maxPending) {
+            this.writeOldest();
+        }
+
+        final byte[] input = this.buffer;
+        final int inputLength = this.count;
+        final byte[] dictionary = this.previous;
+        final int dictionaryLength = this.previousLength;
+
+        this.pending.add(CompletableFuture.supplyAsync(() -> this.compress(input, inputLength, dictionary, dictionaryLength),
+                this.executor));
+
+        this.previous = input;
+        this.previousLength = inputLength;
+        this.buffer = BufferPool.SHARED.acquire(this.blockSize);
+        this.count = 0;
+    }
+
+    /**
+     * Compress a block (run by the executor)
+     * 
+     * @param input
+     *            the block
+     * @param inputLength
+     *            the length of the block
+     * @param dictionary
+     *            the previous block (null for the first one)
+     * @param dictionaryLength
+     *            the length of the previous block
+     * @return the compressed block
+     */
+    private Compressed compress(final byte[] input, final int inputLength, final byte[] dictionary, final int dictionaryLength) {
+        Deflater deflater = this.deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(this.level, true);
+        }
+
+        try {
+            if (dictionary != null) {
+                final int size = Math.min(DICTIONARY_SIZE, dictionaryLength);
+                deflater.setDictionary(dictionary, dictionaryLength - size, size);
+            }
+            deflater.setInput(input, 0, inputLength);
+
+            byte[] output = new byte[inputLength + (inputLength >> 3) + 64];
+            int outputLength = 0;
+            int size;
+            while ((size = deflater.deflate(output, outputLength, output.length - outputLength, Deflater.SYNC_FLUSH)) == output.length
+                    - outputLength) {
+                outputLength += size;
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            outputLength += size;
+
+            final CRC32 crc32 = new CRC32();
+            crc32.update(input, 0, inputLength);
+
+            return new Compressed(input, inputLength, output, outputLength, crc32.getValue());
+        } finally {
+            deflater.reset();
+            this.deflaters.offer(deflater);
+        }
+    }
+
+    /**
+     * Wait for the oldest pending block and write it
+     * 
+     * @throws IOException
+     *             on compression or write error
+     */
+    private void writeOldest() throws IOException {
+        final Compressed compressed;
+        try {
+            compressed = this.pending.peek().join();
+        } catch (CompletionException e) {
+            throw new IOException("The compression of a block failed", e.getCause());
+        }
+        this.pending.poll();
+
+        this.writeHeader();
+        this.out.write(compressed.output, 0, compressed.outputLength);
+
+        this.crc = FileCRC32Utils.combine(this.crc, compressed.crc, compressed.inputLength);
+        this.length += compressed.inputLength;
+
+        if (this.written != null) {
+            BufferPool.SHARED.release(this.written);
+        }
+        this.written = compressed.input;
+    }
+
+    private void writeHeader() throws IOException {
+        if (!this.headerWritten) {
+            this.out.write(HEADER);
+            this.headerWritten = true;
+        }
+    }
+
+    private void release() {
+        if (this.buffer != null) {
+            BufferPool.SHARED.release(this.buffer);
+            this.buffer = null;
+        }
+        // after an error, the inputs of the blocks not written are left to
+        // the garbage collector
+        if (this.written != null && this.pending.isEmpty()) {
+            BufferPool.SHARED.release(this.written);
+        }
+        this.written = null;
+        this.previous = null;
+    }
+
+    private static void writeInt(final byte[] bytes, final int offset, final long value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >> 8);
+        bytes[offset + 2] = (byte) (value >> 16);
+        bytes[offset + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * A compressed block
+     */
+    private static final class Compressed {
+
+        private final byte[] input;
+        private final int inputLength;
+        private final byte[] output;
+        private final int outputLength;
+        private final long crc;
+
+        private Compressed(final byte[] input, final int inputLength, final byte[] output, final int outputLength, final long crc) {
+            this.input = input;
+            this.inputLength = inputLength;
+            this.output = output;
+            this.outputLength = outputLength;
+            this.crc = crc;
+        }
+    }
+}
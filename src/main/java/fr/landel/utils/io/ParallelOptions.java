@@ -0,0 +1,255 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * The options of the parallel operations (like
+ * {@link FileSystemUtils#copyDirectory(java.io.File, java.io.File, ParallelOptions)}).
+ * 
+ * <p>
+ * The options are immutable, each {@code with} method returns a new instance.
+ * By default, the tasks are run in a dedicated pool of daemon threads (the
+ * tasks block on I/O, so they are kept out of the common
+ * {@link java.util.concurrent.ForkJoinPool}), the number of files opened at
+ * the same time is limited to twice the number of
+ * processors, the largest files are processed first (the small files fill
+ * the gaps at the end, so the threads finish at the same time) and the
+ * checksum of a file is split into ranges of 64 MiB. The throughput is not
+ * limited (see {@link #withRateLimiter(RateLimiter)}).
+ * </p>
+ * 
+ * <p>
+ * On Java 21 and later, {@link #withVirtualThreads()} runs the tasks on
+ * virtual threads, the maximum number of open files is then the only limit of
+ * the concurrency (the walk and the file operations do not hold any monitor,
+ * so the virtual threads are not pinned to their carriers while blocked on
+ * I/O).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class ParallelOptions {
+
+    /**
+     * The default maximum number of files opened at the same time
+     */
+    public static final int DEFAULT_MAX_OPEN_FILES = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * The default size of the ranges of a file processed in parallel (64 MiB)
+     */
+    public static final long DEFAULT_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The default options
+     */
+    public static final ParallelOptions DEFAULT = new ParallelOptions(null, DEFAULT_MAX_OPEN_FILES, true, DEFAULT_CHUNK_SIZE, null);
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+    private static final String ERROR_MAX_OPEN_FILES = "The maximum number of open files must be greater than 0";
+    private static final String ERROR_CHUNK_SIZE = "The chunk size must be greater than 0";
+    private static final String ERROR_VIRTUAL_THREADS = "The virtual threads require Java 21 or later";
+
+    private final Executor executor;
+    private final int maxOpenFiles;
+    private final boolean largestFirst;
+    private final long chunkSize;
+    private final RateLimiter rateLimiter;
+
+    private ParallelOptions(final Executor executor, final int maxOpenFiles, final boolean largestFirst, final long chunkSize,
+            final RateLimiter rateLimiter) {
+        this.executor = executor;
+        this.maxOpenFiles = maxOpenFiles;
+        this.largestFirst = largestFirst;
+        this.chunkSize = chunkSize;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return the executor, the shared pool of daemon threads if not injected
+     */
+    public Executor getExecutor() {
+        if (this.executor != null) {
+            return this.executor;
+        }
+        return DaemonExecutor.INSTANCE;
+    }
+
+    /**
+     * @return the maximum number of files opened at the same time
+     */
+    public int getMaxOpenFiles() {
+        return this.maxOpenFiles;
+    }
+
+    /**
+     * @return true, if the largest files are processed first
+     */
+    public boolean isLargestFirst() {
+        return this.largestFirst;
+    }
+
+    /**
+     * @return the size of the ranges of a file processed in parallel
+     */
+    public long getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * @return the rate limiter of the transferred bytes, null if not limited
+     */
+    public RateLimiter getRateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Inject the executor. The calling thread also processes files, so an
+     * executor with less threads than the maximum number of open files (or a
+     * saturated one) only reduces the concurrency.
+     * 
+     * @param executor
+     *            the executor (required, not null)
+     * @return the new options
+     * @throws IllegalArgumentException
+     *             if {@code executor} is {@code null}
+     */
+    public ParallelOptions withExecutor(final Executor executor) {
+        Assertor.that(executor).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return new ParallelOptions(executor, this.maxOpenFiles, this.largestFirst, this.chunkSize, this.rateLimiter);
+    }
+
+    /**
+     * @return true, if the virtual threads are available (Java 21 or later)
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreadExecutor.INSTANCE != null;
+    }
+
+    /**
+     * Run the tasks on virtual threads: a shared virtual thread per task
+     * executor (created on first use) is injected. The threads are cheap, so
+     * the maximum number of open files can be raised (see
+     * {@link #withMaxOpenFiles(int)}) to overlap more blocking I/O, it remains
+     * the limiter of the concurrency.
+     * 
+     * @return the new options
+     * @throws UnsupportedOperationException
+     *             if the virtual threads are not available (before Java 21)
+     */
+    public ParallelOptions withVirtualThreads() {
+        if (!isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException(ERROR_VIRTUAL_THREADS);
+        }
+        return new ParallelOptions(VirtualThreadExecutor.INSTANCE, this.maxOpenFiles, this.largestFirst, this.chunkSize, this.rateLimiter);
+    }
+
+    /**
+     * Define the maximum number of files opened at the same time (a copy
+     * counts for one, even if source and target are opened).
+     * 
+     * @param maxOpenFiles
+     *            the maximum number of files (greater than 0, 1 to process the
+     *            files sequentially on the calling thread)
+     * @return the new options
+     * @throws IllegalArgumentException
+     *             if {@code maxOpenFiles} is lower than 1
+     */
+    public ParallelOptions withMaxOpenFiles(final int maxOpenFiles) {
+        Assertor.that(maxOpenFiles).isGT(0).orElseThrow(ERROR_MAX_OPEN_FILES);
+        return new ParallelOptions(this.executor, maxOpenFiles, this.largestFirst, this.chunkSize, this.rateLimiter);
+    }
+
+    /**
+     * Define the processing order.
+     * 
+     * @param largestFirst
+     *            true, to process the largest files first, false to keep the
+     *            order of the directory walk
+     * @return the new options
+     */
+    public ParallelOptions withLargestFirst(final boolean largestFirst) {
+        return new ParallelOptions(this.executor, this.maxOpenFiles, largestFirst, this.chunkSize, this.rateLimiter);
+    }
+
+    /**
+     * Define the size of the ranges of a file processed in parallel (only used
+     * by the checksum, see
+     * {@link FileCRC32Utils#getCRC32(java.io.File, ParallelOptions)}): a file
+     * larger than this size is split and each range is read by a different
+     * thread.
+     * 
+     * @param chunkSize
+     *            the size in bytes (greater than 0)
+     * @return the new options
+     * @throws IllegalArgumentException
+     *             if {@code chunkSize} is lower than 1
+     */
+    public ParallelOptions withChunkSize(final long chunkSize) {
+        Assertor.that(chunkSize).isGT(0L).orElseThrow(ERROR_CHUNK_SIZE);
+        return new ParallelOptions(this.executor, this.maxOpenFiles, this.largestFirst, chunkSize, this.rateLimiter);
+    }
+
+    /**
+     * Limit the throughput of the transferred bytes (the copied bytes of
+     * {@link FileSystemUtils#copyDirectory(java.io.File, java.io.File, ParallelOptions)}
+     * and the read bytes of the checksums): the limiter is shared by all the
+     * threads of the operation, it can also be shared between several
+     * operations to keep a whole job under one budget. With one open file
+     * (see {@link #withMaxOpenFiles(int)}), the operation stays sequential.
+     * 
+     * @param rateLimiter
+     *            the rate limiter (required, not null)
+     * @return the new options
+     * @throws IllegalArgumentException
+     *             if {@code rateLimiter} is {@code null}
+     */
+    public ParallelOptions withRateLimiter(final RateLimiter rateLimiter) {
+        Assertor.that(rateLimiter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        return new ParallelOptions(this.executor, this.maxOpenFiles, this.largestFirst, this.chunkSize, rateLimiter);
+    }
+
+    /**
+     * Lazy holder of the virtual thread executor, loaded by reflection to stay
+     * compatible with the previous versions of Java (null if not available)
+     */
+    private static final class VirtualThreadExecutor {
+
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                // before Java 21 (or Java 19/20 without the preview features)
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Internal class to run I/O tasks in parallel following the
+ * {@link ParallelOptions}.
+ * 
+ * <p>
+ * The items are processed by at most {@link ParallelOptions#getMaxOpenFiles()}
+ * workers, each worker takes the next item in the start order. The calling
+ * thread is one of the workers. On the first error, the workers stop taking new
+ * items and the error is thrown once all the running tasks are finished.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class ParallelTasks {
+
+    /**
+     * Constructor.
+     *
+     */
+    private ParallelTasks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A task which can throw an {@link IOException}
+     *
+     * @param <T>
+     *            the item type
+     * @param <R>
+     *            the result type
+     */
+    @FunctionalInterface
+    interface Task<T, R> {
+
+        /**
+         * Process the item.
+         * 
+         * @param item
+         *            the item
+         * @return the result
+         * @throws IOException
+         *             on I/O error
+         */
+        R apply(T item) throws IOException;
+    }
+
+    /**
+     * Process all items in parallel. If the options require it, the largest
+     * items are started first, the results keep the order of the items.
+     * 
+     * @param items
+     *            the items
+     * @param options
+     *            the parallel options
+     * @param weigher
+     *            the function to get the size of an item (used to start the
+     *            largest items first)
+     * @param task
+     *            the task to apply on each item
+     * @param <T>
+     *            the item type
+     * @param <R>
+     *            the result type
+     * @return the results in the order of the items
+     * @throws IOException
+     *             the first error thrown by a task
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> List<R> map(final List<T> items, final ParallelOptions options, final ToLongFunction<T> weigher, final Task<T, R> task)
+            throws IOException {
+        Assertor.that(items).isNotNull().and(options).isNotNull().and(weigher).isNotNull().and(task).isNotNull()
+                .orElseThrow(InternalFileSystemUtils.ERROR_PARAM_NULL);
+
+        final int size = items.size();
+        final int[] order = startOrder(items, options, weigher);
+        final Object[] results = new Object[size];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        final Runnable worker = () -> {
+            int position;
+            while (error.get() == null && (position = next.getAndIncrement()) < size) {
+                final int index = order[position];
+                try {
+                    results[index] = task.apply(items.get(index));
+                } catch (IOException | RuntimeException e) {
+                    error.compareAndSet(null, e);
+                }
+            }
+        };
+
+        final int nbWorkers = Math.min(options.getMaxOpenFiles(), size);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(nbWorkers);
+        try {
+            for (int i = 1; i < nbWorkers; i++) {
+                futures.add(CompletableFuture.runAsync(worker, options.getExecutor()));
+            }
+        } catch (RejectedExecutionException e) {
+            // the calling thread processes the remaining items
+        }
+
+        worker.run();
+
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                error.compareAndSet(null, e.getCause() != null ? e.getCause() : e);
+            }
+        }
+
+        final Throwable throwable = error.get();
+        if (throwable instanceof IOException) {
+            throw (IOException) throwable;
+        } else if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable != null) {
+            throw new IOException(throwable);
+        }
+
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * Get the start order of the items (indexes)
+     * 
+     * @param items
+     *            the items
+     * @param options
+     *            the parallel options
+     * @param weigher
+     *            the function to get the size of an item
+     * @param <T>
+     *            the item type
+     * @return the indexes in start order
+     */
+    private static <T> int[] startOrder(final List<T> items, final ParallelOptions options, final ToLongFunction<T> weigher) {
+        final int size = items.size();
+        if (!options.isLargestFirst()) {
+            return IntStream.range(0, size).toArray();
+        }
+
+        final long[] weights = new long[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = weigher.applyAsLong(items.get(i));
+        }
+        return IntStream.range(0, size).boxed().sorted((i1, i2) -> Long.compare(weights[i2], weights[i1])).mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Input stream which reads ahead the wrapped stream on a background thread:
+ * the next blocks are read into a bounded ring of buffers while the caller
+ * parses the current one, so the disk and the processor work at the same
+ * time.
+ * 
+ * <p>
+ * The background task starts on creation and stops when the ring is full, an
+ * error of the wrapped stream is thrown by the next read which reaches it.
+ * Closing the stream cancels the pending prefetches and closes the wrapped
+ * stream. The stream is not thread-safe (one reader, one background task).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class PrefetchInputStream extends InputStream {
+
+    /**
+     * Default size of a block (64 KiB)
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Default number of blocks read ahead
+     */
+    public static final int DEFAULT_BLOCKS = 4;
+
+    private static final String ERROR_CLOSED = "The stream is closed";
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final InputStream in;
+
+    /**
+     * The buffers available for the background task
+     */
+    private final BlockingQueue<byte[]> free;
+
+    /**
+     * The blocks read ahead, in reading order
+     */
+    private final BlockingQueue<Block> filled;
+
+    private final FutureTask<Void> task;
+
+    private Block current;
+    private int offset;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor ({@link #DEFAULT_BLOCKS} blocks of
+     * {@link #DEFAULT_BLOCK_SIZE} bytes, read by a shared pool of daemon
+     * threads)
+     * 
+     * @param in
+     *            the input stream to read ahead
+     * @throws IOException
+     *             if the background task cannot be started
+     */
+    public PrefetchInputStream(final InputStream in) throws IOException {
+        this(in, DEFAULT_BLOCK_SIZE, DEFAULT_BLOCKS);
+    }
+
+    /**
+     * Constructor (blocks read by a shared pool of daemon threads)
+     * 
+     * @param in
+     *            the input stream to read ahead
+     * @param blockSize
+     *            the size of a block
+     * @param blocks
+     *            the number of blocks read ahead
+     * @throws IOException
+     *             if the background task cannot be started
+     * @throws IllegalArgumentException
+     *             if the block size or the number of blocks is not greater
+     *             than 0
+     */
+    public PrefetchInputStream(final InputStream in, final int blockSize, final int blocks) throws IOException {
+        this(in, blockSize, blocks, DaemonExecutor.INSTANCE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param in
+     *            the input stream to read ahead
+     * @param blockSize
+     *            the size of a block
+     * @param blocks
+     *            the number of blocks read ahead
+     * @param executor
+     *            the executor of the background task (the task holds a thread
+     *            until the end of the stream or until the stream is closed)
+     * @throws IOException
+     *             if the background task cannot be started (the wrapped
+     *             stream is closed)
+     * @throws IllegalArgumentException
+     *             if a parameter is null, or if the block size or the number
+     *             of blocks is not greater than 0
+     */
+    public PrefetchInputStream(final InputStream in, final int blockSize, final int blocks, final Executor executor) throws IOException {
+        Assertor.that(in).isNotNull().and(executor).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        Assertor.that(blockSize).isGT(0).orElseThrow("The block size must be greater than 0");
+        Assertor.that(blocks).isGT(0).orElseThrow("The number of blocks must be greater than 0");
+
+        this.in = in;
+
+        // one more buffer for the block being read by the caller, and one
+        // more slot for the end or the error of the background task
+        this.free = new ArrayBlockingQueue<>(blocks + 1);
+        this.filled = new ArrayBlockingQueue<>(blocks + 2);
+        for (int i = 0; i <= blocks; i++) {
+            this.free.add(new byte[blockSize]);
+        }
+
+        this.task = new FutureTask<>(this::prefetch, null);
+        try {
+            executor.execute(this.task);
+        } catch (RejectedExecutionException e) {
+            this.closed = true;
+            in.close();
+            throw new IOException("The prefetch task was rejected", e);
+        }
+    }
+
+    /**
+     * The background task: fill the free buffers until the end of the wrapped
+     * stream. Unless the stream is closed, the task always ends with the end
+     * marker or with an error for the reader.
+     */
+    private void prefetch() {
+        try {
+            while (!this.closed) {
+                final byte[] buffer = this.free.take();
+                final int length = this.fill(buffer);
+                if (length < 0) {
+                    this.filled.put(Block.END);
+                    return;
+                }
+                this.filled.put(new Block(buffer, length, null));
+            }
+        } catch (InterruptedException e) {
+            // cancelled by close or interrupted by the executor
+            Thread.currentThread().interrupt();
+            if (!this.closed) {
+                this.filled.offer(new Block(null, -1, new InterruptedIOException("The prefetch task was interrupted")));
+            }
+        } catch (Throwable e) {
+            if (!this.closed) {
+                // the data blocks never take the last slot, so it is free
+                this.filled.offer(new Block(null, -1, e));
+            }
+        }
+    }
+
+    /**
+     * Read the wrapped stream until the buffer is full or until the end
+     * 
+     * @param buffer
+     *            the buffer to fill
+     * @return the number of bytes read, -1 at the end of the stream
+     * @throws IOException
+     *             on read error
+     */
+    private int fill(final byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = this.in.read(buffer, length, buffer.length - length)) > -1) {
+            length += read;
+        }
+        return length > 0 || buffer.length == 0 ? length : -1;
+    }
+
+    /**
+     * Get the next block if the current one is consumed
+     * 
+     * @return the current block with remaining bytes, null at the end of the
+     *         stream
+     * @throws IOException
+     *             if the stream is closed, on error of the wrapped stream or
+     *             if the caller is interrupted
+     */
+    private Block next() throws IOException {
+        if (this.closed) {
+            throw new IOException(ERROR_CLOSED);
+        }
+
+        final Block block = this.current;
+        if (block != null) {
+            if (block.error != null) {
+                throw new IOException(block.error.getMessage(), block.error);
+            } else if (block.length < 0) {
+                return null;
+            } else if (this.offset < block.length) {
+                return block;
+            }
+            this.free.offer(block.buffer);
+        }
+
+        try {
+            this.current = this.filled.take();
+            this.offset = 0;
+        } catch (InterruptedException e) {
+            this.current = null;
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the next block");
+        }
+
+        // the wrapped stream may return an empty read, check again
+        return this.next();
+    }
+
+    @Override
+    public int read() throws IOException {
+        final Block block = this.next();
+        if (block == null) {
+            return -1;
+        }
+        return block.buffer[this.offset++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+
+        final Block block = this.next();
+        if (block == null) {
+            return -1;
+        }
+
+        final int length = Math.min(len, block.length - this.offset);
+        System.arraycopy(block.buffer, this.offset, b, off, length);
+        this.offset += length;
+        return length;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        long skipped = 0;
+        Block block;
+        while (skipped < n && (block = this.next()) != null) {
+            final int length = (int) Math.min(n - skipped, block.length - this.offset);
+            this.offset += length;
+            skipped += length;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        final Block block = this.current;
+        if (this.closed) {
+            throw new IOException(ERROR_CLOSED);
+        } else if (block == null || block.length < 0) {
+            return 0;
+        }
+        return block.length - this.offset;
+    }
+
+    /**
+     * Cancel the pending prefetches and close the wrapped stream (the current
+     * block is left to a reader on another thread, its next call fails).
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.task.cancel(true);
+            try {
+                this.in.close();
+            } finally {
+                this.filled.clear();
+                this.free.clear();
+                // wake up a reader blocked on another thread
+                this.filled.offer(Block.END);
+            }
+        }
+    }
+
+    /**
+     * A block read ahead (or the end of the stream, or an error)
+     */
+    private static final class Block {
+
+        private static final Block END = new Block(null, -1, null);
+
+        private final byte[] buffer;
+        private final int length;
+        private final Throwable error;
+
+        private Block(final byte[] buffer, final int length, final Throwable error) {
+            this.buffer = buffer;
+            this.length = length;
+            this.error = error;
+        }
+    }
+}
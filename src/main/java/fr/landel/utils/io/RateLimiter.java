@@ -0,0 +1,206 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Token bucket limiting a throughput in bytes per second. The limiter is
+ * thread-safe and lock-free: one instance shared by all the threads of a job
+ * (the throttled streams, the copies and the checksums, see
+ * {@link ParallelOptions#withRateLimiter(RateLimiter)}) keeps the whole job
+ * under the same budget.
+ *
+ * <p>
+ * The bucket holds at most the burst: an idle limiter lets this number of
+ * bytes pass at once, then the callers wait for the tokens. A request larger
+ * than the burst is accepted and the following callers wait for its debt
+ * (so a large read or write is not starved), the throttled streams split their
+ * transfers into chunks of at most {@link #getChunkSize()} bytes to stay
+ * smooth. The waiting threads are parked (no monitor is held).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Maximum size of the chunks of the throttled transfers (1 MiB)
+     */
+    private static final long MAX_CHUNK_SIZE = 1024 * 1024;
+
+    private final long bytesPerSecond;
+    private final long burst;
+    private final double nanosPerByte;
+
+    /**
+     * Duration to refill the whole bucket
+     */
+    private final long burstNanos;
+
+    /**
+     * Theoretical time at which the bucket is full again (the reserved tokens
+     * are paid after the previous ones)
+     */
+    private final AtomicLong full;
+
+    /**
+     * Constructor (burst of one second of throughput)
+     *
+     * @param bytesPerSecond
+     *            the throughput (greater than 0)
+     * @throws IllegalArgumentException
+     *             if the throughput is not greater than 0
+     */
+    public RateLimiter(final long bytesPerSecond) {
+        this(bytesPerSecond, bytesPerSecond);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param bytesPerSecond
+     *            the throughput (greater than 0)
+     * @param burst
+     *            the number of bytes accepted at once by an idle limiter
+     *            (greater than 0)
+     * @throws IllegalArgumentException
+     *             if the throughput or the burst is not greater than 0
+     */
+    public RateLimiter(final long bytesPerSecond, final long burst) {
+        Assertor.that(bytesPerSecond).isGT(0L).orElseThrow("The number of bytes per second must be greater than 0");
+        Assertor.that(burst).isGT(0L).orElseThrow("The burst must be greater than 0");
+
+        this.bytesPerSecond = bytesPerSecond;
+        this.burst = burst;
+        this.nanosPerByte = (double) NANOS_PER_SECOND / bytesPerSecond;
+        this.burstNanos = this.toNanos(burst);
+        // the bucket is full on creation
+        this.full = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return the throughput in bytes per second
+     */
+    public long getBytesPerSecond() {
+        return this.bytesPerSecond;
+    }
+
+    /**
+     * @return the number of bytes accepted at once by an idle limiter
+     */
+    public long getBurst() {
+        return this.burst;
+    }
+
+    /**
+     * @return the maximum size of a chunk of a throttled transfer (the burst,
+     *         1 MiB at most)
+     */
+    public int getChunkSize() {
+        return (int) Math.min(this.burst, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Take the tokens, waits until they are available
+     *
+     * @param bytes
+     *            the number of bytes (nothing is done if not greater than 0)
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting (the interrupted
+     *             status is restored)
+     */
+    public void acquire(final long bytes) throws InterruptedIOException {
+        final long wait = this.reserve(bytes, System.nanoTime());
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for the rate limiter");
+                exception.initCause(e);
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Take the tokens if they are available now
+     *
+     * @param bytes
+     *            the number of bytes
+     * @return true, if the tokens have been taken
+     */
+    public boolean tryAcquire(final long bytes) {
+        if (bytes <= 0) {
+            return true;
+        }
+
+        final long cost = this.toNanos(bytes);
+        final long now = System.nanoTime();
+        long current;
+        long next;
+        do {
+            current = this.full.get();
+            next = Math.max(current, now) + cost;
+            if (next - now > this.burstNanos) {
+                return false;
+            }
+        } while (!this.full.compareAndSet(current, next));
+        return true;
+    }
+
+    /**
+     * Reserve the tokens
+     *
+     * @param bytes
+     *            the number of bytes
+     * @param now
+     *            the current time in nanoseconds
+     * @return the time to wait before using them in nanoseconds
+     */
+    long reserve(final long bytes, final long now) {
+        if (bytes <= 0) {
+            return 0;
+        }
+
+        final long cost = this.toNanos(bytes);
+        long current;
+        long next;
+        do {
+            current = this.full.get();
+            // the unused tokens don't exceed the burst
+            next = Math.max(current, now) + cost;
+        } while (!this.full.compareAndSet(current, next));
+        return next - now - this.burstNanos;
+    }
+
+    private long toNanos(final long bytes) {
+        return (long) Math.min(bytes * this.nanosPerByte, Long.MAX_VALUE / 4);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Input stream of the uncompressed data of a GZIP file, whose position can be
+ * moved anywhere ({@link #seek(long)}): the inflation restarts from the
+ * nearest restart point of the {@link GzipIndex} before the position, so at
+ * most a span of the index (plus a block) is inflated to reach it, instead of
+ * the whole beginning of the file.
+ *
+ * <p>
+ * The position is moved on the next read (a seek after the current position
+ * and before the next restart point continues the current inflation). The
+ * CRC32 of a member is only checked if the member has been inflated from its
+ * start. The stream is not thread-safe.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SeekableGzipInputStream extends InputStream {
+
+    private static final int SKIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final FileInputStream in;
+    private final GzipIndex index;
+    private final byte[] single = new byte[1];
+
+    /**
+     * The decoder and its uncompressed position
+     */
+    private GzipDecoder decoder;
+    private long decoderPosition;
+
+    private long position;
+    private long mark;
+
+    private boolean closed;
+
+    /**
+     * Constructor (the index is read from the sidecar file or built, see
+     * {@link GzipIndex#of(File)})
+     *
+     * @param file
+     *            the GZIP file
+     * @throws IOException
+     *             if the file cannot be read or is not a valid GZIP file
+     */
+    public SeekableGzipInputStream(final File file) throws IOException {
+        this(file, GzipIndex.of(file));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file
+     *            the GZIP file
+     * @param index
+     *            the index of the file
+     * @throws IOException
+     *             if the file cannot be opened or if the index doesn't match
+     *             the file
+     * @throws IllegalArgumentException
+     *             if a parameter is null
+     */
+    public SeekableGzipInputStream(final File file, final GzipIndex index) throws IOException {
+        Assertor.that(file).isNotNull().and(index).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        this.in = new FileInputStream(file);
+        this.index = index;
+        if (!index.matches(file)) {
+            this.in.close();
+            throw new IOException("The index doesn't match the GZIP file");
+        }
+    }
+
+    /**
+     * @return the length of the uncompressed data
+     */
+    public long length() {
+        return this.index.getUncompressedLength();
+    }
+
+    /**
+     * @return the current position in the uncompressed data
+     */
+    public long position() {
+        return this.position;
+    }
+
+    /**
+     * Move the position, the data is inflated up to it on the next read.
+     *
+     * @param newPosition
+     *            the new position (a position after the end of the data
+     *            returns the end of stream on read)
+     * @throws IOException
+     *             if the position is negative or if the stream is closed
+     */
+    public void seek(final long newPosition) throws IOException {
+        this.ensureOpen();
+
+        if (newPosition < 0) {
+            throw new IOException("The position cannot be negative");
+        }
+        this.position = newPosition;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int n = this.read(this.single, 0, 1);
+        return n > 0 ? this.single[0] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int len) throws IOException {
+        Objects.checkFromIndexSize(offset, len, bytes.length);
+        this.ensureOpen();
+
+        if (len == 0) {
+            return 0;
+        } else if (this.position >= this.length()) {
+            return -1;
+        }
+
+        this.moveTo(this.position);
+        final int n = this.decoder.read(bytes, offset, len);
+        if (n > 0) {
+            this.position += n;
+            this.decoderPosition += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        this.ensureOpen();
+
+        final long skipped = Math.max(0, Math.min(n, this.length() - this.position));
+        this.position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        this.ensureOpen();
+
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, this.length() - this.position));
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(final int readlimit) {
+        this.mark = this.position;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        this.ensureOpen();
+
+        this.position = this.mark;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.decoder = null;
+            this.in.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("The stream is closed");
+        }
+    }
+
+    /**
+     * Position the decoder: restart from the nearest point if it's after the
+     * decoder (or if the target is behind it), then inflate up to the target
+     *
+     * @param target
+     *            the uncompressed position
+     * @throws IOException
+     *             if the file cannot be read or is corrupted
+     */
+    private void moveTo(final long target) throws IOException {
+        final int point = this.index.find(target);
+        if (this.decoder == null || target < this.decoderPosition || this.index.getOffset(point) > this.decoderPosition) {
+            final byte[] window = new byte[GzipDecoder.WINDOW_SIZE];
+            final int windowLength = this.index.getWindow(point, window);
+            final long bitPosition = this.index.getBitPosition(point);
+
+            this.in.getChannel().position(bitPosition >>> 3);
+            this.decoder = new GzipDecoder(this.in, bitPosition >>> 3, (int) (bitPosition & 7), window, windowLength);
+            this.decoderPosition = this.index.getOffset(point);
+        }
+
+        if (this.decoderPosition < target) {
+            final byte[] buffer = BufferPool.SHARED.acquire(SKIP_BUFFER_SIZE);
+            try {
+                while (this.decoderPosition < target) {
+                    final int n = this.decoder.read(buffer, 0, (int) Math.min(buffer.length, target - this.decoderPosition));
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of the GZIP file");
+                    }
+                    this.decoderPosition += n;
+                }
+            } finally {
+                BufferPool.SHARED.release(buffer);
+            }
+        }
+    }
+}
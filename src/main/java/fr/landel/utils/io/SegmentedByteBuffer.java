@@ -0,0 +1,462 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Byte buffer made of fixed size segments (rope style): growing only appends a
+ * new segment, the bytes already written are never copied. Past the spill
+ * threshold, the content is moved into a temporary file and the next bytes are
+ * appended to it (only the last segment is kept in memory as write buffer).
+ * 
+ * <p>
+ * The content can be read back with any number of streaming readers (see
+ * {@link #getInputStream()} or {@link #getReader(Charset)} to decode it on the
+ * fly, without loading a spilled content in the heap), each reader sees the
+ * bytes written until its read. This class is not thread-safe. The temporary file is deleted on
+ * {@link #close()}.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SegmentedByteBuffer implements Closeable {
+
+    /**
+     * Default segment size (64 KiB)
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+
+    /**
+     * Default spill threshold (64 MiB)
+     */
+    public static final long DEFAULT_SPILL_THRESHOLD = 64L * 1024 * 1024;
+
+    private static final String TEMP_PREFIX = "segmented";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final long spillThreshold;
+    private final int segmentSize;
+
+    private final List<byte[]> segments = new ArrayList<>();
+
+    // number of bytes used in the last segment
+    private int tailCount;
+    private long size;
+
+    // number of bytes stored in the temporary file
+    private long spilledSize;
+    private Path spillFile;
+    private FileChannel spillChannel;
+
+    private boolean closed;
+
+    /**
+     * Constructor (spill threshold: {@link #DEFAULT_SPILL_THRESHOLD}, segment
+     * size: {@link #DEFAULT_SEGMENT_SIZE})
+     */
+    public SegmentedByteBuffer() {
+        this(DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * Constructor (segment size: {@link #DEFAULT_SEGMENT_SIZE})
+     * 
+     * @param spillThreshold
+     *            the maximum number of bytes kept in memory, above the content
+     *            is moved into a temporary file ({@link Long#MAX_VALUE} to
+     *            never spill)
+     */
+    public SegmentedByteBuffer(final long spillThreshold) {
+        this(spillThreshold, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param spillThreshold
+     *            the maximum number of bytes kept in memory, above the content
+     *            is moved into a temporary file ({@link Long#MAX_VALUE} to
+     *            never spill)
+     * @param segmentSize
+     *            the size of each segment
+     * @throws IllegalArgumentException
+     *             if the threshold is negative or if the segment size is not
+     *             greater than 0
+     */
+    public SegmentedByteBuffer(final long spillThreshold, final int segmentSize) {
+        Assertor.that(spillThreshold).isGTE(0L).orElseThrow("The spill threshold cannot be negative");
+        Assertor.that(segmentSize).isGT(0).orElseThrow("The segment size must be greater than 0");
+
+        this.spillThreshold = spillThreshold;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * @return true, if the content has been moved into a temporary file
+     */
+    public boolean isSpilled() {
+        return this.spillChannel != null;
+    }
+
+    /**
+     * Append a byte.
+     * 
+     * @param b
+     *            the byte
+     * @throws IOException
+     *             if the buffer is closed or on spill error
+     */
+    public void write(final int b) throws IOException {
+        this.ensureOpen();
+
+        if (this.segments.isEmpty() || this.tailCount == this.segmentSize) {
+            this.nextSegment();
+        }
+
+        this.segments.get(this.segments.size() - 1)[this.tailCount++] = (byte) b;
+        this.size++;
+    }
+
+    /**
+     * Append bytes.
+     * 
+     * @param bytes
+     *            the bytes
+     * @param offset
+     *            the start offset in the array
+     * @param length
+     *            the number of bytes to write
+     * @throws IOException
+     *             if the buffer is closed or on spill error
+     * @throws IndexOutOfBoundsException
+     *             if offset or length are out of the array
+     */
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.ensureOpen();
+
+        int off = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            if (this.segments.isEmpty() || this.tailCount == this.segmentSize) {
+                this.nextSegment();
+            }
+
+            final int count = Math.min(remaining, this.segmentSize - this.tailCount);
+            System.arraycopy(bytes, off, this.segments.get(this.segments.size() - 1), this.tailCount, count);
+
+            this.tailCount += count;
+            this.size += count;
+            off += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Append the whole content of the input stream, the bytes are read
+     * directly into the segments (the stream is not closed).
+     * 
+     * @param inputStream
+     *            the input stream
+     * @return the number of bytes read
+     * @throws IOException
+     *             if the buffer is closed or on read or spill error
+     */
+    public long readFrom(final InputStream inputStream) throws IOException {
+        this.ensureOpen();
+
+        long total = 0;
+        int read;
+        do {
+            if (this.segments.isEmpty() || this.tailCount == this.segmentSize) {
+                this.nextSegment();
+            }
+
+            read = inputStream.read(this.segments.get(this.segments.size() - 1), this.tailCount, this.segmentSize - this.tailCount);
+            if (read > 0) {
+                this.tailCount += read;
+                this.size += read;
+                total += read;
+            }
+        } while (read >= 0);
+
+        return total;
+    }
+
+    /**
+     * Write the whole content into the output stream (the stream is neither
+     * flushed nor closed).
+     * 
+     * @param outputStream
+     *            the output stream
+     * @throws IOException
+     *             if the buffer is closed or on write error
+     */
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        this.ensureOpen();
+
+        if (this.spilledSize > 0) {
+            final WritableByteChannel channel = Channels.newChannel(outputStream);
+            for (long position = 0; position < this.spilledSize;) {
+                position += this.spillChannel.transferTo(position, this.spilledSize - position, channel);
+            }
+        }
+
+        final int last = this.segments.size() - 1;
+        for (int i = 0; i <= last; ++i) {
+            outputStream.write(this.segments.get(i), 0, i == last ? this.tailCount : this.segmentSize);
+        }
+    }
+
+    /**
+     * Create a new reader over the content, the reader doesn't need to be
+     * closed (closing it has no effect on the buffer).
+     * 
+     * @return the input stream
+     * @throws IOException
+     *             if the buffer is closed
+     */
+    public InputStream getInputStream() throws IOException {
+        this.ensureOpen();
+
+        return new SegmentedInputStream();
+    }
+
+    /**
+     * Create a new reader which decodes the content on the fly (the malformed
+     * input is replaced), the reader doesn't need to be closed.
+     * 
+     * @param charset
+     *            the charset of the content
+     * @return the reader
+     * @throws IOException
+     *             if the buffer is closed
+     */
+    public Reader getReader(final Charset charset) throws IOException {
+        Assertor.that(charset).isNotNull().orElseThrow("The 'charset' parameter cannot be null");
+
+        return new InputStreamReader(this.getInputStream(), charset);
+    }
+
+    /**
+     * Get an output stream which appends to this buffer (closing it has no
+     * effect on the buffer).
+     * 
+     * @return the output stream
+     * @throws IOException
+     *             if the buffer is closed
+     */
+    public OutputStream getOutputStream() throws IOException {
+        this.ensureOpen();
+
+        return new OutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+                SegmentedByteBuffer.this.write(b);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                SegmentedByteBuffer.this.write(bytes, offset, length);
+            }
+        };
+    }
+
+    /**
+     * Release the segments and delete the temporary file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.segments.clear();
+
+            if (this.spillChannel != null) {
+                try {
+                    this.spillChannel.close();
+                } finally {
+                    Files.deleteIfExists(this.spillFile);
+                }
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("The buffer is closed");
+        }
+    }
+
+    private void nextSegment() throws IOException {
+        if (this.segments.isEmpty()) {
+            this.segments.add(new byte[this.segmentSize]);
+            this.tailCount = 0;
+
+        } else if (this.spillChannel != null) {
+            // the last segment is used as write buffer of the temporary file
+            this.flushTail();
+
+        } else if (this.size + this.segmentSize > this.spillThreshold) {
+            this.spill();
+
+        } else {
+            this.segments.add(new byte[this.segmentSize]);
+            this.tailCount = 0;
+        }
+    }
+
+    private void spill() throws IOException {
+        this.spillFile = Files.createTempFile(TEMP_PREFIX, TEMP_SUFFIX);
+        try {
+            this.spillChannel = FileChannel.open(this.spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            Files.deleteIfExists(this.spillFile);
+            throw e;
+        }
+
+        // all segments are full, only the first one is kept
+        final int count = this.segments.size();
+        for (int i = 0; i < count; ++i) {
+            this.writeFully(this.segments.get(i), this.segmentSize);
+        }
+
+        final byte[] tail = this.segments.get(0);
+        this.segments.clear();
+        this.segments.add(tail);
+        this.tailCount = 0;
+    }
+
+    private void flushTail() throws IOException {
+        this.writeFully(this.segments.get(0), this.tailCount);
+        this.tailCount = 0;
+    }
+
+    private void writeFully(final byte[] bytes, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            this.spilledSize += this.spillChannel.write(buffer, this.spilledSize);
+        }
+    }
+
+    /**
+     * Reader over the buffer, positional reads in the temporary file, direct
+     * copies from the segments.
+     */
+    private class SegmentedInputStream extends InputStream {
+
+        private long position;
+        private long mark;
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return this.read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (offset < 0 || length < 0 || length > bytes.length - offset) {
+                throw new IndexOutOfBoundsException();
+            }
+            SegmentedByteBuffer.this.ensureOpen();
+
+            if (length == 0) {
+                return 0;
+            } else if (this.position >= SegmentedByteBuffer.this.size) {
+                return -1;
+            }
+
+            final int read;
+            if (this.position < SegmentedByteBuffer.this.spilledSize) {
+                final int count = (int) Math.min(length, SegmentedByteBuffer.this.spilledSize - this.position);
+                read = SegmentedByteBuffer.this.spillChannel.read(ByteBuffer.wrap(bytes, offset, count), this.position);
+            } else {
+                final long relative = this.position - SegmentedByteBuffer.this.spilledSize;
+                final int index = (int) (relative / SegmentedByteBuffer.this.segmentSize);
+                final int start = (int) (relative % SegmentedByteBuffer.this.segmentSize);
+                final int end = index == SegmentedByteBuffer.this.segments.size() - 1 ? SegmentedByteBuffer.this.tailCount
+                        : SegmentedByteBuffer.this.segmentSize;
+
+                read = Math.min(length, end - start);
+                System.arraycopy(SegmentedByteBuffer.this.segments.get(index), start, bytes, offset, read);
+            }
+
+            this.position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final long skipped = Math.max(0, Math.min(n, SegmentedByteBuffer.this.size - this.position));
+            this.position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, SegmentedByteBuffer.this.size - this.position));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(final int readlimit) {
+            this.mark = this.position;
+        }
+
+        @Override
+        public void reset() {
+            this.position = this.mark;
+        }
+    }
+}
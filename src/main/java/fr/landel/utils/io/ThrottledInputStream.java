@@ -0,0 +1,90 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Input stream whose reads are throttled by a {@link RateLimiter}: each read
+ * is limited to a chunk of the limiter and the read bytes are paid before
+ * being returned. The limiter may be shared with other streams and threads
+ * to keep a whole job under one budget.
+ *
+ * <p>
+ * The skipped bytes are not throttled (nothing is transferred).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ThrottledInputStream extends FilterInputStream {
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final RateLimiter limiter;
+
+    /**
+     * Constructor
+     *
+     * @param in
+     *            the input stream
+     * @param limiter
+     *            the rate limiter
+     * @throws IllegalArgumentException
+     *             if {@code in} or {@code limiter} is {@code null}
+     */
+    public ThrottledInputStream(final InputStream in, final RateLimiter limiter) {
+        super(in);
+
+        Assertor.that(in).isNotNull().and(limiter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        this.limiter = limiter;
+    }
+
+    /**
+     * @return the rate limiter
+     */
+    public RateLimiter getRateLimiter() {
+        return this.limiter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = this.in.read();
+        if (b >= 0) {
+            this.limiter.acquire(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final int n = this.in.read(b, off, Math.min(len, this.limiter.getChunkSize()));
+        if (n > 0) {
+            this.limiter.acquire(n);
+        }
+        return n;
+    }
+}
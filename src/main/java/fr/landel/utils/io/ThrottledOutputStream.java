@@ -0,0 +1,89 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Output stream whose writes are throttled by a {@link RateLimiter}: the
+ * written bytes are split into chunks of the limiter and each chunk is paid
+ * before being written. The limiter may be shared with other streams and
+ * threads to keep a whole job under one budget.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ThrottledOutputStream extends FilterOutputStream {
+
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    private final RateLimiter limiter;
+
+    /**
+     * Constructor
+     *
+     * @param out
+     *            the output stream
+     * @param limiter
+     *            the rate limiter
+     * @throws IllegalArgumentException
+     *             if {@code out} or {@code limiter} is {@code null}
+     */
+    public ThrottledOutputStream(final OutputStream out, final RateLimiter limiter) {
+        super(out);
+
+        Assertor.that(out).isNotNull().and(limiter).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+
+        this.limiter = limiter;
+    }
+
+    /**
+     * @return the rate limiter
+     */
+    public RateLimiter getRateLimiter() {
+        return this.limiter;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.limiter.acquire(1);
+        this.out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        final int chunkSize = this.limiter.getChunkSize();
+        int written = 0;
+        while (written < len) {
+            final int n = Math.min(chunkSize, len - written);
+            this.limiter.acquire(n);
+            this.out.write(b, off + written, n);
+            written += n;
+        }
+    }
+}
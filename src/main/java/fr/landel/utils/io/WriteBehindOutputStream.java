@@ -0,0 +1,429 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import fr.landel.utils.assertor.Assertor;
+
+/**
+ * Output stream which writes behind the caller: the bytes are copied into a
+ * block, the full blocks are queued and written to the wrapped stream by a
+ * background task. The caller fills a block while the task drains the
+ * previous one (two blocks by default), it only waits when all the blocks are
+ * queued (back pressure).
+ * 
+ * <p>
+ * An error of the wrapped stream is thrown by the next write, flush or close.
+ * {@link #flush()} waits until the queued blocks are written and the wrapped
+ * stream is flushed, {@link #close()} also closes the wrapped stream. The
+ * stream is not thread-safe (one writer, one background task).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class WriteBehindOutputStream extends OutputStream {
+
+    /**
+     * Default size of a block (256 KiB)
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    /**
+     * Default number of blocks (one filled by the caller, one written by the
+     * background task)
+     */
+    public static final int DEFAULT_BLOCKS = 2;
+
+    private static final String ERROR_CLOSED = "The stream is closed";
+    private static final String ERROR_PARAM_NULL = "At least one parameter is null";
+
+    /**
+     * Delay between two checks of the background task while waiting (in
+     * milliseconds)
+     */
+    private static final long WAIT_MILLIS = 100;
+
+    private final OutputStream out;
+
+    /**
+     * The buffers available for the caller
+     */
+    private final BlockingQueue<byte[]> free;
+
+    /**
+     * The blocks to write, in writing order
+     */
+    private final BlockingQueue<Block> filled;
+
+    /**
+     * Count down when the background task ends
+     */
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private byte[] buffer;
+    private int count;
+
+    private volatile Throwable error;
+    private boolean closed;
+
+    /**
+     * Constructor ({@link #DEFAULT_BLOCKS} blocks of
+     * {@link #DEFAULT_BLOCK_SIZE} bytes, written by a shared pool of daemon
+     * threads)
+     * 
+     * @param out
+     *            the output stream to write behind
+     * @throws IOException
+     *             if the background task cannot be started
+     */
+    public WriteBehindOutputStream(final OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, DEFAULT_BLOCKS);
+    }
+
+    /**
+     * Constructor (blocks written by a shared pool of daemon threads)
+     * 
+     * @param out
+     *            the output stream to write behind
+     * @param blockSize
+     *            the size of a block
+     * @param blocks
+     *            the number of blocks (at least 2 to write behind, 1 only
+     *            moves the writes to the background task)
+     * @throws IOException
+     *             if the background task cannot be started
+     * @throws IllegalArgumentException
+     *             if the block size or the number of blocks is not greater
+     *             than 0
+     */
+    public WriteBehindOutputStream(final OutputStream out, final int blockSize, final int blocks) throws IOException {
+        this(out, blockSize, blocks, DaemonExecutor.INSTANCE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param out
+     *            the output stream to write behind
+     * @param blockSize
+     *            the size of a block
+     * @param blocks
+     *            the number of blocks (at least 2 to write behind, 1 only
+     *            moves the writes to the background task)
+     * @param executor
+     *            the executor of the background task (the task holds a thread
+     *            until the stream is closed)
+     * @throws IOException
+     *             if the background task cannot be started (the wrapped
+     *             stream is closed)
+     * @throws IllegalArgumentException
+     *             if a parameter is null, or if the block size or the number
+     *             of blocks is not greater than 0
+     */
+    public WriteBehindOutputStream(final OutputStream out, final int blockSize, final int blocks, final Executor executor)
+            throws IOException {
+        Assertor.that(out).isNotNull().and(executor).isNotNull().orElseThrow(ERROR_PARAM_NULL);
+        Assertor.that(blockSize).isGT(0).orElseThrow("The block size must be greater than 0");
+        Assertor.that(blocks).isGT(0).orElseThrow("The number of blocks must be greater than 0");
+
+        this.out = out;
+
+        // the markers (flush and end) also take a place in the queue
+        this.free = new ArrayBlockingQueue<>(blocks);
+        this.filled = new ArrayBlockingQueue<>(blocks + 1);
+        for (int i = 1; i < blocks; i++) {
+            this.free.add(new byte[blockSize]);
+        }
+        this.buffer = new byte[blockSize];
+
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            this.closed = true;
+            out.close();
+            throw new IOException("The write-behind task was rejected", e);
+        }
+    }
+
+    /**
+     * The background task: write the queued blocks until the end marker.
+     * After an error, the blocks are only released (the caller gets the error
+     * on its next call). If the task ends before the end marker (interrupted
+     * by the executor), the queued blocks are released and the caller gets an
+     * error.
+     */
+    private void drain() {
+        boolean ended = false;
+        try {
+            Block block;
+            while ((block = this.filled.take()) != Block.END) {
+                this.release(block, true);
+            }
+            ended = true;
+        } catch (InterruptedException e) {
+            this.error = new InterruptedIOException("The write-behind task was interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!ended) {
+                if (this.error == null) {
+                    this.error = new IOException("The write-behind task ended before the stream was closed");
+                }
+                Block block;
+                while ((block = this.filled.poll()) != null) {
+                    this.release(block, false);
+                }
+            }
+            this.done.countDown();
+        }
+    }
+
+    /**
+     * Write the block (if requested and without previous error) and release
+     * it
+     * 
+     * @param block
+     *            the queued block (or flush marker)
+     * @param write
+     *            if the block has to be written
+     */
+    private void release(final Block block, final boolean write) {
+        try {
+            if (!write || this.error != null) {
+                return;
+            } else if (block.flushed != null) {
+                this.out.flush();
+            } else {
+                this.out.write(block.buffer, 0, block.length);
+            }
+        } catch (Throwable e) {
+            this.error = e;
+        } finally {
+            if (block.flushed != null) {
+                block.flushed.countDown();
+            } else if (block.buffer != null) {
+                this.free.offer(block.buffer);
+            }
+        }
+    }
+
+    /**
+     * Throw the error of the background task if any
+     * 
+     * @throws IOException
+     *             the error of the wrapped stream
+     */
+    private void checkError() throws IOException {
+        final Throwable e = this.error;
+        if (e != null) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Throw the error of the background task if the task ended (nobody will
+     * release the blocks anymore)
+     * 
+     * @throws IOException
+     *             the error of the background task
+     */
+    private void checkDone() throws IOException {
+        if (this.done.getCount() == 0) {
+            this.checkError();
+            throw new IOException("The write-behind task has ended");
+        }
+    }
+
+    /**
+     * Check that the stream is open and that the background task didn't fail
+     * 
+     * @throws IOException
+     *             if the stream is closed or on error of the wrapped stream
+     */
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException(ERROR_CLOSED);
+        }
+        this.checkError();
+    }
+
+    /**
+     * Queue the current block and take a free one (wait if all the blocks
+     * are queued)
+     * 
+     * @throws IOException
+     *             if interrupted while waiting or if the background task ended
+     */
+    private void dispatch() throws IOException {
+        if (this.count > 0) {
+            this.put(new Block(this.buffer, this.count, null));
+            this.buffer = null;
+            this.count = 0;
+            try {
+                while ((this.buffer = this.free.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                    this.checkDone();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a free block");
+            }
+        }
+    }
+
+    /**
+     * Queue the block (wait if the queue is full)
+     * 
+     * @param block
+     *            the block or marker
+     * @throws IOException
+     *             if interrupted while waiting or if the background task ended
+     */
+    private void put(final Block block) throws IOException {
+        try {
+            while (!this.filled.offer(block, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                this.checkDone();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queuing a block");
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.ensureOpen();
+
+        if (this.count == this.buffer.length) {
+            this.dispatch();
+        }
+        this.buffer[this.count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        this.ensureOpen();
+
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (this.count == this.buffer.length) {
+                this.dispatch();
+            }
+            final int length = Math.min(remaining, this.buffer.length - this.count);
+            System.arraycopy(b, offset, this.buffer, this.count, length);
+            this.count += length;
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Queue the current block and wait until all the blocks are written and
+     * the wrapped stream is flushed.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+
+        this.dispatch();
+
+        final CountDownLatch flushed = new CountDownLatch(1);
+        this.put(new Block(null, 0, flushed));
+        try {
+            while (!flushed.await(WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                this.checkDone();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing");
+        }
+
+        this.checkError();
+    }
+
+    /**
+     * Write the queued blocks, stop the background task and close the wrapped
+     * stream.
+     * 
+     * @throws IOException
+     *             on error of the wrapped stream (even if already thrown by a
+     *             previous write)
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        try {
+            if (this.count > 0) {
+                this.put(new Block(this.buffer, this.count, null));
+                this.count = 0;
+            }
+            this.put(Block.END);
+            this.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing");
+        } finally {
+            this.buffer = null;
+            try {
+                this.out.close();
+            } catch (IOException e) {
+                if (this.error == null) {
+                    this.error = e;
+                }
+            }
+        }
+
+        this.checkError();
+    }
+
+    /**
+     * A block to write (or a flush marker, or the end marker)
+     */
+    private static final class Block {
+
+        private static final Block END = new Block(null, 0, null);
+
+        private final byte[] buffer;
+        private final int length;
+        private final CountDownLatch flushed;
+
+        private Block(final byte[] buffer, final int length, final CountDownLatch flushed) {
+            this.buffer = buffer;
+            this.length = length;
+            this.flushed = flushed;
+        }
+    }
+}
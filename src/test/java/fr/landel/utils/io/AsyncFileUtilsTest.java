@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link AsyncFileUtils}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class AsyncFileUtilsTest extends AbstractTest {
+
+    private static final File SOURCE = new File("target/async-source.bin");
+    private static final File TARGET = new File("target/async-target.bin");
+
+    /**
+     * Remove the test files
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @AfterEach
+    public void dispose() throws IOException {
+        Files.deleteIfExists(SOURCE.toPath());
+        Files.deleteIfExists(TARGET.toPath());
+    }
+
+    /**
+     * Test constructor for {@link AsyncFileUtils} .
+     */
+    @Test
+    public void testConstructors() {
+        assertTrue(checkPrivateConstructor(AsyncFileUtils.class));
+    }
+
+    /**
+     * Test method for {@link AsyncFileUtils#writeAsync(File, byte[])},
+     * {@link AsyncFileUtils#readAsync(File)} and
+     * {@link AsyncFileUtils#copyAsync(File, File)}.
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     * @throws ExecutionException
+     *             on error
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testReadWriteCopy() throws InterruptedException, ExecutionException, IOException {
+        FileSystemUtils.createDirectory("target");
+
+        for (int length : new int[] {0, 1, 4_096, 1_000_000}) {
+            final byte[] bytes = new byte[length];
+            new Random(length).nextBytes(bytes);
+
+            assertEquals(length, AsyncFileUtils.writeAsync(SOURCE, bytes).get().longValue());
+            assertArrayEquals(bytes, Files.readAllBytes(SOURCE.toPath()));
+            assertArrayEquals(bytes, AsyncFileUtils.readAsync(SOURCE).get());
+
+            assertEquals(length, AsyncFileUtils.copyAsync(SOURCE, TARGET).get().longValue());
+            assertArrayEquals(bytes, Files.readAllBytes(TARGET.toPath()));
+        }
+    }
+
+    /**
+     * Test method for {@link AsyncFileUtils#readAsync(File)} and
+     * {@link AsyncFileUtils#copyAsync(File, File)} (inside a scope closed
+     * before the end of the operation).
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     * @throws ExecutionException
+     *             on error
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testInScope() throws InterruptedException, ExecutionException, IOException {
+        FileSystemUtils.createDirectory("target");
+
+        // copied through many buffers
+        final byte[] bytes = new byte[32_000_000];
+        new Random(bytes.length).nextBytes(bytes);
+        Files.write(SOURCE.toPath(), bytes);
+
+        final CompletableFuture<byte[]> read;
+        final CompletableFuture<Long> copy;
+        try (CloseableManager.Scope scope = CloseableManager.openScope()) {
+            read = AsyncFileUtils.readAsync(SOURCE);
+            copy = AsyncFileUtils.copyAsync(SOURCE, TARGET);
+        }
+
+        // the channels aren't closed with the scope
+        assertArrayEquals(bytes, read.get());
+        assertEquals(bytes.length, copy.get().longValue());
+        assertArrayEquals(bytes, Files.readAllBytes(TARGET.toPath()));
+    }
+
+    /**
+     * Test method for {@link AsyncFileUtils#writeAsync(File, CharSequence)}
+     * and {@link AsyncFileUtils#readAsync(File, java.nio.charset.Charset)}.
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     * @throws ExecutionException
+     *             on error
+     */
+    @Test
+    public void testText() throws InterruptedException, ExecutionException {
+        FileSystemUtils.createDirectory("target");
+
+        final String text = "text \u00e9\u20ac";
+        assertEquals(10, AsyncFileUtils.writeAsync(SOURCE, text).get().longValue());
+        assertEquals(text, AsyncFileUtils.readAsync(SOURCE, StandardCharsets.UTF_8).get().toString());
+
+        assertEquals(7, AsyncFileUtils.writeAsync(SOURCE, text, StandardCharsets.ISO_8859_1).get().longValue());
+        assertEquals("text \u00e9?", AsyncFileUtils.readAsync(SOURCE, StandardCharsets.ISO_8859_1).get().toString());
+    }
+
+    /**
+     * Check the errors
+     */
+    @Test
+    public void testErrors() {
+        final File unknown = new File("target/unknown.bin");
+
+        assertException(() -> AsyncFileUtils.readAsync(unknown).get(), ExecutionException.class);
+        assertTrue(AsyncFileUtils.readAsync(unknown).handle((r, e) -> e instanceof NoSuchFileException).join());
+        assertTrue(AsyncFileUtils.copyAsync(unknown, TARGET).handle((r, e) -> e instanceof NoSuchFileException).join());
+
+        assertException(() -> AsyncFileUtils.readAsync(null), IllegalArgumentException.class);
+        assertException(() -> AsyncFileUtils.readAsync(SOURCE, null), IllegalArgumentException.class);
+        assertException(() -> AsyncFileUtils.writeAsync(SOURCE, (byte[]) null), IllegalArgumentException.class);
+        assertException(() -> AsyncFileUtils.writeAsync(SOURCE, (CharSequence) null), IllegalArgumentException.class);
+        assertException(() -> AsyncFileUtils.copyAsync(SOURCE, null), IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link BufferPool}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class BufferPoolTest extends AbstractTest {
+
+    /**
+     * Test method for {@link BufferPool#acquire(int)}.
+     */
+    @Test
+    public void testAcquire() {
+        final BufferPool pool = new BufferPool(1);
+
+        // rounded to the size classes
+        assertEquals(BufferPool.MIN_SIZE, pool.acquire(0).length);
+        assertEquals(BufferPool.MIN_SIZE, pool.acquire(BufferPool.MIN_SIZE).length);
+        assertEquals(16_384, pool.acquire(10_240).length);
+        assertEquals(BufferPool.MAX_SIZE, pool.acquire(BufferPool.MAX_SIZE - 1).length);
+        // not pooled
+        assertEquals(BufferPool.MAX_SIZE + 1, pool.acquire(BufferPool.MAX_SIZE + 1).length);
+        assertEquals(5, pool.getMisses());
+        assertEquals(0, pool.getHits());
+
+        // thread local then shared
+        final byte[] array1 = pool.acquire(2_000);
+        final byte[] array2 = pool.acquire(2_000);
+        final byte[] array3 = pool.acquire(2_000);
+        assertNotSame(array1, array2);
+        pool.release(array1);
+        pool.release(array2);
+        // the shared queue is full
+        pool.release(array3);
+
+        assertSame(array1, pool.acquire(2_048));
+        assertSame(array2, pool.acquire(1_025));
+        assertEquals(2, pool.getHits());
+        assertNotSame(array3, pool.acquire(2_048));
+        assertEquals(9, pool.getMisses());
+
+        // ignored
+        pool.release((byte[]) null);
+        pool.release(new byte[3_000]);
+        pool.release(new byte[BufferPool.MAX_SIZE + 1]);
+
+        pool.resetStatistics();
+        assertEquals(0, pool.getHits());
+        assertEquals(0, pool.getMisses());
+
+        assertException(() -> pool.acquire(-1), IllegalArgumentException.class, "The size cannot be negative");
+        assertException(() -> new BufferPool(-1), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test method for {@link BufferPool#acquireBuffer(int)}.
+     */
+    @Test
+    public void testAcquireBuffer() {
+        final BufferPool pool = new BufferPool(BufferPool.DEFAULT_MAX_SHARED);
+
+        final ByteBuffer buffer = pool.acquireBuffer(100);
+        assertEquals(BufferPool.MIN_SIZE, buffer.capacity());
+        assertEquals(0, buffer.position());
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        final ByteBuffer buffer2 = pool.acquireBuffer(100);
+        assertSame(buffer.array(), buffer2.array());
+        assertEquals(0, buffer2.position());
+        pool.release(buffer2);
+
+        // the array is shared with the other threads
+        final byte[] array = pool.acquire(100);
+        final byte[] local = pool.acquire(100);
+        pool.release(local);
+        pool.release(array);
+        assertSame(array, CompletableFuture.supplyAsync(() -> pool.acquire(100)).join());
+
+        pool.release(ByteBuffer.allocateDirect(BufferPool.MIN_SIZE));
+        pool.release(ByteBuffer.allocate(BufferPool.MIN_SIZE).asReadOnlyBuffer());
+        pool.release((ByteBuffer) null);
+    }
+
+    /**
+     * Test method for {@link BufferPool#release(byte[])} (from a virtual
+     * thread, Java 21+).
+     *
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testReleaseFromVirtualThread() throws Exception {
+        if (!ParallelOptions.isVirtualThreadSupported()) {
+            return;
+        }
+
+        final BufferPool pool = new BufferPool(1);
+        final Executor executor = ParallelOptions.DEFAULT.withVirtualThreads().getExecutor();
+
+        // released into the shared queue, not into the cache of a dying thread
+        final byte[] array = CompletableFuture.supplyAsync(() -> {
+            final byte[] acquired = pool.acquire(BufferPool.MIN_SIZE);
+            pool.release(acquired);
+            return acquired;
+        }, executor).get();
+        assertEquals(0, pool.getHits());
+
+        assertSame(array, pool.acquire(BufferPool.MIN_SIZE));
+        assertEquals(1, pool.getHits());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import fr.landel.utils.io.BufferSizing.Operation;
+import fr.landel.utils.io.BufferSizing.Profile;
+
+/**
+ * Check {@link BufferSizing}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class BufferSizingTest extends AbstractTest {
+
+    private static final File FILE = new File("target/buffer-sizing.bin");
+
+    /**
+     * Restore the profiles and remove the test file
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @AfterEach
+    public void dispose() throws IOException {
+        BufferSizing.resetProfiles();
+        Files.deleteIfExists(FILE.toPath());
+    }
+
+    /**
+     * Test constructor for {@link BufferSizing} .
+     */
+    @Test
+    public void testConstructors() {
+        assertTrue(checkPrivateConstructor(BufferSizing.class));
+    }
+
+    /**
+     * Test method for {@link BufferSizing#getBufferSize(long, Profile, int)}.
+     */
+    @Test
+    public void testGetBufferSize() {
+        final Profile profile = new Profile(1_024, 8_192, 65_536);
+
+        // at least one block
+        assertEquals(4_096, BufferSizing.getBufferSize(1, profile, 4_096));
+        assertEquals(1_024, BufferSizing.getBufferSize(1, profile, 512));
+        // next power of two
+        assertEquals(16_384, BufferSizing.getBufferSize(10_240, profile, 4_096));
+        assertEquals(16_384, BufferSizing.getBufferSize(16_384, profile, 4_096));
+        // bounded
+        assertEquals(65_536, BufferSizing.getBufferSize(1L << 40, profile, 4_096));
+        // aligned on a block size which isn't a power of two
+        assertEquals(18_000, BufferSizing.getBufferSize(10_240, profile, 6_000));
+    }
+
+    /**
+     * Test method for {@link BufferSizing#getBufferSize(File, Operation)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testGetBufferSizeFile() throws IOException {
+        final int blockSize = BufferSizing.getBlockSize(FILE);
+        assertTrue(blockSize > 0);
+
+        // unknown length
+        assertEquals(Math.max(blockSize, 8_192), BufferSizing.getBufferSize(FILE, Operation.READ));
+        assertEquals(8_192, BufferSizing.getBufferSize(Operation.READ));
+
+        Files.write(FILE.toPath(), new byte[10]);
+        assertEquals(Math.max(blockSize, 4_096), BufferSizing.getBufferSize(FILE, Operation.READ));
+
+        Files.write(FILE.toPath(), new byte[300_000]);
+        assertEquals(Math.max(blockSize, 262_144), BufferSizing.getBufferSize(FILE, Operation.READ));
+        assertEquals(Math.max(blockSize, 524_288), BufferSizing.getBufferSize(FILE, Operation.CHECKSUM));
+        // the length isn't used to write
+        assertEquals(Math.max(blockSize, 8_192), BufferSizing.getBufferSize(FILE, Operation.WRITE));
+
+        final Profile profile = new Profile(1, 2, 3);
+        BufferSizing.setProfile(Operation.READ, profile);
+        assertSame(profile, BufferSizing.getProfile(Operation.READ));
+        assertEquals(2, BufferSizing.getBufferSize(Operation.READ));
+        assertEquals(blockSize, BufferSizing.getBufferSize(FILE, Operation.READ));
+
+        BufferSizing.setProfile(Operation.READ, null);
+        assertSame(Operation.READ.getDefaultProfile(), BufferSizing.getProfile(Operation.READ));
+
+        assertException(() -> new Profile(0, 1, 1), IllegalArgumentException.class, "The minimum size must be greater than 0");
+        assertException(() -> new Profile(2, 1, 3), IllegalArgumentException.class, "The sizes must be ordered: min <= preferred <= max");
+        assertException(() -> new Profile(1, 3, 2), IllegalArgumentException.class, "The sizes must be ordered: min <= preferred <= max");
+        assertException(() -> BufferSizing.getProfile(null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> BufferSizing.setProfile(null, null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> BufferSizing.getBufferSize(null, Operation.READ), IllegalArgumentException.class,
+                "At least one parameter is null");
+        assertException(() -> BufferSizing.getBufferSize(FILE, null), IllegalArgumentException.class, "At least one parameter is null");
+    }
+}
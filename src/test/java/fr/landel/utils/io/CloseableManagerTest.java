@@ -19,6 +19,7 @@
  */
 package fr.landel.utils.io;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -31,6 +32,11 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -301,4 +307,126 @@ public class CloseableManagerTest extends AbstractTest {
             assertNotNull(e);
         }
     }
+
+    /**
+     * Test that closeables of paths with the same hash code are separated.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testHashCodeCollision() throws IOException {
+        // "Aa" and "BB" have the same hash code, so have the absolute paths
+        final File file1 = new File("target/Aa");
+        final File file2 = new File("target/BB");
+        assertEquals(file1.getAbsolutePath().hashCode(), file2.getAbsolutePath().hashCode());
+
+        FileUtils.writeFileContent(new StringBuilder("1"), file1, EncodingUtils.CHARSET_UTF_8);
+        FileUtils.writeFileContent(new StringBuilder("2"), file2, EncodingUtils.CHARSET_UTF_8);
+
+        final FileInputStream fis1 = CloseableManager.addCloseable(file1, new FileInputStream(file1));
+        final FileInputStream fis2 = CloseableManager.addCloseable(file2, new FileInputStream(file2));
+
+        CloseableManager.close(file1);
+
+        assertFalse(CloseableManager.isCloseable(file1));
+        assertFalse(CloseableManager.isCloseable(fis1));
+        assertTrue(CloseableManager.isCloseable(file2));
+        assertTrue(CloseableManager.isCloseable(fis2));
+        assertEquals(1, fis2.available());
+
+        CloseableManager.close(file2);
+
+        assertFalse(CloseableManager.isCloseable(file2));
+    }
+
+    /**
+     * Test that closing a closeable closes all the closeables of its owner.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCloseCloseableOwner() throws IOException {
+        final File file = new File(CHECK_CRC32_FILE_INPUT);
+
+        final BufferedInputStream bis = IOStreamUtils.createBufferedInputStream(file);
+        assertTrue(CloseableManager.isCloseable(bis));
+
+        // registered to itself after the file
+        CloseableManager.addCloseable(bis);
+
+        CloseableManager.close(bis);
+
+        assertFalse(CloseableManager.isCloseable(file));
+        assertFalse(CloseableManager.isCloseable(bis));
+        assertException(() -> bis.available(), IOException.class);
+    }
+
+    /**
+     * Test method for {@link CloseableManager#openScope()}.
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testScope() throws Exception {
+        final File file = new File(CHECK_CRC32_FILE_INPUT);
+        final List<String> closed = new ArrayList<>();
+
+        final BufferedInputStream bis;
+        try (CloseableManager.Scope scope = CloseableManager.openScope()) {
+            bis = IOStreamUtils.createBufferedInputStream(file);
+            CloseableManager.addCloseable(CloseableManagerTest.class, () -> closed.add("first"));
+            CloseableManager.addCloseable(file, () -> closed.add("second"));
+
+            assertTrue(CloseableManager.isCloseable(file));
+            assertTrue(CloseableManager.isCloseable(bis));
+
+            // not visible from another thread (not in the process-wide
+            // registry)
+            assertFalse(CompletableFuture.supplyAsync(() -> CloseableManager.isCloseable(file)).get());
+
+            // only the opening thread can close the scope
+            assertException(() -> CompletableFuture.runAsync(scope::close).get(), ExecutionException.class);
+
+            try (CloseableManager.Scope nested = CloseableManager.openScope()) {
+                CloseableManager.addCloseable(CloseableManagerTest.class, () -> closed.add("nested"));
+                assertTrue(CloseableManager.isCloseable(file));
+            }
+            assertEquals(Arrays.asList("nested"), closed);
+        }
+
+        assertEquals(Arrays.asList("nested", "second", "first"), closed);
+        assertFalse(CloseableManager.isCloseable(file));
+        assertFalse(CloseableManager.isCloseable(CloseableManagerTest.class));
+        assertException(() -> bis.available(), IOException.class);
+    }
+
+    /**
+     * Test the closing of a scope which has nested scopes left open.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testScopeNestedLeftOpen() throws IOException {
+        final List<String> closed = new ArrayList<>();
+
+        final CloseableManager.Scope scope = CloseableManager.openScope();
+        CloseableManager.addCloseable(CloseableManagerTest.class, () -> closed.add("outer"));
+        CloseableManager.openScope();
+        CloseableManager.addCloseable(CloseableManagerTest.class, () -> closed.add("inner"));
+
+        scope.close();
+        scope.close(); // no effect
+
+        assertEquals(Arrays.asList("inner", "outer"), closed);
+        assertFalse(CloseableManager.isCloseable(CloseableManagerTest.class));
+
+        // registered in the process-wide registry again
+        final FileInputStream fis = CloseableManager.addCloseable(CloseableManagerTest.class, new FileInputStream(CHECK_CRC32_FILE_INPUT));
+        assertTrue(CompletableFuture.supplyAsync(() -> CloseableManager.isCloseable(fis)).join());
+        CloseableManager.close(CloseableManagerTest.class);
+    }
 }
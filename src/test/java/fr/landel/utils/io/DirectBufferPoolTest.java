@@ -0,0 +1,143 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link DirectBufferPool}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class DirectBufferPoolTest extends AbstractTest {
+
+    /**
+     * Test method for {@link DirectBufferPool#acquire(int)}.
+     */
+    @Test
+    public void testAcquire() {
+        final DirectBufferPool pool = new DirectBufferPool(3 * DirectBufferPool.PAGE_SIZE);
+
+        final ByteBuffer buffer;
+        try (DirectBufferPool.Lease lease = pool.acquire(100)) {
+            buffer = lease.buffer();
+            assertTrue(buffer.isDirect());
+            assertEquals(DirectBufferPool.PAGE_SIZE, buffer.capacity());
+            assertEquals(0, buffer.alignmentOffset(0, DirectBufferPool.PAGE_SIZE));
+            buffer.putInt(1);
+        }
+        assertEquals(1, pool.getMisses());
+        assertEquals(DirectBufferPool.PAGE_SIZE, pool.getAllocated());
+
+        // same memory, cleared
+        try (DirectBufferPool.Lease lease = pool.acquire(DirectBufferPool.PAGE_SIZE)) {
+            assertEquals(0, lease.buffer().position());
+            assertEquals(1, lease.buffer().getInt());
+        }
+        assertEquals(1, pool.getHits());
+
+        // rounded to 8 KiB, the capacity is reached on the third lease
+        try (DirectBufferPool.Lease lease1 = pool.acquire(DirectBufferPool.PAGE_SIZE + 1);
+                DirectBufferPool.Lease lease2 = pool.acquire(1);
+                DirectBufferPool.Lease lease3 = pool.acquire(1)) {
+            assertEquals(2 * DirectBufferPool.PAGE_SIZE, lease1.buffer().capacity());
+            assertTrue(lease2.buffer().isDirect());
+            assertFalse(lease3.buffer().isDirect());
+            lease3.close();
+        }
+        assertEquals(3 * DirectBufferPool.PAGE_SIZE, pool.getAllocated());
+        assertEquals(1, pool.getOverflows());
+
+        try (DirectBufferPool.Lease lease = pool.acquire(DirectBufferPool.MAX_SIZE + 1)) {
+            assertFalse(lease.buffer().isDirect());
+        }
+        assertEquals(2, pool.getOverflows());
+
+        pool.clear();
+        assertEquals(0, pool.getAllocated());
+        assertEquals(0, pool.getLeaks());
+
+        assertException(() -> pool.acquire(-1), IllegalArgumentException.class, "The size cannot be negative");
+        assertException(() -> new DirectBufferPool(-1), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test method for {@link DirectBufferPool#getLeaks()}.
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testLeaks() throws InterruptedException {
+        final DirectBufferPool pool = new DirectBufferPool(DirectBufferPool.PAGE_SIZE);
+
+        // never closed
+        pool.acquire(1);
+        assertFalse(pool.acquire(1).buffer().isDirect());
+
+        for (int i = 0; i < 100 && pool.getLeaks() == 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.getLeaks());
+
+        // the leaked block is dropped, a new one is allocated
+        assertEquals(0, pool.getAllocated());
+        try (DirectBufferPool.Lease lease = pool.acquire(1)) {
+            assertTrue(lease.buffer().isDirect());
+        }
+        assertEquals(2, pool.getMisses());
+        assertEquals(DirectBufferPool.PAGE_SIZE, pool.getAllocated());
+    }
+
+    /**
+     * Test method for {@link DirectBufferPool#getLeaks()} (only the buffer is
+     * kept).
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testLeaseCollectedBufferKept() throws InterruptedException {
+        final DirectBufferPool pool = new DirectBufferPool(DirectBufferPool.PAGE_SIZE);
+
+        // the lease is dropped, the buffer is still used
+        final ByteBuffer buffer = pool.acquire(1).buffer();
+        buffer.put(0, (byte) 1);
+
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, pool.getLeaks());
+
+        // the block isn't shared
+        assertFalse(pool.acquire(1).buffer().isDirect());
+        assertEquals(1, buffer.get(0));
+    }
+}
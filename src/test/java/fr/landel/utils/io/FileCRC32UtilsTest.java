@@ -27,8 +27,12 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -102,4 +106,112 @@ public class FileCRC32UtilsTest extends AbstractTest {
 			fail(e.getMessage());
 		}
 	}
+
+	/**
+	 * Test method for {@link FileCRC32Utils#getCRC32(File, ParallelOptions)}.
+	 * 
+	 * @throws IOException
+	 *             on error
+	 */
+	@Test
+	public void testGetCRC32Parallel() throws IOException {
+		final ParallelOptions options = ParallelOptions.DEFAULT.withMaxOpenFiles(4);
+
+		assertEquals(CHECK_CRC32_VALUE, FileCRC32Utils.getCRC32(CHECK_CRC32_FILE, options));
+		assertEquals(CHECK_CRC32_VALUE, FileCRC32Utils.getCRC32(CHECK_CRC32_PATH, XML_FILENAME_FILTER, options));
+		assertEquals(CHECK_CRC32_VALUE, FileCRC32Utils.getCRC32(CHECK_CRC32_PATH, XML_FILE_FILTER, options));
+		assertEquals(FileCRC32Utils.getCRC32(CHECK_CRC32_PATH), FileCRC32Utils.getCRC32(CHECK_CRC32_PATH, options));
+
+		final File dir = new File("target/crc32");
+		try {
+			final Random random = new Random(42);
+			for (int i = 0; i < 30; i++) {
+				final File sub = FileSystemUtils.createFile(dir, "dir" + (i % 3), "sub" + (i % 2));
+				assertTrue(FileSystemUtils.createDirectory(sub));
+				// some empty files
+				final byte[] data = new byte[i % 7 == 0 ? 0 : random.nextInt(100_000)];
+				random.nextBytes(data);
+				Files.write(new File(sub, "file" + i + (i % 2 == 0 ? ".xml" : ".txt")).toPath(), data);
+			}
+
+			final FileFilter xmlOrDirectory = (file) -> file.isDirectory() || XML_FILE_FILTER.accept(file);
+
+			assertEquals(FileCRC32Utils.getCRC32(dir), FileCRC32Utils.getCRC32(dir, options));
+			assertEquals(FileCRC32Utils.getCRC32(dir), FileCRC32Utils.getCRC32(dir, options.withLargestFirst(false)));
+			assertEquals(FileCRC32Utils.getCRC32(dir), FileCRC32Utils.getCRC32(dir, options.withMaxOpenFiles(1)));
+			assertEquals(FileCRC32Utils.getCRC32(dir, xmlOrDirectory), FileCRC32Utils.getCRC32(dir, xmlOrDirectory, options));
+			assertEquals(FileCRC32Utils.getCRC32(dir, XML_FILENAME_FILTER),
+					FileCRC32Utils.getCRC32(dir, XML_FILENAME_FILTER, options));
+		} finally {
+			FileSystemUtils.deleteDirectory(dir);
+		}
+
+		assertEquals(Long.valueOf(0L), FileCRC32Utils.getCRC32(new File("target/unknown"), options));
+		assertException(() -> FileCRC32Utils.getCRC32(CHECK_CRC32_PATH, (ParallelOptions) null), IllegalArgumentException.class,
+				"At least one parameter is null");
+	}
+
+	/**
+	 * Test method for {@link FileCRC32Utils#getCRC32(File, ParallelOptions)}
+	 * with a file split into ranges.
+	 * 
+	 * @throws IOException
+	 *             on error
+	 */
+	@Test
+	public void testGetCRC32Ranges() throws IOException {
+		final File file = new File("target/crc32-ranges.bin");
+		try {
+			final byte[] data = new byte[3_000_017];
+			new Random(42).nextBytes(data);
+			Files.write(file.toPath(), data);
+
+			final Long expected = FileCRC32Utils.getCRC32(file);
+			final ParallelOptions options = ParallelOptions.DEFAULT.withMaxOpenFiles(4);
+
+			// exact multiple, one byte left, odd size, smaller than a read buffer
+			for (long chunkSize : new long[] {3_000_017, 3_000_016, 1_000_003, 100_000, 1_000}) {
+				assertEquals(expected, FileCRC32Utils.getCRC32(file, options.withChunkSize(chunkSize)));
+			}
+			assertEquals(expected, FileCRC32Utils.getCRC32(file, options.withChunkSize(1_000_003).withMaxOpenFiles(1)));
+			assertEquals(expected, FileCRC32Utils.getCRC32(file, options.withChunkSize(1_000_003).withLargestFirst(false)));
+
+			// 3 MB at 20 MB/s minus the burst of 1 MB
+			final long start = System.nanoTime();
+			final ParallelOptions limited = options.withChunkSize(1_000_003).withRateLimiter(new RateLimiter(20_000_000, 1_000_000));
+			assertEquals(expected, FileCRC32Utils.getCRC32(file, limited));
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+
+			Files.write(file.toPath(), new byte[0]);
+			assertEquals(Long.valueOf(0L), FileCRC32Utils.getCRC32(file, options.withChunkSize(1)));
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * Test method for {@link FileCRC32Utils#combine(long, long, long)}.
+	 */
+	@Test
+	public void testCombine() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 100; i++) {
+			final byte[] data1 = new byte[random.nextInt(1_000)];
+			final byte[] data2 = new byte[random.nextInt(100_000)];
+			random.nextBytes(data1);
+			random.nextBytes(data2);
+
+			final CRC32 crc1 = new CRC32();
+			crc1.update(data1);
+			final CRC32 crc2 = new CRC32();
+			crc2.update(data2);
+			final CRC32 crc = new CRC32();
+			crc.update(data1);
+			crc.update(data2);
+
+			assertEquals(crc.getValue(), FileCRC32Utils.combine(crc1.getValue(), crc2.getValue(), data2.length));
+		}
+
+		assertEquals(123L, FileCRC32Utils.combine(123L, 0L, 0L));
+	}
 }
@@ -19,19 +19,27 @@
  */
 package fr.landel.utils.io;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -177,6 +185,134 @@ public class FileSystemUtilsTest extends AbstractTest {
         }, IllegalArgumentException.class);
     }
 
+    /**
+     * Check {@link FileSystemUtils#copyDirectory(File, File, ParallelOptions)}
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCopyDirectoryParallel() throws IOException {
+        final File src = new File(CHECK_CRC32_TARGET_PATH, "src");
+        final Random random = new Random(42);
+        for (int i = 0; i < 40; i++) {
+            final File dir = FileSystemUtils.createFile(src, "dir" + (i % 4), "sub" + (i % 3));
+            assertTrue(FileSystemUtils.createDirectory(dir));
+            final byte[] data = new byte[random.nextInt(200_000)];
+            random.nextBytes(data);
+            Files.write(new File(dir, "file" + i + (i % 2 == 0 ? ".xml" : ".txt")).toPath(), data);
+        }
+
+        final File sequential = new File(CHECK_CRC32_TARGET_PATH, "sequential");
+        FileSystemUtils.copyDirectory(src, sequential);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final File parallel = new File(CHECK_CRC32_TARGET_PATH, "parallel");
+            FileSystemUtils.copyDirectory(src, parallel, ParallelOptions.DEFAULT.withExecutor(executor).withMaxOpenFiles(4));
+            assertEquals(FileCRC32Utils.getCRC32(sequential), FileCRC32Utils.getCRC32(parallel));
+            assertEquals(FileSystemUtils.getSize(sequential), FileSystemUtils.getSize(parallel));
+
+            // same filter semantics (directories are filtered too)
+            final FileFilter xmlOrDirectory = file -> file.isDirectory() || XML_FILE_FILTER.accept(file);
+            final File seqFiltered = new File(CHECK_CRC32_TARGET_PATH, "seqFiltered");
+            final File parFiltered = new File(CHECK_CRC32_TARGET_PATH, "parFiltered");
+            FileSystemUtils.copyDirectory(src, seqFiltered, xmlOrDirectory);
+            FileSystemUtils.copyDirectory(src.getPath(), parFiltered.getPath(), xmlOrDirectory,
+                    ParallelOptions.DEFAULT.withExecutor(executor).withLargestFirst(false));
+            assertEquals(20, FileSystemUtils.listFiles(parFiltered).stream().filter(File::isFile).count());
+            assertEquals(FileSystemUtils.listFiles(seqFiltered).size(), FileSystemUtils.listFiles(parFiltered).size());
+            assertEquals(FileCRC32Utils.getCRC32(seqFiltered), FileCRC32Utils.getCRC32(parFiltered));
+
+            FileSystemUtils.copyDirectory(src, new File(CHECK_CRC32_TARGET_PATH, "parXml"), XML_FILENAME_FILTER, ParallelOptions.DEFAULT);
+            assertTrue(FileSystemUtils.isDirectoryEmpty(new File(CHECK_CRC32_TARGET_PATH, "parXml")));
+
+            FileSystemUtils.copyDirectory(src, new File(CHECK_CRC32_TARGET_PATH, "seqTxt"), TXT_FILTER);
+            FileSystemUtils.copyDirectory(src, new File(CHECK_CRC32_TARGET_PATH, "parTxt"), TXT_FILTER, ParallelOptions.DEFAULT);
+            assertEquals(FileCRC32Utils.getCRC32(CHECK_CRC32_TARGET_PATH + "/seqTxt"),
+                    FileCRC32Utils.getCRC32(CHECK_CRC32_TARGET_PATH + "/parTxt"));
+
+            // single file, copied to the destination file
+            FileSystemUtils.copyDirectory(CHECK_CRC32_FILE, CHECK_CRC32_TARGET_PATH + "/single.xml", ParallelOptions.DEFAULT);
+            assertEquals(CHECK_CRC32_VALUE, FileCRC32Utils.getCRC32(CHECK_CRC32_TARGET_PATH + "/single.xml"));
+
+            // array of files and directories (the listed files are not filtered)
+            final File[] entries = {new File(src, "dir0"), new File(src, "dir1"), new File(CHECK_CRC32_FILE)};
+            final File seqArray = new File(CHECK_CRC32_TARGET_PATH, "seqArray");
+            final File parArray = new File(CHECK_CRC32_TARGET_PATH, "parArray");
+            assertTrue(FileSystemUtils.createDirectory(seqArray));
+            assertTrue(FileSystemUtils.createDirectory(parArray));
+            FileSystemUtils.copy(entries, seqArray, xmlOrDirectory, null, false);
+            FileSystemUtils.copy(entries, parArray, xmlOrDirectory, null, ParallelOptions.DEFAULT.withExecutor(executor));
+            assertEquals(FileSystemUtils.listFiles(seqArray).size(), FileSystemUtils.listFiles(parArray).size());
+            assertEquals(FileCRC32Utils.getCRC32(seqArray), FileCRC32Utils.getCRC32(parArray));
+            assertEquals(CHECK_CRC32_VALUE, FileCRC32Utils.getCRC32(new File(parArray, new File(CHECK_CRC32_FILE).getName())));
+        } finally {
+            executor.shutdown();
+        }
+
+        // rejected by the executor: the calling thread copies all the files
+        final File rejected = new File(CHECK_CRC32_TARGET_PATH, "rejected");
+        FileSystemUtils.copyDirectory(src, rejected, ParallelOptions.DEFAULT.withExecutor(executor));
+        assertEquals(FileCRC32Utils.getCRC32(sequential), FileCRC32Utils.getCRC32(rejected));
+
+        assertException(() -> FileSystemUtils.copyDirectory(new File(CHECK_CRC32_TARGET_PATH, "unknown"), rejected, ParallelOptions.DEFAULT),
+                FileNotFoundException.class, "the source doesn't exist");
+        assertException(() -> FileSystemUtils.copyDirectory(src, rejected, (ParallelOptions) null), IllegalArgumentException.class,
+                ERROR_PARAM_NULL);
+        assertException(() -> FileSystemUtils.copyDirectory(src, rejected, (FileFilter) null, ParallelOptions.DEFAULT),
+                IllegalArgumentException.class, ERROR_PARAM_NULL);
+    }
+
+    /**
+     * Check {@link FileSystemUtils#copyDirectory(File, File, ParallelOptions)}
+     * and {@link FileSystemUtils#moveDirectory(File, File, RateLimiter)} with
+     * a rate limiter
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRateLimiter() throws IOException {
+        final File src = new File(CHECK_CRC32_TARGET_PATH, "src");
+        final Random random = new Random(42);
+        assertTrue(FileSystemUtils.createDirectory(src));
+        for (int i = 0; i < 8; i++) {
+            final byte[] data = new byte[50_000];
+            random.nextBytes(data);
+            Files.write(new File(src, "file" + i + (i % 2 == 0 ? ".xml" : ".txt")).toPath(), data);
+        }
+
+        // 400 KB at 2 MB/s minus the burst, shared by the threads
+        final RateLimiter rateLimiter = new RateLimiter(2_000_000, 100_000);
+        final File copy = new File(CHECK_CRC32_TARGET_PATH, "copy");
+        final long start = System.nanoTime();
+        FileSystemUtils.copyDirectory(src, copy, ParallelOptions.DEFAULT.withMaxOpenFiles(4).withRateLimiter(rateLimiter));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(140));
+        assertEquals(FileCRC32Utils.getCRC32(src), FileCRC32Utils.getCRC32(copy));
+
+        // renamed on the same device (not limited)
+        final File moved = new File(CHECK_CRC32_TARGET_PATH, "moved");
+        assertEquals(MoveStrategy.ATOMIC_MOVE, FileSystemUtils.moveDirectory(copy, moved, rateLimiter));
+        assertEquals(FileCRC32Utils.getCRC32(src), FileCRC32Utils.getCRC32(moved));
+
+        // filtered: the files are moved one by one
+        final File xml = new File(CHECK_CRC32_TARGET_PATH, "xml");
+        final File txt = new File(CHECK_CRC32_TARGET_PATH, "txt");
+        final File all = new File(CHECK_CRC32_TARGET_PATH, "all");
+        FileSystemUtils.copyDirectory(moved, xml, XML_FILENAME_FILTER);
+        FileSystemUtils.copyDirectory(moved, txt, TXT_FILTER);
+        FileSystemUtils.moveDirectory(xml.getPath(), all.getPath(), XML_FILENAME_FILTER, rateLimiter);
+        FileSystemUtils.moveDirectory(txt, all, TXT_FILTER, rateLimiter);
+        assertFalse(xml.exists());
+        assertEquals(FileCRC32Utils.getCRC32(src), FileCRC32Utils.getCRC32(all));
+
+        assertException(() -> FileSystemUtils.moveDirectory(xml, moved, (RateLimiter) null), IllegalArgumentException.class,
+                ERROR_PARAM_NULL);
+        assertException(() -> FileSystemUtils.moveDirectory(xml.getPath(), moved.getPath(), (RateLimiter) null),
+                IllegalArgumentException.class, ERROR_PARAM_NULL);
+    }
+
     /**
      * Check {@link FileSystemUtils#moveDirectory}
      */
@@ -191,14 +327,15 @@ public class FileSystemUtilsTest extends AbstractTest {
 
             FileSystemUtils.copyDirectory(CHECK_CRC32_PATH, CHECK_CRC32_TARGET_PATH + 2, TXT_FILTER);
 
-            FileSystemUtils.moveDirectory(CHECK_CRC32_TARGET_PATH, dest);
+            assertEquals(MoveStrategy.ATOMIC_MOVE, FileSystemUtils.moveDirectory(CHECK_CRC32_TARGET_PATH, dest));
             assertFalse(new File(CHECK_CRC32_TARGET_PATH).isDirectory());
             assertTrue(new File(dest).isDirectory());
 
             String dest2 = "target/dir" + UUID.randomUUID();
-            FileSystemUtils.moveDirectory(new File(dest), new File(dest2));
+            assertEquals(MoveStrategy.ATOMIC_MOVE, FileSystemUtils.moveDirectory(new File(dest), new File(dest2)));
 
-            FileSystemUtils.moveDirectory(new File(dest2), new File(dest), XML_FILENAME_FILTER);
+            // filtered: the files are moved one by one
+            assertEquals(MoveStrategy.ATOMIC_MOVE, FileSystemUtils.moveDirectory(new File(dest2), new File(dest), XML_FILENAME_FILTER));
             FileSystemUtils.moveDirectory(dest, dest2, XML_FILENAME_FILTER);
 
             FileSystemUtils.moveDirectory(new File(CHECK_CRC32_TARGET_PATH + 2), new File(dest), TXT_FILTER);
@@ -311,6 +448,49 @@ public class FileSystemUtilsTest extends AbstractTest {
         assertFalse(FileSystemUtils.createDirectory((File) null));
     }
 
+    /**
+     * Check {@link FileSystemUtils#copyFile}
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCopyFile() throws IOException {
+        final File src = new File(CHECK_CRC32_TARGET_PATH, "source.bin");
+        final File dest = new File(CHECK_CRC32_TARGET_PATH, "sub/dest.bin");
+
+        // bigger than a transfer chunk
+        final byte[] data = new byte[5_000_000];
+        new Random(42).nextBytes(data);
+        assertTrue(FileSystemUtils.createDirectory(CHECK_CRC32_TARGET_PATH));
+        Files.write(src.toPath(), data);
+
+        final FileTime lastModified = FileTime.fromMillis(1_500_000_000_000L);
+        Files.setLastModifiedTime(src.toPath(), lastModified);
+
+        FileSystemUtils.copyFile(src, dest);
+        assertTrue(FileUtils.isEqual(src, dest));
+        assertFalse(lastModified.equals(Files.getLastModifiedTime(dest.toPath())));
+
+        FileSystemUtils.copyFile(src.getPath(), dest.getPath(), true);
+        assertTrue(FileUtils.isEqual(src, dest));
+        assertEquals(lastModified, Files.getLastModifiedTime(dest.toPath()));
+        assertEquals(src.canExecute(), dest.canExecute());
+
+        // into a directory
+        FileSystemUtils.copyFile(src, dest.getParentFile(), true);
+        assertTrue(FileUtils.isEqual(src, new File(dest.getParentFile(), src.getName())));
+
+        // into its own directory (the source isn't truncated)
+        FileSystemUtils.copyFile(src, src.getParentFile(), false);
+        assertEquals(data.length, src.length());
+
+        assertException(() -> FileSystemUtils.copyFile(new File(CHECK_CRC32_TARGET_PATH, "unknown"), dest, true),
+                FileNotFoundException.class);
+        assertException(() -> FileSystemUtils.copyFile((File) null, dest, true), IllegalArgumentException.class, ERROR_PARAM_NULL);
+        assertException(() -> FileSystemUtils.copyFile(CHECK_CRC32_FILE, null, true), IllegalArgumentException.class, ERROR_PARAM_NULL);
+    }
+
     /**
      * Check {@link FileSystemUtils#moveFile}
      * 
@@ -322,12 +502,16 @@ public class FileSystemUtilsTest extends AbstractTest {
         // prepare
         FileSystemUtils.copyFile(CHECK_CRC32_FILE, CHECK_CRC32_TARGET_PATH + "output2.file");
 
-        FileSystemUtils.moveFile(CHECK_CRC32_TARGET_PATH + "output2.file", CHECK_CRC32_TARGET_PATH + "/output3.file");
+        assertEquals(MoveStrategy.ATOMIC_MOVE,
+                FileSystemUtils.moveFile(CHECK_CRC32_TARGET_PATH + "output2.file", CHECK_CRC32_TARGET_PATH + "/output3.file"));
         File file = new File(CHECK_CRC32_TARGET_PATH, "output4.file");
-        FileSystemUtils.moveFile(new File(CHECK_CRC32_TARGET_PATH, "output3.file"), file);
+        assertEquals(MoveStrategy.ATOMIC_MOVE, FileSystemUtils.moveFile(new File(CHECK_CRC32_TARGET_PATH, "output3.file"), file));
+        assertTrue(file.isFile());
+        assertFalse(new File(CHECK_CRC32_TARGET_PATH, "output3.file").exists());
 
         // same file
-        FileSystemUtils.moveFile(file, file);
+        assertEquals(MoveStrategy.ATOMIC_MOVE, FileSystemUtils.moveFile(file, file));
+        assertTrue(file.isFile());
 
         assertException(() -> {
             FileSystemUtils.moveFile(new File(CHECK_CRC32_TARGET_PATH, "output2.file"), new File(CHECK_CRC32_TARGET_PATH, "output3.file"));
@@ -360,6 +544,53 @@ public class FileSystemUtilsTest extends AbstractTest {
                 fail();
             }, FileNotFoundException.class);
         }
+
+        // the errors of the renaming are not hidden by a copy
+        final File directory = new File(CHECK_CRC32_TARGET_PATH, "output4.file.dir");
+        assertTrue(new File(directory, "output4.file").mkdirs());
+        assertTrue(new File(directory, "output4.file/child").createNewFile());
+        assertException(() -> FileSystemUtils.moveFile(file, directory), IOException.class);
+        assertTrue(file.isFile());
+        assertTrue(FileSystemUtils.deleteDirectory(directory));
+    }
+
+    /**
+     * Check {@link FileSystemUtils#moveFile} (copy and delete across devices)
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testMoveFileAcrossDevices() throws IOException {
+        final File other = new File("/dev/shm");
+        assumeTrue(other.isDirectory() && other.canWrite(), "No other device");
+        final File target = new File(CHECK_CRC32_TARGET_PATH);
+        assertTrue(target.isDirectory() || target.mkdirs());
+        assumeTrue(!Files.getFileStore(other.toPath()).equals(Files.getFileStore(target.toPath())), "Same device");
+
+        final File src = new File(other, "moved-" + UUID.randomUUID() + ".file");
+        final byte[] data = new byte[10_000];
+        new Random(10_000).nextBytes(data);
+        Files.write(src.toPath(), data);
+        final File dest = new File(target, src.getName());
+        try {
+            assertEquals(MoveStrategy.COPY_AND_DELETE, FileSystemUtils.moveFile(src, dest));
+            assertFalse(src.exists());
+            assertArrayEquals(data, Files.readAllBytes(dest.toPath()));
+
+            // and back, the directory is moved entry by entry
+            final File dir = new File(target, "moved-" + UUID.randomUUID());
+            assertTrue(dir.mkdirs());
+            assertTrue(dest.renameTo(new File(dir, dest.getName())));
+            final File otherDir = new File(other, dir.getName());
+            assertEquals(MoveStrategy.COPY_AND_DELETE, FileSystemUtils.moveDirectory(dir, otherDir));
+            assertFalse(dir.exists());
+            assertArrayEquals(data, Files.readAllBytes(new File(otherDir, dest.getName()).toPath()));
+            assertTrue(FileSystemUtils.deleteDirectory(otherDir));
+        } finally {
+            Files.deleteIfExists(src.toPath());
+            Files.deleteIfExists(dest.toPath());
+        }
     }
 
     /**
@@ -492,6 +723,58 @@ public class FileSystemUtilsTest extends AbstractTest {
         assertEquals(0, FileSystemUtils.listFiles(new File(CHECK_CRC32_FILE), TXT_FILTER).size());
     }
 
+    /**
+     * Check {@link FileSystemUtils#getSize(File, ParallelOptions)},
+     * {@link FileSystemUtils#listFiles(File, ParallelOptions)} and
+     * {@link FileSystemUtils#deleteDirectory(File, ParallelOptions)}
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWalkParallel() throws IOException {
+        final File src = new File(CHECK_CRC32_TARGET_PATH, "walk");
+        for (int i = 0; i < 30; i++) {
+            final File dir = FileSystemUtils.createFile(src, "dir" + (i % 3), "sub" + (i % 5), "deep" + (i % 2));
+            assertTrue(FileSystemUtils.createDirectory(dir));
+            Files.write(new File(dir, "file" + i + (i % 2 == 0 ? ".xml" : ".txt")).toPath(), new byte[i * 100]);
+        }
+        assertTrue(FileSystemUtils.createDirectory(new File(src, "empty")));
+
+        final ParallelOptions options;
+        if (ParallelOptions.isVirtualThreadSupported()) {
+            options = ParallelOptions.DEFAULT.withMaxOpenFiles(64).withVirtualThreads();
+        } else {
+            options = ParallelOptions.DEFAULT.withMaxOpenFiles(4).withLargestFirst(false);
+        }
+
+        assertEquals(FileSystemUtils.getSize(src), FileSystemUtils.getSize(src, options));
+        assertEquals(FileSystemUtils.getSize(src, XML_FILE_FILTER), FileSystemUtils.getSize(src.getPath(), XML_FILE_FILTER, options));
+        assertEquals(FileSystemUtils.getSize(src, TXT_FILTER), FileSystemUtils.getSize(src, TXT_FILTER, options));
+        assertEquals(CHECK_CRC32_FILE_SIZE, FileSystemUtils.getSize(CHECK_CRC32_FILE, options));
+
+        // same order as the sequential walk
+        assertEquals(FileSystemUtils.listFiles(src), FileSystemUtils.listFiles(src.getPath(), options));
+        assertEquals(FileSystemUtils.listFiles(src, XML_FILE_FILTER), FileSystemUtils.listFiles(src, XML_FILE_FILTER, options));
+        assertEquals(FileSystemUtils.listFiles(src, TXT_FILTER), FileSystemUtils.listFiles(src, TXT_FILTER, options));
+        assertEquals(Arrays.asList(new File(CHECK_CRC32_FILE)), FileSystemUtils.listFiles(new File(CHECK_CRC32_FILE), options));
+
+        // only the XML files are deleted, the directories with text files are kept
+        final FileFilter xmlOrDirectory = file -> file.isDirectory() || XML_FILE_FILTER.accept(file);
+        assertTrue(FileSystemUtils.deleteDirectory(src, xmlOrDirectory, options));
+        assertEquals(15, FileSystemUtils.listFiles(src).stream().filter(File::isFile).count());
+        assertFalse(new File(src, "empty").exists());
+
+        assertTrue(FileSystemUtils.deleteDirectory(src.getPath(), options));
+        assertFalse(src.exists());
+
+        assertException(() -> FileSystemUtils.deleteDirectory(CHECK_CRC32_FILE, options), IllegalArgumentException.class,
+                "not a directory");
+        assertException(() -> FileSystemUtils.getSize(src, (ParallelOptions) null), IllegalArgumentException.class, ERROR_PARAM_NULL);
+        assertException(() -> FileSystemUtils.listFiles(src, (FileFilter) null, ParallelOptions.DEFAULT), IllegalArgumentException.class,
+                ERROR_PARAM_NULL);
+    }
+
     /**
      * Check {@link FileSystemUtils#createFilenameFilter}
      * 
@@ -0,0 +1,118 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+
+import fr.landel.utils.microbenchmark.AbstractMicrobenchmark;
+
+/**
+ * Benchmark of the newline conversions of {@link FileUtils} on texts with
+ * millions of lines (mixed newlines).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+@State(Scope.Benchmark)
+public class FileUtilsPerf extends AbstractMicrobenchmark {
+
+    private static final String[] NEWLINES = {FileUtils.NEWLINE_WINDOWS, FileUtils.NEWLINE_UNIX, String.valueOf(FileUtils.CR),
+            FileUtils.NEWLINE_MACOS};
+
+    /**
+     * The number of lines
+     */
+    @Param({"1000000", "5000000"})
+    public int lines;
+
+    private String text;
+
+    /**
+     * Create the text
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final StringBuilder builder = new StringBuilder(this.lines * 24);
+        for (int i = 0; i < this.lines; i++) {
+            builder.append("line number ").append(i).append(NEWLINES[i % NEWLINES.length]);
+        }
+        this.text = builder.toString();
+    }
+
+    @Override
+    protected double getExpectedMinNbOpsPerSeconds() {
+        return 0.5d;
+    }
+
+    /**
+     * Convert into Windows newlines
+     * 
+     * @return the converted text
+     */
+    @Benchmark
+    public StringBuilder convertToWindows() {
+        return FileUtils.convertToWindows(this.text);
+    }
+
+    /**
+     * Convert into Unix newlines
+     * 
+     * @return the converted text
+     */
+    @Benchmark
+    public StringBuilder convertToUnix() {
+        return FileUtils.convertToUnix(this.text);
+    }
+
+    /**
+     * Convert into Mac OS newlines
+     * 
+     * @return the converted text
+     */
+    @Benchmark
+    public StringBuilder convertToMacOS() {
+        return FileUtils.convertToMacOS(this.text);
+    }
+
+    /**
+     * Run the benchmarks
+     *
+     * @throws IOException
+     *             on error
+     * @throws RunnerException
+     *             on benchmark error
+     */
+    @Test
+    public void testPerf() throws IOException, RunnerException {
+        assertNotNull(super.run());
+    }
+}
@@ -19,6 +19,7 @@
  */
 package fr.landel.utils.io;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -32,8 +33,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.regex.Pattern;
@@ -125,6 +131,87 @@ public class FileUtilsTest extends AbstractTest {
         }
     }
 
+    /**
+     * Test method for
+     * {@link FileUtils#getFileCharBuffer(File, java.nio.charset.Charset)} and
+     * {@link FileUtils#getFileContent(File, java.nio.charset.Charset)} .
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testGetFileCharBuffer() throws IOException {
+        FileSystemUtils.createDirectory(CHECK_CRC32_TARGET_PATH);
+        final File file = new File(CHECK_CRC32_TARGET_PATH, "content.txt");
+
+        // characters of 1 to 4 bytes cut at the end of the read buffers
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            expected.append("a\u00e9\u20ac\ud83d\ude00".charAt(i % 5));
+        }
+
+        for (Charset charset : Arrays.asList(StandardCharsets.UTF_8, StandardCharsets.UTF_16, StandardCharsets.ISO_8859_1)) {
+            final String text = new String(expected.toString().getBytes(charset), charset);
+            FileUtils.writeFileContent(expected, file, charset);
+
+            final CharBuffer buffer = FileUtils.getFileCharBuffer(file, charset);
+            assertEquals(0, buffer.position());
+            assertEquals(text, buffer.toString());
+            assertEquals(text, FileUtils.getFileCharBuffer(file.getPath(), charset).toString());
+
+            final StringBuilder content = FileUtils.getFileContent(file, charset);
+            assertEquals(text, content.toString());
+            // presized
+            assertTrue(content.capacity() <= file.length() + 1);
+        }
+
+        // malformed input is replaced like the String constructor
+        final byte[] malformed = {'a', (byte) 0xC3, '(', (byte) 0xE2};
+        Files.write(file.toPath(), malformed);
+        assertEquals(new String(malformed, StandardCharsets.UTF_8), FileUtils.getFileCharBuffer(file, StandardCharsets.UTF_8).toString());
+        assertEquals(new String(malformed, StandardCharsets.UTF_8), FileUtils.getFileContent(file).toString());
+
+        Files.write(file.toPath(), new byte[0]);
+        assertEquals(0, FileUtils.getFileCharBuffer(file, StandardCharsets.UTF_8).length());
+
+        assertException(() -> FileUtils.getFileCharBuffer((File) null, StandardCharsets.UTF_8), IllegalArgumentException.class);
+        assertException(() -> FileUtils.getFileCharBuffer(file, null), IllegalArgumentException.class);
+        assertException(() -> FileUtils.getFileCharBuffer("unknown", StandardCharsets.UTF_8), IOException.class);
+    }
+
+    /**
+     * Test method for
+     * {@link FileUtils#writeStream(java.io.InputStream, SegmentedByteBuffer)}
+     * and {@link FileUtils#writeStream(SegmentedByteBuffer, java.io.OutputStream)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testSegmentedByteBuffer() throws IOException {
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            expected.append("a\u00e9\u20ac\ud83d\ude00".charAt(i % 5));
+        }
+        final byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+
+        // spilled into a temporary file
+        try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(1024, 256)) {
+            FileUtils.writeStream(new ByteArrayInputStream(bytes), buffer);
+            assertTrue(buffer.isSpilled());
+
+            assertEquals(expected.toString(), FileUtils.getFileContent(buffer.getInputStream(), StandardCharsets.UTF_8).toString());
+
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            FileUtils.writeStream(buffer, baos);
+            assertArrayEquals(bytes, baos.toByteArray());
+        }
+
+        assertException(() -> FileUtils.writeStream((InputStream) null, new SegmentedByteBuffer()), IllegalArgumentException.class);
+        assertException(() -> FileUtils.writeStream((SegmentedByteBuffer) null, new ByteArrayOutputStream()),
+                IllegalArgumentException.class);
+    }
+
     /**
      * Test method for {@link FileUtils#getProperties} .
      */
@@ -307,6 +394,16 @@ public class FileUtilsTest extends AbstractTest {
         FileUtils.writeFileContent(new StringBuilder(), file1, StandardCharsets.UTF_8);
         assertTrue(FileUtils.isEqual(file1, file2));
 
+        // same length, only the last byte differs (the pooled arrays contain
+        // the bytes of the previous comparison)
+        final byte[] bytes = new byte[50_000];
+        Files.write(file1.toPath(), bytes);
+        Files.write(file2.toPath(), bytes);
+        assertTrue(FileUtils.isEqual(file1, file2));
+        bytes[bytes.length - 1] = 1;
+        Files.write(file2.toPath(), bytes);
+        assertFalse(FileUtils.isEqual(file1, file2));
+
         assertException(() -> {
             FileUtils.isEqual(null, copiedFile);
         }, IllegalArgumentException.class, "The first file isn't valid");
@@ -382,4 +479,73 @@ public class FileUtilsTest extends AbstractTest {
 
         assertEquals(expected.toString(), FileUtils.convertToMacOS(input).toString());
     }
+
+    /**
+     * Test method for {@link FileUtils#convertToWindows(CharSequence)},
+     * {@link FileUtils#convertToUnix(CharSequence)} and
+     * {@link FileUtils#convertToMacOS(CharSequence)} .
+     */
+    @Test
+    public void testConvertCharSequence() {
+        final String input = "\ntest\r\nNew line\r\n\n\r\nend\r";
+
+        assertEquals("\r\ntest\r\nNew line\r\n\r\n\r\nend\r\n", FileUtils.convertToWindows(input).toString());
+        assertEquals("\ntest\nNew line\n\n\nend\n", FileUtils.convertToUnix(input).toString());
+        assertEquals("\n\rtest\n\rNew line\n\r\n\r\n\rend\n\r", FileUtils.convertToMacOS(input).toString());
+
+        // already converted: unchanged
+        assertEquals("a\r\n\r\nb\r\n", FileUtils.convertToWindows("a\r\n\r\nb\r\n").toString());
+        assertEquals("a\n\r\n\rb\n\r", FileUtils.convertToMacOS("a\n\r\n\rb\n\r").toString());
+        assertEquals("a\n\nb\n", FileUtils.convertToUnix("a\n\nb\n").toString());
+
+        // round trip
+        final String windows = FileUtils.convertToWindows(input).toString();
+        assertEquals(windows, FileUtils.convertToWindows(FileUtils.convertToMacOS(FileUtils.convertToUnix(windows))).toString());
+
+        assertEquals("", FileUtils.convertToWindows("").toString());
+        assertEquals("no newline", FileUtils.convertToUnix("no newline").toString());
+
+        final StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            lines.append(i).append(FileUtils.CR);
+        }
+        final StringBuilder converted = FileUtils.convertToWindows(lines);
+        assertEquals(lines.length() + 100_000, converted.length());
+        assertEquals(converted.length(), converted.capacity());
+    }
+
+    /**
+     * Test method for
+     * {@link FileUtils#convertNewLines(File, File, java.nio.charset.Charset, String)}
+     * .
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testConvertNewLines() throws IOException {
+        FileSystemUtils.createDirectory(CHECK_CRC32_TARGET_PATH);
+
+        final File source = new File(CHECK_CRC32_TARGET_PATH, "source.txt");
+        final File target = new File(CHECK_CRC32_TARGET_PATH, "target.txt");
+
+        // bigger than the buffers, with pairs across the buffer boundaries
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            input.append("line\u00e9 ").append(i).append(i % 2 == 0 ? FileUtils.CRLF : FileUtils.LFCR);
+        }
+        FileUtils.writeFileContent(input, source, StandardCharsets.UTF_16);
+
+        FileUtils.convertNewLines(source, target, StandardCharsets.UTF_16, FileUtils.NEWLINE_UNIX);
+        assertEquals(FileUtils.convertToUnix(input).toString(), FileUtils.getFileContent(target, StandardCharsets.UTF_16).toString());
+
+        FileUtils.convertNewLines(source.getPath(), target.getPath(), StandardCharsets.UTF_16, FileUtils.NEWLINE_WINDOWS);
+        assertEquals(FileUtils.convertToWindows(input).toString(), FileUtils.getFileContent(target, StandardCharsets.UTF_16).toString());
+
+        assertException(() -> FileUtils.convertNewLines(source, new File(source.getAbsolutePath()), StandardCharsets.UTF_16,
+                FileUtils.NEWLINE_UNIX), IOException.class, "The source and the target cannot be the same file");
+        assertException(() -> FileUtils.convertNewLines(source, target, null, FileUtils.NEWLINE_UNIX), IllegalArgumentException.class);
+        assertException(() -> FileUtils.convertNewLines((String) null, null, StandardCharsets.UTF_16, FileUtils.NEWLINE_UNIX),
+                IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link GzipIndex}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class GzipIndexTest extends AbstractTest {
+
+    private static final File FILE = new File("target/index.gz");
+    private static final File INDEX = GzipIndex.getIndexFile(FILE);
+
+    /**
+     * Remove the test files
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @AfterEach
+    public void dispose() throws IOException {
+        Files.deleteIfExists(FILE.toPath());
+        Files.deleteIfExists(INDEX.toPath());
+    }
+
+    private static byte[] text(final int length) {
+        final String[] words = {"INFO ", "WARN ", "request ", "done\n", "user="};
+        final Random random = new Random(length);
+        final StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(words[random.nextInt(words.length)]).append(random.nextInt(1_000));
+        }
+        return builder.substring(0, length).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void gzip(final byte[] bytes, final boolean append) throws IOException {
+        try (OutputStream os = new GZIPOutputStream(new FileOutputStream(FILE, append))) {
+            os.write(bytes);
+        }
+    }
+
+    /**
+     * Test method for {@link GzipIndex#build(File, long)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testBuild() throws IOException {
+        gzip(text(1_000_000), false);
+
+        final GzipIndex index = GzipIndex.build(FILE, 50_000);
+        assertEquals(50_000, index.getSpan());
+        assertEquals(FILE.length(), index.getCompressedLength());
+        assertEquals(FILE.lastModified(), index.getLastModified());
+        assertEquals(1_000_000, index.getUncompressedLength());
+        assertTrue(index.size() > 5);
+        assertTrue(index.matches(FILE));
+
+        // the points are block boundaries after each span
+        assertEquals(0, index.getOffset(0));
+        for (int i = 1; i < index.size(); ++i) {
+            assertTrue(index.getOffset(i) - index.getOffset(i - 1) >= 50_000);
+        }
+        assertEquals(0, index.find(10));
+        assertEquals(index.size() - 1, index.find(2_000_000));
+
+        index.write(INDEX);
+        final GzipIndex read = GzipIndex.read(INDEX);
+        assertEquals(index.getSpan(), read.getSpan());
+        assertEquals(index.getCompressedLength(), read.getCompressedLength());
+        assertEquals(index.getLastModified(), read.getLastModified());
+        assertTrue(read.matches(FILE));
+        assertEquals(index.getUncompressedLength(), read.getUncompressedLength());
+        assertEquals(index.size(), read.size());
+        final byte[] window = new byte[32 * 1024];
+        assertEquals(32 * 1024, read.getWindow(1, window));
+        assertEquals(GzipIndex.DEFAULT_SPAN, GzipIndex.build(FILE).getSpan());
+
+        Files.write(INDEX.toPath(), new byte[] {1, 2, 3, 4});
+        assertException(() -> GzipIndex.read(INDEX), IOException.class, "The file is not a GZIP index");
+
+        Files.write(FILE.toPath(), text(100));
+        assertException(() -> GzipIndex.build(FILE), ZipException.class, "Not in GZIP format");
+        assertException(() -> GzipIndex.build(FILE, 0), IllegalArgumentException.class, "The span must be greater than 0");
+        assertException(() -> GzipIndex.build(null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> GzipIndex.of(null), IllegalArgumentException.class, "At least one parameter is null");
+    }
+
+    /**
+     * Test method for {@link GzipIndex#of(File)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testOf() throws IOException {
+        gzip(text(300_000), false);
+
+        final GzipIndex index = GzipIndex.of(FILE);
+        assertTrue(INDEX.isFile());
+        assertEquals(300_000, index.getUncompressedLength());
+        assertEquals(300_000, GzipIndex.of(FILE).getUncompressedLength());
+
+        // the index is rebuilt when the file has been completed
+        gzip(text(200_000), true);
+        assertFalse(index.matches(FILE));
+        final GzipIndex completed = GzipIndex.of(FILE);
+        assertEquals(500_000, completed.getUncompressedLength());
+        assertTrue(GzipIndex.read(INDEX).matches(FILE));
+
+        // the temporary file of the sidecar is renamed
+        final String[] temps = FILE.getAbsoluteFile().getParentFile()
+                .list((dir, name) -> name.startsWith(INDEX.getName()) && name.endsWith(".tmp"));
+        assertEquals(0, temps.length);
+
+        // same length, but modified
+        final long lastModified = FILE.lastModified();
+        assertTrue(FILE.setLastModified(lastModified - 10_000));
+        assertFalse(completed.matches(FILE));
+        assertTrue(FILE.setLastModified(lastModified));
+        assertTrue(completed.matches(FILE));
+
+        // same length and same time, but another trailer (rewritten content)
+        try (RandomAccessFile raf = new RandomAccessFile(FILE, "rw")) {
+            raf.seek(raf.length() - 8);
+            final int crc = raf.readInt();
+            raf.seek(raf.length() - 8);
+            raf.writeInt(~crc);
+        }
+        assertTrue(FILE.setLastModified(lastModified));
+        assertFalse(completed.matches(FILE));
+        assertFalse(GzipIndex.read(INDEX).matches(FILE));
+
+        assertException(() -> GzipIndex.of(new File("target/unknown.gz")), IOException.class);
+    }
+}
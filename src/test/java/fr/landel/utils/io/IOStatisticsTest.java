@@ -0,0 +1,235 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import fr.landel.utils.io.IOStatistics.Operation;
+import fr.landel.utils.io.IOStatistics.Snapshot;
+import fr.landel.utils.io.IOStatistics.Statistics;
+
+/**
+ * Check {@link IOStatistics}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class IOStatisticsTest extends AbstractTest {
+
+    private static final File DIRECTORY = new File("target/io-statistics");
+
+    /**
+     * Disable and reset the statistics
+     */
+    @AfterEach
+    public void disable() {
+        IOStatistics.disable();
+        IOStatistics.reset();
+    }
+
+    /**
+     * Test method for {@link IOStatistics#isEnabled()}.
+     */
+    @Test
+    public void testDisabled() {
+        assertFalse(IOStatistics.isEnabled());
+
+        final File file = new File(DIRECTORY, "disabled.bin");
+        final InputStream is = new ByteArrayInputStream(new byte[0]);
+        final OutputStream os = new ByteArrayOutputStream();
+        assertSame(is, IOStatistics.instrument(is, file));
+        assertSame(os, IOStatistics.instrument(os, file));
+
+        IOStatistics.enable();
+        assertTrue(IOStatistics.isEnabled());
+        assertTrue(IOStatistics.instrument(is, file) instanceof InstrumentedInputStream);
+        assertTrue(IOStatistics.instrument(os, file) instanceof InstrumentedOutputStream);
+
+        assertException(() -> IOStatistics.enable((String[]) null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> IOStatistics.enable("target", null), IllegalArgumentException.class, "At least one parameter is null");
+    }
+
+    /**
+     * Test method for {@link IOStatistics#enable(String...)} (name boundary
+     * of the prefixes).
+     *
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testPrefixes() throws IOException {
+        final String in = new File(DIRECTORY, "in").getAbsolutePath();
+        IOStatistics.enable(in, "http://host", "file:");
+
+        IOStatistics.instrument(new ByteArrayOutputStream(), new File(DIRECTORY, "in")).write(new byte[1]);
+        IOStatistics.instrument(new ByteArrayOutputStream(), new File(DIRECTORY, "in/file.bin")).write(new byte[2]);
+        IOStatistics.instrument(new ByteArrayOutputStream(), new File(DIRECTORY, "inbox/file.bin")).write(new byte[4]);
+
+        final Snapshot snapshot = IOStatistics.snapshot();
+        assertEquals(3, snapshot.get(in, Operation.WRITE).getBytes());
+        assertEquals(4, snapshot.get("", Operation.WRITE).getBytes());
+
+        assertTrue(IOStatistics.matches("http://host/file", "http://host"));
+        assertFalse(IOStatistics.matches("http://hostile/file", "http://host"));
+        assertTrue(IOStatistics.matches("file:/data/file", "file:"));
+        assertTrue(IOStatistics.matches("/data/in/", "/data/in/"));
+        assertFalse(IOStatistics.matches("/data", "/data/in"));
+        assertTrue(IOStatistics.matches("/data", ""));
+    }
+
+    /**
+     * Test method for {@link IOStatistics#snapshot()}.
+     *
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testSnapshot() throws IOException {
+        assertTrue(DIRECTORY.isDirectory() || DIRECTORY.mkdirs());
+        final File file = new File(DIRECTORY, "snapshot.bin");
+        final String prefix = DIRECTORY.getAbsolutePath();
+
+        IOStatistics.enable("target/io-statistics", "file:");
+
+        final byte[] bytes = new byte[100_000];
+        Arrays.fill(bytes, (byte) 'a');
+        try (OutputStream os = IOStreamUtils.createBufferedOutputStream(file)) {
+            os.write(bytes);
+        }
+        try (InputStream is = IOStreamUtils.createBufferedInputStream(file)) {
+            final byte[] read = new byte[bytes.length];
+            int n = 0;
+            int r;
+            while ((r = is.read(read, n, read.length - n)) > 0) {
+                n += r;
+            }
+            assertEquals(bytes.length, n);
+            assertEquals(-1, is.read());
+            assertArrayEquals(bytes, read);
+        }
+        try (InputStream is = IOStreamUtils.createBufferedInputStream(file.toURI().toURL())) {
+            assertEquals('a', is.read());
+        }
+        CloseableManager.close(file);
+
+        final Snapshot snapshot = IOStatistics.snapshot();
+        assertTrue(snapshot.getPrefixes().contains(prefix));
+        assertTrue(snapshot.getPrefixes().contains("file:"));
+
+        final Statistics writes = snapshot.get(prefix, Operation.WRITE);
+        assertEquals(bytes.length, writes.getBytes());
+        assertTrue(writes.getCount() > 0);
+
+        final Statistics reads = snapshot.get(prefix, Operation.READ);
+        assertEquals(bytes.length, reads.getBytes());
+        // the last read returns the end of stream
+        assertTrue(reads.getCount() > 1);
+        assertEquals(reads.getCount(), Arrays.stream(reads.getHistogram()).sum());
+        assertEquals(reads.getTotalNanos() / reads.getCount(), reads.getMeanNanos());
+        assertEquals(reads.getMaxNanos(), reads.getPercentileNanos(1));
+        assertTrue(reads.getPercentileNanos(0.5) <= reads.getPercentileNanos(0.99));
+        assertTrue(reads.getPercentileNanos(0) > 0 || reads.getMaxNanos() == 0);
+
+        // closed by the try and by the manager, recorded once per stream
+        assertEquals(2, snapshot.get(prefix, Operation.CLOSE).getCount());
+        assertTrue(snapshot.get("file:", Operation.READ).getBytes() > 0);
+        assertEquals(reads.getBytes() + snapshot.get("file:", Operation.READ).getBytes() + snapshot.get("", Operation.READ).getBytes(),
+                snapshot.getTotal(Operation.READ).getBytes());
+
+        final Statistics unknown = snapshot.get("unknown", Operation.READ);
+        assertEquals(0, unknown.getCount());
+        assertEquals(0, unknown.getMeanNanos());
+        assertEquals(0, unknown.getPercentileNanos(0.99));
+        assertException(() -> reads.getPercentileNanos(-0.1), IllegalArgumentException.class);
+        assertException(() -> reads.getPercentileNanos(1.1), IllegalArgumentException.class);
+        assertException(() -> snapshot.getStatistics().clear(), UnsupportedOperationException.class);
+
+        // the snapshot is not updated, the counters are reset
+        IOStatistics.reset();
+        assertEquals(bytes.length, snapshot.get(prefix, Operation.READ).getBytes());
+        assertEquals(0, IOStatistics.snapshot().get(prefix, Operation.READ).getBytes());
+
+        assertTrue(file.delete());
+    }
+
+    /**
+     * Test method for {@link IOStatistics#instrument(OutputStream, File)}.
+     *
+     * @throws InterruptedException
+     *             on interruption
+     * @throws ExecutionException
+     *             on error
+     */
+    @Test
+    public void testConcurrentRecords() throws InterruptedException, ExecutionException {
+        final File file = new File(DIRECTORY, "concurrent/file.bin");
+        final String prefix = new File(DIRECTORY, "concurrent").getAbsolutePath();
+        IOStatistics.enable(prefix);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                futures.add(executor.submit(() -> {
+                    try (OutputStream os = IOStatistics.instrument(new ByteArrayOutputStream(), file)) {
+                        final byte[] bytes = new byte[10];
+                        for (int i = 0; i < 10_000; ++i) {
+                            os.write(bytes);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final Snapshot snapshot = IOStatistics.snapshot();
+        assertEquals(40_000, snapshot.get(prefix, Operation.WRITE).getCount());
+        assertEquals(400_000, snapshot.get(prefix, Operation.WRITE).getBytes());
+        assertEquals(4, snapshot.get(prefix, Operation.CLOSE).getCount());
+        assertEquals(0, snapshot.get(prefix, Operation.READ).getCount());
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+
+import fr.landel.utils.microbenchmark.AbstractMicrobenchmark;
+
+/**
+ * Contention benchmark of {@link IOStreamUtils} factories: each thread opens
+ * and closes its own file. The "monitor" benchmarks reproduce the former
+ * class-wide lock (all factories were {@code static synchronized}) to compare
+ * the throughput at 1, 8 and 64 threads.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+@State(Scope.Benchmark)
+public class IOStreamUtilsPerf extends AbstractMicrobenchmark {
+
+    private static final String PERF_PATH = "target/perf";
+
+    /**
+     * Former class-wide monitor
+     */
+    private static final Object MONITOR = new Object();
+
+    /**
+     * The file opened by each benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class ThreadFile {
+
+        private File file;
+
+        /**
+         * Create the thread file
+         *
+         * @throws IOException
+         *             on error
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            FileSystemUtils.createDirectory(PERF_PATH);
+            this.file = new File(PERF_PATH, UUID.randomUUID().toString() + ".txt");
+            FileUtils.writeFileContent(new StringBuilder("perf"), this.file, EncodingUtils.CHARSET_UTF_8);
+        }
+
+        /**
+         * Remove the thread file
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            CloseableManager.close(this.file);
+            this.file.delete();
+        }
+    }
+
+    @Override
+    protected double getExpectedMinNbOpsPerSeconds() {
+        return 1_000d;
+    }
+
+    private static void open(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        final BufferedInputStream bis = IOStreamUtils.createBufferedInputStream(threadFile.file);
+        blackhole.consume(bis.read());
+        CloseableManager.close(threadFile.file);
+    }
+
+    private static void openWithMonitor(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        final BufferedInputStream bis;
+        synchronized (MONITOR) {
+            bis = IOStreamUtils.createBufferedInputStream(threadFile.file);
+        }
+        blackhole.consume(bis.read());
+        CloseableManager.close(threadFile.file);
+    }
+
+    /**
+     * Open and close a file on 1 thread with the former monitor
+     *
+     * @param threadFile
+     *            the thread file
+     * @param blackhole
+     *            the JMH black hole
+     * @throws IOException
+     *             on error
+     */
+    @Benchmark
+    @Threads(1)
+    public void monitor1Thread(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        openWithMonitor(threadFile, blackhole);
+    }
+
+    /**
+     * Open and close a file on 8 threads with the former monitor
+     *
+     * @param threadFile
+     *            the thread file
+     * @param blackhole
+     *            the JMH black hole
+     * @throws IOException
+     *             on error
+     */
+    @Benchmark
+    @Threads(8)
+    public void monitor8Threads(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        openWithMonitor(threadFile, blackhole);
+    }
+
+    /**
+     * Open and close a file on 64 threads with the former monitor
+     *
+     * @param threadFile
+     *            the thread file
+     * @param blackhole
+     *            the JMH black hole
+     * @throws IOException
+     *             on error
+     */
+    @Benchmark
+    @Threads(64)
+    public void monitor64Threads(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        openWithMonitor(threadFile, blackhole);
+    }
+
+    /**
+     * Open and close a file on 1 thread
+     *
+     * @param threadFile
+     *            the thread file
+     * @param blackhole
+     *            the JMH black hole
+     * @throws IOException
+     *             on error
+     */
+    @Benchmark
+    @Threads(1)
+    public void lockFree1Thread(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        open(threadFile, blackhole);
+    }
+
+    /**
+     * Open and close a file on 8 threads
+     *
+     * @param threadFile
+     *            the thread file
+     * @param blackhole
+     *            the JMH black hole
+     * @throws IOException
+     *             on error
+     */
+    @Benchmark
+    @Threads(8)
+    public void lockFree8Threads(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        open(threadFile, blackhole);
+    }
+
+    /**
+     * Open and close a file on 64 threads
+     *
+     * @param threadFile
+     *            the thread file
+     * @param blackhole
+     *            the JMH black hole
+     * @throws IOException
+     *             on error
+     */
+    @Benchmark
+    @Threads(64)
+    public void lockFree64Threads(final ThreadFile threadFile, final Blackhole blackhole) throws IOException {
+        open(threadFile, blackhole);
+    }
+
+    /**
+     * Run the benchmarks
+     *
+     * @throws IOException
+     *             on error
+     * @throws RunnerException
+     *             on benchmark error
+     */
+    @Test
+    public void testPerf() throws IOException, RunnerException {
+        assertNotNull(super.run());
+    }
+}
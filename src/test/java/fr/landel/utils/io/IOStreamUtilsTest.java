@@ -19,15 +19,24 @@
  */
 package fr.landel.utils.io;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipException;
 
 import org.junit.jupiter.api.Test;
 
@@ -375,6 +384,220 @@ public class IOStreamUtilsTest extends AbstractTest {
         }
     }
 
+    /**
+     * Test method for
+     * {@link IOStreamUtils#createMappedInputStream(java.io.File)} and
+     * {@link IOStreamUtils#createMappedDataInputStream(java.io.File)} .
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCreateMappedInputStream() throws IOException {
+        final File file = new File(CHECK_CRC32_FILE_INPUT);
+
+        final MappedInputStream mis = IOStreamUtils.createMappedInputStream(CHECK_CRC32_FILE_INPUT);
+        assertEquals(file.length(), mis.length());
+        assertNotNull(IOStreamUtils.createMappedDataInputStream(file));
+        assertTrue(CloseableManager.isCloseable(file));
+
+        try (DataInputStream dis = IOStreamUtils.createDataInputStream(file)) {
+            assertEquals(dis.readInt(), IOStreamUtils.createMappedDataInputStream(CHECK_CRC32_FILE_INPUT).readInt());
+        }
+
+        CloseableManager.close(file);
+        assertFalse(CloseableManager.isCloseable(file));
+        assertException(() -> mis.read(), IOException.class);
+
+        assertException(() -> IOStreamUtils.createMappedInputStream((File) null), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createMappedInputStream("unknown"), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createMappedDataInputStream((String) null), FileNotFoundException.class);
+    }
+
+    /**
+     * Check {@link IOStreamUtils#createPrefetchInputStream(File)}
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCreatePrefetchInputStream() throws IOException {
+        final File file = new File(CHECK_CRC32_FILE_INPUT);
+
+        final PrefetchInputStream pis = IOStreamUtils.createPrefetchInputStream(CHECK_CRC32_FILE_INPUT, 16, 2);
+        assertTrue(CloseableManager.isCloseable(file));
+        try (DataInputStream dis = IOStreamUtils.createDataInputStream(file)) {
+            final int first = dis.readInt();
+            assertEquals(first, new DataInputStream(pis).readInt());
+            assertEquals(first, new DataInputStream(IOStreamUtils.createPrefetchInputStream(file)).readInt());
+        }
+
+        // closing the file cancels the prefetches
+        CloseableManager.close(file);
+        assertFalse(CloseableManager.isCloseable(file));
+        assertException(() -> pis.read(), IOException.class, "The stream is closed");
+
+        assertException(() -> IOStreamUtils.createPrefetchInputStream((File) null), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createPrefetchInputStream("unknown"), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createPrefetchInputStream(CHECK_CRC32_FILE_INPUT, 0, 2), IllegalArgumentException.class);
+        assertFalse(CloseableManager.isCloseable(file));
+    }
+
+    /**
+     * Test method for
+     * {@link IOStreamUtils#createMappedOutputStream(java.io.File, boolean)}
+     * and
+     * {@link IOStreamUtils#createMappedDataOutputStream(java.io.File, boolean)}
+     * .
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCreateMappedOutputStream() throws IOException {
+        final File file = new File(CHECK_CRC32_TARGET_PATH, "mapped.bin");
+
+        IOStreamUtils.createMappedOutputStream(file).write(1);
+        assertTrue(CloseableManager.isCloseable(file));
+        CloseableManager.close(file);
+        assertEquals(1, file.length());
+
+        final DataOutputStream dos = IOStreamUtils.createMappedDataOutputStream(file.getPath(), true);
+        dos.writeLong(Long.MAX_VALUE);
+        CloseableManager.close(file);
+        assertFalse(CloseableManager.isCloseable(file));
+
+        try (DataInputStream dis = IOStreamUtils.createMappedDataInputStream(file)) {
+            assertEquals(1, dis.read());
+            assertEquals(Long.MAX_VALUE, dis.readLong());
+            assertEquals(-1, dis.read());
+        }
+
+        IOStreamUtils.createMappedDataOutputStream(file).close();
+        IOStreamUtils.createMappedOutputStream(file.getPath()).close();
+        assertEquals(0, file.length());
+        CloseableManager.close(file);
+        assertTrue(file.delete());
+
+        assertException(() -> IOStreamUtils.createMappedOutputStream((File) null), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createMappedOutputStream(CHECK_CRC32_TARGET_PATH), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createMappedDataOutputStream((String) null), FileNotFoundException.class);
+    }
+
+    /**
+     * Check
+     * {@link IOStreamUtils#createWriteBehindOutputStream(java.io.File, boolean)}
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCreateWriteBehindOutputStream() throws IOException {
+        final File file = new File(CHECK_CRC32_TARGET_PATH, "write-behind.bin");
+
+        IOStreamUtils.createWriteBehindOutputStream(file).write(1);
+        assertTrue(CloseableManager.isCloseable(file));
+        // the pending block is written on close
+        CloseableManager.close(file);
+        assertEquals(1, file.length());
+
+        final DataOutputStream dos = new DataOutputStream(IOStreamUtils.createWriteBehindOutputStream(file.getPath(), true, 4, 2));
+        dos.writeLong(Long.MAX_VALUE);
+        dos.writeLong(Long.MIN_VALUE);
+        CloseableManager.close(file);
+        assertFalse(CloseableManager.isCloseable(file));
+
+        try (DataInputStream dis = IOStreamUtils.createDataInputStream(file)) {
+            assertEquals(1, dis.read());
+            assertEquals(Long.MAX_VALUE, dis.readLong());
+            assertEquals(Long.MIN_VALUE, dis.readLong());
+            assertEquals(-1, dis.read());
+        }
+
+        IOStreamUtils.createWriteBehindOutputStream(file.getPath()).close();
+        assertEquals(0, file.length());
+        CloseableManager.close(file);
+        assertTrue(file.delete());
+
+        assertException(() -> IOStreamUtils.createWriteBehindOutputStream((File) null), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createWriteBehindOutputStream((String) null, true), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createWriteBehindOutputStream(file, false, 1, 0), IllegalArgumentException.class);
+        assertFalse(CloseableManager.isCloseable(file));
+        assertTrue(file.delete());
+    }
+
+    /**
+     * Check
+     * {@link IOStreamUtils#createParallelGzipOutputStream(java.io.File, boolean)}
+     * and {@link IOStreamUtils#createGzipInputStream(java.io.File)}
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCreateGzipStreams() throws IOException {
+        final File file = new File(CHECK_CRC32_TARGET_PATH, "parallel.gz");
+
+        final DataOutputStream dos = new DataOutputStream(IOStreamUtils.createParallelGzipOutputStream(file));
+        dos.writeLong(Long.MAX_VALUE);
+        assertTrue(CloseableManager.isCloseable(file));
+        // the trailer is written on close
+        CloseableManager.close(file);
+
+        // a second GZIP member
+        try (DataOutputStream os = new DataOutputStream(IOStreamUtils.createParallelGzipOutputStream(file.getPath(), true))) {
+            os.writeLong(Long.MIN_VALUE);
+        }
+
+        final DataInputStream dis = new DataInputStream(IOStreamUtils.createGzipInputStream(file.getPath()));
+        assertEquals(Long.MAX_VALUE, dis.readLong());
+        assertEquals(Long.MIN_VALUE, dis.readLong());
+        assertEquals(-1, dis.read());
+        CloseableManager.close(file);
+        assertFalse(CloseableManager.isCloseable(file));
+        assertTrue(file.delete());
+
+        assertException(() -> IOStreamUtils.createGzipInputStream(CHECK_CRC32_FILE_INPUT), ZipException.class);
+        assertFalse(CloseableManager.isCloseable(new File(CHECK_CRC32_FILE_INPUT)));
+        assertException(() -> IOStreamUtils.createGzipInputStream((File) null), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createParallelGzipOutputStream((String) null), FileNotFoundException.class);
+    }
+
+    /**
+     * Test method for {@link IOStreamUtils#createSeekableGzipInputStream(File)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testCreateSeekableGzipInputStream() throws IOException {
+        final File file = new File(CHECK_CRC32_TARGET_PATH, "seekable.gz");
+        final File index = GzipIndex.getIndexFile(file);
+
+        try (DataOutputStream os = new DataOutputStream(IOStreamUtils.createParallelGzipOutputStream(file))) {
+            for (long i = 0; i < 100_000; ++i) {
+                os.writeLong(i);
+            }
+        }
+
+        final SeekableGzipInputStream is = IOStreamUtils.createSeekableGzipInputStream(file.getPath());
+        assertTrue(CloseableManager.isCloseable(file));
+        assertTrue(index.isFile());
+        assertEquals(800_000, is.length());
+        is.seek(99_999 * 8);
+        assertEquals(99_999, new DataInputStream(is).readLong());
+        CloseableManager.close(file);
+        assertFalse(CloseableManager.isCloseable(file));
+        assertTrue(file.delete());
+        assertTrue(index.delete());
+
+        assertException(() -> IOStreamUtils.createSeekableGzipInputStream(CHECK_CRC32_FILE_INPUT), ZipException.class);
+        assertFalse(CloseableManager.isCloseable(new File(CHECK_CRC32_FILE_INPUT)));
+        assertFalse(GzipIndex.getIndexFile(new File(CHECK_CRC32_FILE_INPUT)).exists());
+        assertException(() -> IOStreamUtils.createSeekableGzipInputStream((File) null), FileNotFoundException.class);
+        assertException(() -> IOStreamUtils.createSeekableGzipInputStream((String) null), FileNotFoundException.class);
+    }
+
     /**
      * Test method for
      * {@link IOStreamUtils#createBufferedOutputStream(java.lang.String)} .
@@ -485,4 +708,42 @@ public class IOStreamUtilsTest extends AbstractTest {
             fail(e.getMessage());
         }
     }
+
+    /**
+     * Test concurrent creation of streams on different files (no class-wide
+     * lock anymore, the registration in {@link CloseableManager} has to stay
+     * consistent)
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testCreateConcurrently() throws Exception {
+        final int nbThreads = 8;
+        final File dir = new File(CHECK_CRC32_TARGET_PATH, "concurrent");
+        assertTrue(FileSystemUtils.createDirectory(dir));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        final List<Future<File>> futures = new ArrayList<>();
+        for (int i = 0; i < nbThreads; ++i) {
+            final File file = new File(dir, "file" + i + ".txt");
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 100; ++j) {
+                    IOStreamUtils.createDataOutputStream(file).writeInt(j);
+                    assertTrue(CloseableManager.isCloseable(file));
+                    CloseableManager.close(file);
+                }
+                return file;
+            }));
+        }
+        executor.shutdown();
+
+        for (Future<File> future : futures) {
+            final File file = future.get();
+            assertFalse(CloseableManager.isCloseable(file));
+            assertEquals(4L, file.length());
+        }
+
+        assertTrue(FileSystemUtils.deleteDirectory(dir));
+    }
 }
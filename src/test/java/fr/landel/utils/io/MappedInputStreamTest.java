@@ -0,0 +1,185 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link MappedInputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class MappedInputStreamTest extends AbstractTest {
+
+    private static final File FILE = new File("target/mapped-input.bin");
+
+    /**
+     * Remove the test file
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @AfterEach
+    public void dispose() throws IOException {
+        Files.deleteIfExists(FILE.toPath());
+    }
+
+    private static byte[] create(final int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        Files.write(FILE.toPath(), bytes);
+        return bytes;
+    }
+
+    /**
+     * Test method for {@link MappedInputStream#read(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRead() throws IOException {
+        final byte[] bytes = create(1_000);
+
+        // windows smaller and larger than the read buffers
+        for (int windowSize : new int[] {1, 64, 100, 4096}) {
+            try (MappedInputStream is = new MappedInputStream(FILE, windowSize)) {
+                assertEquals(1_000, is.length());
+                assertEquals(bytes[0] & 0xFF, is.read());
+
+                final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                output.write(bytes[0]);
+                final byte[] buffer = new byte[77];
+                int read;
+                while ((read = is.read(buffer, 0, buffer.length)) >= 0) {
+                    output.write(buffer, 0, read);
+                }
+                assertArrayEquals(bytes, output.toByteArray());
+                assertEquals(-1, is.read());
+                assertEquals(0, is.available());
+            }
+        }
+
+        create(0);
+        try (MappedInputStream is = new MappedInputStream(FILE)) {
+            assertEquals(-1, is.read());
+            assertEquals(-1, is.read(new byte[1], 0, 1));
+        }
+
+        assertException(() -> new MappedInputStream(FILE, 0), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test method for {@link MappedInputStream#seek(long)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testSeek() throws IOException {
+        final byte[] bytes = create(1_000);
+
+        try (MappedInputStream is = new MappedInputStream(FILE, 128)) {
+            is.seek(900);
+            assertEquals(bytes[900] & 0xFF, is.read());
+            is.seek(10);
+            assertEquals(bytes[10] & 0xFF, is.read());
+            assertEquals(11, is.position());
+
+            assertTrue(is.markSupported());
+            is.mark(0);
+            assertEquals(500, is.skip(500));
+            final byte[] buffer = new byte[200];
+            assertEquals(200, is.read(buffer, 0, 200));
+            assertArrayEquals(Arrays.copyOfRange(bytes, 511, 711), buffer);
+
+            is.reset();
+            assertEquals(bytes[11] & 0xFF, is.read());
+
+            assertEquals(988, is.skip(2_000));
+            is.seek(5_000);
+            assertEquals(-1, is.read());
+
+            assertException(() -> is.seek(-1), IOException.class);
+        }
+
+        final MappedInputStream is = new MappedInputStream(FILE);
+        is.close();
+        is.close();
+        assertException(() -> is.read(), IOException.class, "The stream is closed");
+    }
+
+    /**
+     * Test method for {@link MappedInputStream#close()} (from another thread
+     * than the reader).
+     * 
+     * @throws IOException
+     *             on error
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testCloseFromAnotherThread() throws IOException, InterruptedException {
+        create(1_000_000);
+
+        final MappedInputStream is = new MappedInputStream(FILE, 4096);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            final byte[] buffer = new byte[1_000];
+            try {
+                while (true) {
+                    if (is.read(buffer, 0, buffer.length) < 0) {
+                        is.seek(0);
+                    }
+                    started.countDown();
+                }
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        reader.start();
+
+        started.await();
+        // the windows of the reader are left to the garbage collector
+        is.close();
+        reader.join(10_000);
+
+        assertFalse(reader.isAlive());
+        assertTrue(error.get() instanceof IOException, String.valueOf(error.get()));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link MappedOutputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class MappedOutputStreamTest extends AbstractTest {
+
+    private static final File FILE = new File("target/mapped-output.bin");
+
+    /**
+     * Remove the test file
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @AfterEach
+    public void dispose() throws IOException {
+        Files.deleteIfExists(FILE.toPath());
+    }
+
+    /**
+     * Test method for {@link MappedOutputStream#write(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        final byte[] bytes = new byte[1_000];
+        new Random(1_000).nextBytes(bytes);
+
+        // extents smaller and larger than the written arrays
+        for (int extentSize : new int[] {1, 64, 100, 4096}) {
+            try (MappedOutputStream os = new MappedOutputStream(FILE, false, extentSize)) {
+                os.write(bytes[0]);
+                for (int offset = 1; offset < bytes.length; offset += 77) {
+                    os.write(bytes, offset, Math.min(77, bytes.length - offset));
+                }
+                os.flush();
+                assertEquals(1_000, os.position());
+            }
+
+            // truncated to the written length
+            assertArrayEquals(bytes, Files.readAllBytes(FILE.toPath()));
+        }
+
+        // the existing content is kept
+        try (MappedOutputStream os = new MappedOutputStream(FILE, true, 128)) {
+            assertEquals(1_000, os.position());
+            os.write(bytes, 0, 10);
+        }
+        final byte[] appended = Files.readAllBytes(FILE.toPath());
+        assertEquals(1_010, appended.length);
+        assertArrayEquals(Arrays.copyOf(bytes, 10), Arrays.copyOfRange(appended, 1_000, 1_010));
+
+        // the previous content is removed
+        new MappedOutputStream(FILE, false).close();
+        assertEquals(0, FILE.length());
+
+        final MappedOutputStream os = new MappedOutputStream(FILE, false);
+        assertException(() -> os.write(new byte[2], 1, 2), IndexOutOfBoundsException.class);
+        os.close();
+        os.close();
+        assertException(() -> os.write(1), IOException.class, "The stream is closed");
+
+        assertException(() -> new MappedOutputStream(FILE, false, 0), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test method for {@link MappedOutputStream#close()} (from another thread
+     * than the writer).
+     * 
+     * @throws IOException
+     *             on error
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testCloseFromAnotherThread() throws IOException, InterruptedException {
+        final MappedOutputStream os = new MappedOutputStream(FILE, false, 4096);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread writer = new Thread(() -> {
+            final byte[] buffer = new byte[1_000];
+            try {
+                // stays in the first extents, the file isn't truncated
+                while (os.position() < 1_000_000) {
+                    os.write(buffer);
+                    started.countDown();
+                }
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        writer.start();
+
+        started.await();
+        os.close();
+        writer.join(10_000);
+
+        assertFalse(writer.isAlive());
+        if (error.get() != null) {
+            assertTrue(error.get() instanceof IOException, String.valueOf(error.get()));
+            // zero-padded up to the end of the extent
+            assertEquals(0, FILE.length() % 4096);
+        }
+        assertTrue(FILE.length() >= 1_000);
+    }
+}
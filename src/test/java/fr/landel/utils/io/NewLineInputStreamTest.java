@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link NewLineInputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineInputStreamTest extends AbstractTest {
+
+    private static final String INPUT = "\ntest\r\nNew line\r\n\n\r\nend\r";
+
+    private static String read(final String input, final String newline, final int bufferSize) throws IOException {
+        // returns one byte at a time, each pair is split across two reads
+        final InputStream slowInputStream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream is = new NewLineInputStream(slowInputStream, newline)) {
+            final byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = is.read(buffer, 0, bufferSize)) >= 0) {
+                output.write(buffer, 0, read);
+            }
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test method for {@link NewLineInputStream#read(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRead() throws IOException {
+        for (int bufferSize : new int[] {1, 2, 3, 1024}) {
+            assertEquals(FileUtils.convertToWindows(INPUT).toString(), read(INPUT, FileUtils.NEWLINE_WINDOWS, bufferSize));
+            assertEquals(FileUtils.convertToUnix(INPUT).toString(), read(INPUT, FileUtils.NEWLINE_UNIX, bufferSize));
+            assertEquals(FileUtils.convertToMacOS(INPUT).toString(), read(INPUT, FileUtils.NEWLINE_MACOS, bufferSize));
+        }
+
+        // multi-bytes characters aren't altered
+        assertEquals("\u00e9t\u00e9\r\n\u20ac\r\n", read("\u00e9t\u00e9\n\u20ac\r", FileUtils.NEWLINE_WINDOWS, 5));
+
+        try (InputStream is = new NewLineInputStream(new ByteArrayInputStream("a\rb".getBytes(StandardCharsets.UTF_8)),
+                FileUtils.NEWLINE_WINDOWS)) {
+            assertEquals('a', is.read());
+            assertEquals(2, is.skip(2));
+            assertEquals('b', is.read());
+            assertEquals(-1, is.read());
+            assertFalse(is.markSupported());
+            assertException(() -> is.reset(), IOException.class);
+        }
+
+        assertException(() -> new NewLineInputStream(null, FileUtils.NEWLINE_UNIX), IllegalArgumentException.class,
+                "At least one parameter is null");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link NewLineOutputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineOutputStreamTest extends AbstractTest {
+
+    private static final String INPUT = "\ntest\r\nNew line\r\n\n\r\nend\r";
+
+    /**
+     * Test method for {@link NewLineOutputStream#write}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        final byte[] input = INPUT.getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream os = new NewLineOutputStream(output, FileUtils.NEWLINE_WINDOWS)) {
+            os.write(input);
+        }
+        assertEquals(FileUtils.convertToWindows(INPUT).toString(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+        // pairs split across writes
+        output = new ByteArrayOutputStream();
+        try (OutputStream os = new NewLineOutputStream(output, FileUtils.NEWLINE_UNIX)) {
+            for (int i = 0; i < input.length; i += 3) {
+                os.write(input, i, Math.min(3, input.length - i));
+            }
+        }
+        assertEquals(FileUtils.convertToUnix(INPUT).toString(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+        output = new ByteArrayOutputStream();
+        try (OutputStream os = new NewLineOutputStream(output, FileUtils.NEWLINE_MACOS)) {
+            for (byte b : input) {
+                os.write(b);
+            }
+        }
+        assertEquals(FileUtils.convertToMacOS(INPUT).toString(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+        assertException(() -> new NewLineOutputStream(null, FileUtils.NEWLINE_UNIX), IllegalArgumentException.class,
+                "At least one parameter is null");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link NewLineReader}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineReaderTest extends AbstractTest {
+
+    private static final String INPUT = "\ntest\r\nNew line\r\n\n\r\nend\r";
+
+    /**
+     * Read the input through a reader which returns one character at a time
+     * (each pair is split across two reads)
+     * 
+     * @param input
+     *            the input
+     * @param newline
+     *            the output newline
+     * @param bufferSize
+     *            the size of the read buffer
+     * @return the converted text
+     * @throws IOException
+     *             on error
+     */
+    private static String read(final String input, final String newline, final int bufferSize) throws IOException {
+        final Reader slowReader = new Reader() {
+            private int position;
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) {
+                if (this.position >= input.length()) {
+                    return -1;
+                }
+                cbuf[off] = input.charAt(this.position++);
+                return 1;
+            }
+
+            @Override
+            public void close() {
+                // nothing to close
+            }
+        };
+
+        final StringBuilder output = new StringBuilder();
+        try (Reader reader = new NewLineReader(slowReader, newline)) {
+            final char[] buffer = new char[bufferSize];
+            int read;
+            while ((read = reader.read(buffer, 0, bufferSize)) >= 0) {
+                output.append(buffer, 0, read);
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Test method for {@link NewLineReader#read(char[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRead() throws IOException {
+        for (int bufferSize : new int[] {1, 2, 3, 1024}) {
+            assertEquals(FileUtils.convertToWindows(INPUT).toString(), read(INPUT, FileUtils.NEWLINE_WINDOWS, bufferSize));
+            assertEquals(FileUtils.convertToUnix(INPUT).toString(), read(INPUT, FileUtils.NEWLINE_UNIX, bufferSize));
+            assertEquals(FileUtils.convertToMacOS(INPUT).toString(), read(INPUT, FileUtils.NEWLINE_MACOS, bufferSize));
+        }
+
+        assertEquals("", read("", FileUtils.NEWLINE_WINDOWS, 10));
+
+        try (Reader reader = new NewLineReader(new StringReader("a\rb"), FileUtils.NEWLINE_WINDOWS)) {
+            assertEquals('a', reader.read());
+            assertEquals(2, reader.skip(2));
+            assertEquals('b', reader.read());
+            assertEquals(-1, reader.read());
+            assertFalse(reader.markSupported());
+            assertException(() -> reader.reset(), IOException.class);
+        }
+
+        assertException(() -> new NewLineReader(null, FileUtils.NEWLINE_UNIX), IllegalArgumentException.class,
+                "At least one parameter is null");
+        assertException(() -> new NewLineReader(new StringReader(""), null), IllegalArgumentException.class,
+                "At least one parameter is null");
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link NewLineWriter}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class NewLineWriterTest extends AbstractTest {
+
+    private static final String INPUT = "\ntest\r\nNew line\r\n\n\r\nend\r";
+
+    /**
+     * Test method for {@link NewLineWriter#write}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        StringWriter output = new StringWriter();
+        try (Writer writer = new NewLineWriter(output, FileUtils.NEWLINE_WINDOWS)) {
+            writer.write(INPUT);
+        }
+        assertEquals(FileUtils.convertToWindows(INPUT).toString(), output.toString());
+
+        // pairs split across writes
+        output = new StringWriter();
+        try (Writer writer = new NewLineWriter(output, FileUtils.NEWLINE_UNIX)) {
+            for (int i = 0; i < INPUT.length(); i += 3) {
+                writer.write(INPUT.toCharArray(), i, Math.min(3, INPUT.length() - i));
+            }
+        }
+        assertEquals(FileUtils.convertToUnix(INPUT).toString(), output.toString());
+
+        output = new StringWriter();
+        try (Writer writer = new NewLineWriter(output, FileUtils.NEWLINE_MACOS)) {
+            for (char c : INPUT.toCharArray()) {
+                writer.write(c);
+            }
+        }
+        assertEquals(FileUtils.convertToMacOS(INPUT).toString(), output.toString());
+
+        output = new StringWriter();
+        try (Writer writer = new NewLineWriter(output, FileUtils.NEWLINE_WINDOWS)) {
+            writer.write("line1\r");
+            writer.write("\nline2\n", 0, 1);
+            writer.write("\nline2\n", 1, 6);
+        }
+        assertEquals("line1\r\nline2\r\n", output.toString());
+
+        assertException(() -> new NewLineWriter(null, FileUtils.NEWLINE_UNIX), IllegalArgumentException.class,
+                "At least one parameter is null");
+        assertException(() -> new NewLineWriter(new StringWriter(), null), IllegalArgumentException.class,
+                "At least one parameter is null");
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link ParallelGzipOutputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ParallelGzipOutputStreamTest extends AbstractTest {
+
+    private static byte[] text(final int length) {
+        final String[] words = {"alpha ", "beta ", "gamma ", "delta\n", "epsilon "};
+        final Random random = new Random(length);
+        final StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(words[random.nextInt(words.length)]).append(random.nextInt(100));
+        }
+        return builder.substring(0, length).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] gunzip(final byte[] bytes) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) > -1) {
+                os.write(buffer, 0, read);
+            }
+        }
+        return os.toByteArray();
+    }
+
+    /**
+     * Test method for {@link ParallelGzipOutputStream#write(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        final byte[] bytes = text(300_000);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // blocks smaller and larger than the dictionary
+            for (int blockSize : new int[] {1_000, 50_000, 1_000_000}) {
+                final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+                try (ParallelGzipOutputStream os = new ParallelGzipOutputStream(sink, 6, blockSize, 4, executor)) {
+                    os.write(bytes[0]);
+                    os.write(bytes, 1, 99_999);
+
+                    // the flushed data can be decompressed
+                    os.flush();
+                    final byte[] flushed = new byte[100_000];
+                    new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(sink.toByteArray()))).readFully(flushed);
+                    assertArrayEquals(Arrays.copyOf(bytes, 100_000), flushed);
+
+                    os.write(bytes, 100_000, 200_000);
+                }
+                assertArrayEquals(bytes, gunzip(sink.toByteArray()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(empty).close();
+        assertEquals(0, gunzip(empty.toByteArray()).length);
+    }
+
+    /**
+     * Check that the dictionaries keep the ratio of the sequential
+     * compression
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRatio() throws IOException {
+        final byte[] bytes = text(2_000_000);
+
+        final ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        try (GZIPOutputStream os = new GZIPOutputStream(sequential)) {
+            os.write(bytes);
+        }
+
+        final ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream os = new ParallelGzipOutputStream(parallel)) {
+            os.write(bytes);
+        }
+
+        assertArrayEquals(bytes, gunzip(parallel.toByteArray()));
+        assertTrue(parallel.size() < sequential.size() * 1.01);
+
+        final ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream os = new ParallelGzipOutputStream(stored, Deflater.NO_COMPRESSION)) {
+            os.write(bytes);
+        }
+        assertArrayEquals(bytes, gunzip(stored.toByteArray()));
+        assertTrue(stored.size() > bytes.length);
+    }
+
+    /**
+     * Check the errors
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testError() throws IOException {
+        final OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+
+        // the compressed blocks are written when the next one is submitted
+        final ParallelGzipOutputStream os = new ParallelGzipOutputStream(failing, 1, 10, 1, Runnable::run);
+        os.write(new byte[20]);
+        assertException(() -> os.write(1), IOException.class, "disk full");
+        assertException(() -> os.close(), IOException.class, "disk full");
+        assertException(() -> os.write(1), IOException.class, "The stream is closed");
+        os.close();
+
+        final OutputStream out = new ByteArrayOutputStream();
+        assertException(() -> new ParallelGzipOutputStream(null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> new ParallelGzipOutputStream(out, 10), IllegalArgumentException.class,
+                "The compression level must be between 0 and 9");
+        assertException(() -> new ParallelGzipOutputStream(out, 1, 0, 1, Runnable::run), IllegalArgumentException.class,
+                "The block size must be greater than 0");
+        assertException(() -> new ParallelGzipOutputStream(out, 1, 1, 0, Runnable::run), IllegalArgumentException.class,
+                "The maximum number of pending blocks must be greater than 0");
+        assertException(() -> new ParallelGzipOutputStream(out, 1, 1, 1, null), IllegalArgumentException.class,
+                "At least one parameter is null");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link ParallelOptions}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ParallelOptionsTest extends AbstractTest {
+
+    /**
+     * Check the default options
+     */
+    @Test
+    public void testDefault() throws InterruptedException {
+        assertSame(DaemonExecutor.INSTANCE, ParallelOptions.DEFAULT.getExecutor());
+        assertNotSame(ForkJoinPool.commonPool(), ParallelOptions.DEFAULT.getExecutor());
+        assertEquals(ParallelOptions.DEFAULT_MAX_OPEN_FILES, ParallelOptions.DEFAULT.getMaxOpenFiles());
+        assertTrue(ParallelOptions.DEFAULT.getMaxOpenFiles() >= 2);
+        assertTrue(ParallelOptions.DEFAULT.isLargestFirst());
+        assertEquals(ParallelOptions.DEFAULT_CHUNK_SIZE, ParallelOptions.DEFAULT.getChunkSize());
+        assertNull(ParallelOptions.DEFAULT.getRateLimiter());
+
+        // the blocking tasks don't occupy the common pool
+        final CountDownLatch latch = new CountDownLatch(1);
+        ParallelOptions.DEFAULT.getExecutor().execute(() -> {
+            assertTrue(Thread.currentThread().isDaemon());
+            assertFalse(Thread.currentThread() instanceof ForkJoinWorkerThread);
+            latch.countDown();
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Check the {@code with} methods (immutable options)
+     */
+    @Test
+    public void testWith() {
+        final Executor executor = Runnable::run;
+        final RateLimiter rateLimiter = new RateLimiter(1024);
+
+        final ParallelOptions options = ParallelOptions.DEFAULT.withRateLimiter(rateLimiter).withExecutor(executor).withMaxOpenFiles(3)
+                .withLargestFirst(false).withChunkSize(1024);
+        assertNotSame(ParallelOptions.DEFAULT, options);
+        assertSame(rateLimiter, options.getRateLimiter());
+        assertSame(executor, options.getExecutor());
+        assertEquals(3, options.getMaxOpenFiles());
+        assertFalse(options.isLargestFirst());
+        assertEquals(1024, options.getChunkSize());
+
+        assertSame(DaemonExecutor.INSTANCE, ParallelOptions.DEFAULT.getExecutor());
+        assertTrue(ParallelOptions.DEFAULT.isLargestFirst());
+        assertNull(ParallelOptions.DEFAULT.getRateLimiter());
+
+        assertException(() -> ParallelOptions.DEFAULT.withExecutor(null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> ParallelOptions.DEFAULT.withRateLimiter(null), IllegalArgumentException.class,
+                "At least one parameter is null");
+        assertException(() -> ParallelOptions.DEFAULT.withMaxOpenFiles(0), IllegalArgumentException.class,
+                "The maximum number of open files must be greater than 0");
+        assertException(() -> ParallelOptions.DEFAULT.withChunkSize(0), IllegalArgumentException.class,
+                "The chunk size must be greater than 0");
+    }
+
+    /**
+     * Check the virtual threads (only available on Java 21 and later)
+     */
+    @Test
+    public void testWithVirtualThreads() {
+        final String version = System.getProperty("java.specification.version");
+        final boolean java21 = !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+        assertEquals(java21, ParallelOptions.isVirtualThreadSupported());
+
+        if (ParallelOptions.isVirtualThreadSupported()) {
+            final ParallelOptions options = ParallelOptions.DEFAULT.withMaxOpenFiles(256).withVirtualThreads();
+            assertNotSame(ForkJoinPool.commonPool(), options.getExecutor());
+            assertSame(options.getExecutor(), ParallelOptions.DEFAULT.withVirtualThreads().getExecutor());
+            assertEquals(256, options.getMaxOpenFiles());
+        } else {
+            assertException(() -> ParallelOptions.DEFAULT.withVirtualThreads(), UnsupportedOperationException.class,
+                    "The virtual threads require Java 21 or later");
+        }
+    }
+}
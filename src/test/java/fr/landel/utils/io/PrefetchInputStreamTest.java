@@ -0,0 +1,324 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link PrefetchInputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class PrefetchInputStreamTest extends AbstractTest {
+
+    /**
+     * Test method for {@link PrefetchInputStream#read(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRead() throws IOException {
+        final byte[] bytes = new byte[10_000];
+        new Random(42).nextBytes(bytes);
+
+        // blocks smaller and larger than the read buffers
+        for (int blockSize : new int[] {1, 100, 4096, 20_000}) {
+            try (PrefetchInputStream is = new PrefetchInputStream(new ByteArrayInputStream(bytes), blockSize, 3)) {
+                final ByteArrayOutputStream os = new ByteArrayOutputStream();
+                os.write(is.read());
+                assertEquals(99, is.skip(99));
+                os.write(bytes, 1, 99);
+
+                final byte[] buffer = new byte[777];
+                int read;
+                while ((read = is.read(buffer, 0, buffer.length)) > -1) {
+                    os.write(buffer, 0, read);
+                }
+                assertArrayEquals(bytes, os.toByteArray());
+
+                assertEquals(-1, is.read());
+                assertEquals(0, is.skip(10));
+                assertEquals(0, is.read(buffer, 0, 0));
+                assertEquals(0, is.available());
+            }
+        }
+
+        try (PrefetchInputStream is = new PrefetchInputStream(new ByteArrayInputStream(new byte[0]))) {
+            assertEquals(-1, is.read());
+        }
+    }
+
+    /**
+     * Check that the blocks are read ahead, up to the number of blocks
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testReadAhead() throws Exception {
+        final AtomicLong read = new AtomicLong();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream infinite = new InputStream() {
+            @Override
+            public int read() {
+                read.incrementAndGet();
+                return 0;
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final PrefetchInputStream is = new PrefetchInputStream(infinite, 100, 2);
+        waitFor(() -> read.get() == 300);
+        assertEquals(0, is.available());
+
+        // the first block is released on the next read
+        assertEquals(100, is.read(new byte[200]));
+        assertEquals(0, is.read());
+        assertEquals(99, is.available());
+        waitFor(() -> read.get() == 400);
+
+        // closing cancels the prefetches and closes the wrapped stream
+        is.close();
+        assertTrue(closed.get());
+        final long count = read.get();
+        Thread.sleep(50);
+        assertEquals(count, read.get());
+        assertException(() -> is.read(), IOException.class, "The stream is closed");
+        assertException(() -> is.available(), IOException.class, "The stream is closed");
+        is.close();
+    }
+
+    /**
+     * Check that an error of the wrapped stream is thrown by the reader
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testError() throws IOException {
+        final InputStream failing = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                if (++this.count > 150) {
+                    throw new IOException("read error");
+                }
+                return 1;
+            }
+        };
+
+        try (PrefetchInputStream is = new PrefetchInputStream(failing, 100, 4)) {
+            assertEquals(100, is.read(new byte[200]));
+            // the partial block is lost with the error
+            assertException(() -> is.read(new byte[200]), IOException.class, "read error");
+            assertException(() -> is.read(), IOException.class, "read error");
+        }
+    }
+
+    /**
+     * Check that an {@link Error} of the wrapped stream is thrown by the
+     * reader
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testFatalError() throws IOException {
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new InternalError("broken device");
+            }
+        };
+
+        try (PrefetchInputStream is = new PrefetchInputStream(failing, 100, 2)) {
+            assertException(() -> is.read(), IOException.class, "broken device");
+        }
+    }
+
+    /**
+     * Check that the reader gets an error if the background task is
+     * interrupted by the executor while all the blocks are read ahead
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testInterrupted() throws Exception {
+        final AtomicLong read = new AtomicLong();
+        final InputStream infinite = new InputStream() {
+            @Override
+            public int read() {
+                read.incrementAndGet();
+                return 0;
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (PrefetchInputStream is = new PrefetchInputStream(infinite, 100, 2, executor)) {
+            waitFor(() -> read.get() == 300);
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+
+            // the blocks read ahead are still available
+            for (int i = 0; i < 3; i++) {
+                assertEquals(100, is.read(new byte[100]));
+            }
+            assertException(() -> is.read(), IOException.class, "The prefetch task was interrupted");
+        }
+    }
+
+    /**
+     * Check that a reader waiting for a block is woken up by close
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testCloseWhileWaiting() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final InputStream blocking = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+
+        final PrefetchInputStream is = new PrefetchInputStream(blocking, 10, 1);
+        final Thread closer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                is.close();
+            } catch (InterruptedException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        closer.start();
+
+        assertException(() -> is.read(), IOException.class, "The stream is closed");
+        closer.join();
+        latch.countDown();
+    }
+
+    /**
+     * Check that a reader on another thread gets an {@link IOException} (not
+     * a {@link NullPointerException}) when the stream is closed while reading
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testCloseWhileReading() throws Exception {
+        final InputStream infinite = new InputStream() {
+            @Override
+            public int read() {
+                return 1;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) {
+                return len;
+            }
+        };
+
+        for (int i = 0; i < 100; ++i) {
+            final PrefetchInputStream is = new PrefetchInputStream(infinite, 16, 4);
+            final CountDownLatch started = new CountDownLatch(1);
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            final Thread reader = new Thread(() -> {
+                final byte[] buffer = new byte[7];
+                try {
+                    while (true) {
+                        is.read();
+                        is.read(buffer, 0, buffer.length);
+                        is.skip(5);
+                        started.countDown();
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            reader.start();
+
+            started.await();
+            is.close();
+            reader.join();
+
+            assertTrue(error.get() instanceof IOException, String.valueOf(error.get()));
+        }
+    }
+
+    /**
+     * Check the constructor errors
+     */
+    @Test
+    public void testConstructor() {
+        final InputStream in = new ByteArrayInputStream(new byte[1]);
+
+        assertException(() -> new PrefetchInputStream(null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> new PrefetchInputStream(in, 1, 1, null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> new PrefetchInputStream(in, 0, 1), IllegalArgumentException.class, "The block size must be greater than 0");
+        assertException(() -> new PrefetchInputStream(in, 1, 0), IllegalArgumentException.class,
+                "The number of blocks must be greater than 0");
+        assertException(() -> new PrefetchInputStream(in, 1, 1, (runnable) -> {
+            throw new RejectedExecutionException();
+        }), IOException.class, "The prefetch task was rejected");
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
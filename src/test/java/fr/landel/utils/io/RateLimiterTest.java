@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link RateLimiter}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class RateLimiterTest extends AbstractTest {
+
+    /**
+     * Test method for {@link RateLimiter#reserve(long, long)}.
+     */
+    @Test
+    public void testReserve() {
+        final RateLimiter limiter = new RateLimiter(1_000_000, 100_000);
+        assertEquals(1_000_000, limiter.getBytesPerSecond());
+        assertEquals(100_000, limiter.getBurst());
+        assertEquals(100_000, limiter.getChunkSize());
+        assertEquals(1024 * 1024, new RateLimiter(10_000_000).getChunkSize());
+
+        final long now = System.nanoTime();
+        // the burst is available, then the debt is paid at the rate
+        assertTrue(limiter.reserve(100_000, now) <= 0);
+        final long wait = limiter.reserve(100_000, now);
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(90) && wait <= TimeUnit.MILLISECONDS.toNanos(100), String.valueOf(wait));
+        assertEquals(0, limiter.reserve(0, now));
+
+        // the unused tokens don't exceed the burst
+        final long later = now + TimeUnit.SECONDS.toNanos(10);
+        assertTrue(limiter.reserve(100_000, later) <= 0);
+        assertTrue(limiter.reserve(1, later) > 0);
+    }
+
+    /**
+     * Test method for {@link RateLimiter#tryAcquire(long)}.
+     */
+    @Test
+    public void testTryAcquire() {
+        final RateLimiter limiter = new RateLimiter(1_000, 1_000);
+        assertTrue(limiter.tryAcquire(0));
+        assertTrue(limiter.tryAcquire(1_000));
+        assertFalse(limiter.tryAcquire(100));
+    }
+
+    /**
+     * Check that the budget is shared by the threads
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     * @throws ExecutionException
+     *             on error
+     */
+    @Test
+    public void testAcquire() throws InterruptedException, ExecutionException {
+        final RateLimiter limiter = new RateLimiter(200_000, 10_000);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final long start = System.nanoTime();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 25; ++j) {
+                        limiter.acquire(1_000);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            // 100 KB at 200 KB/s minus the burst
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(440));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Check the errors
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testError() throws IOException {
+        final RateLimiter limiter = new RateLimiter(1, 1);
+        limiter.acquire(1);
+
+        Thread.currentThread().interrupt();
+        assertException(() -> limiter.acquire(10), InterruptedIOException.class, "Interrupted while waiting for the rate limiter");
+        assertTrue(Thread.interrupted());
+
+        assertException(() -> new RateLimiter(0), IllegalArgumentException.class, "The number of bytes per second must be greater than 0");
+        assertException(() -> new RateLimiter(1, 0), IllegalArgumentException.class, "The burst must be greater than 0");
+    }
+}
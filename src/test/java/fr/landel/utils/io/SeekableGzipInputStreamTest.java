@@ -0,0 +1,164 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link SeekableGzipInputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SeekableGzipInputStreamTest extends AbstractTest {
+
+    private static final File FILE = new File("target/seekable.gz");
+
+    /**
+     * Remove the test files
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @AfterEach
+    public void dispose() throws IOException {
+        Files.deleteIfExists(FILE.toPath());
+        Files.deleteIfExists(GzipIndex.getIndexFile(FILE).toPath());
+    }
+
+    /**
+     * Create a GZIP file of two members (compressible random bytes)
+     */
+    private static byte[] create(final int length) throws IOException {
+        final Random random = new Random(length);
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = (byte) ('a' + random.nextInt(random.nextInt(26) + 1));
+        }
+        try (OutputStream os = new FileOutputStream(FILE)) {
+            final GZIPOutputStream first = new GZIPOutputStream(os);
+            first.write(bytes, 0, length / 3);
+            first.finish();
+            final GZIPOutputStream second = new GZIPOutputStream(os);
+            second.write(bytes, length / 3, length - length / 3);
+            second.finish();
+        }
+        return bytes;
+    }
+
+    /**
+     * Test method for {@link SeekableGzipInputStream#read(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRead() throws IOException {
+        final byte[] bytes = create(500_000);
+
+        try (SeekableGzipInputStream is = new SeekableGzipInputStream(FILE, GzipIndex.build(FILE, 20_000))) {
+            assertEquals(500_000, is.length());
+            assertEquals(bytes[0] & 0xFF, is.read());
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            output.write(bytes[0]);
+            final byte[] buffer = new byte[7_777];
+            int read;
+            while ((read = is.read(buffer, 0, buffer.length)) >= 0) {
+                output.write(buffer, 0, read);
+            }
+            assertArrayEquals(bytes, output.toByteArray());
+            assertEquals(-1, is.read());
+            assertEquals(0, is.available());
+        }
+
+        // the sidecar index is built
+        try (SeekableGzipInputStream is = new SeekableGzipInputStream(FILE)) {
+            assertEquals(500_000, is.length());
+            assertTrue(GzipIndex.getIndexFile(FILE).isFile());
+        }
+
+        final GzipIndex index = GzipIndex.build(FILE);
+        create(1_000);
+        assertException(() -> new SeekableGzipInputStream(FILE, index), IOException.class, "The index doesn't match the GZIP file");
+        assertException(() -> new SeekableGzipInputStream(FILE, null), IllegalArgumentException.class, "At least one parameter is null");
+    }
+
+    /**
+     * Test method for {@link SeekableGzipInputStream#seek(long)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testSeek() throws IOException {
+        final byte[] bytes = create(500_000);
+
+        try (SeekableGzipInputStream is = new SeekableGzipInputStream(FILE, GzipIndex.build(FILE, 20_000))) {
+            final Random random = new Random(0);
+            final byte[] buffer = new byte[1_000];
+            for (int i = 0; i < 100; ++i) {
+                final int position = random.nextInt(499_000);
+                is.seek(position);
+                assertEquals(position, is.position());
+                assertEquals(1_000, is.readNBytes(buffer, 0, 1_000));
+                assertArrayEquals(Arrays.copyOfRange(bytes, position, position + 1_000), buffer);
+            }
+
+            is.seek(10);
+            assertEquals(bytes[10] & 0xFF, is.read());
+
+            assertTrue(is.markSupported());
+            is.mark(0);
+            assertEquals(300_000, is.skip(300_000));
+            assertEquals(bytes[300_011] & 0xFF, is.read());
+            is.reset();
+            assertEquals(bytes[11] & 0xFF, is.read());
+
+            assertEquals(499_988, is.skip(600_000));
+            is.seek(600_000);
+            assertEquals(-1, is.read());
+
+            assertException(() -> is.seek(-1), IOException.class, "The position cannot be negative");
+        }
+
+        final SeekableGzipInputStream is = new SeekableGzipInputStream(FILE);
+        is.close();
+        is.close();
+        assertException(() -> is.read(), IOException.class, "The stream is closed");
+        assertException(() -> is.seek(0), IOException.class, "The stream is closed");
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link SegmentedByteBuffer}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SegmentedByteBufferTest extends AbstractTest {
+
+    private static byte[] random(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] read(final InputStream inputStream, final int bufferSize) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = inputStream.read(buffer, 0, bufferSize)) >= 0) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    private static void check(final byte[] expected, final SegmentedByteBuffer buffer) throws IOException {
+        assertEquals(expected.length, buffer.size());
+
+        // several readers with buffers smaller and larger than the segments
+        for (int bufferSize : new int[] {1, 7, 16, 1000}) {
+            assertArrayEquals(expected, read(buffer.getInputStream(), bufferSize));
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        buffer.writeTo(output);
+        assertArrayEquals(expected, output.toByteArray());
+    }
+
+    /**
+     * Test method for {@link SegmentedByteBuffer#write(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        // lengths around the segment boundaries
+        for (int length : new int[] {0, 1, 15, 16, 17, 32, 100}) {
+            final byte[] bytes = random(length);
+
+            try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(Long.MAX_VALUE, 16)) {
+                buffer.write(bytes, 0, length);
+                assertFalse(buffer.isSpilled());
+                check(bytes, buffer);
+            }
+
+            try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(Long.MAX_VALUE, 16)) {
+                final OutputStream os = buffer.getOutputStream();
+                for (byte b : bytes) {
+                    os.write(b);
+                }
+                check(bytes, buffer);
+            }
+        }
+
+        try (SegmentedByteBuffer buffer = new SegmentedByteBuffer()) {
+            assertException(() -> buffer.write(new byte[2], 1, 2), IndexOutOfBoundsException.class);
+        }
+
+        assertException(() -> new SegmentedByteBuffer(-1), IllegalArgumentException.class);
+        assertException(() -> new SegmentedByteBuffer(0, 0), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test method for {@link SegmentedByteBuffer#readFrom(InputStream)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testSpill() throws IOException {
+        final byte[] bytes = random(1_000);
+
+        final SegmentedByteBuffer buffer = new SegmentedByteBuffer(64, 16);
+        assertEquals(40, buffer.readFrom(new ByteArrayInputStream(bytes, 0, 40)));
+        assertFalse(buffer.isSpilled());
+
+        // readers created before the spill follow the content
+        final InputStream inputStream = buffer.getInputStream();
+        assertEquals(10, inputStream.skip(10));
+
+        assertEquals(960, buffer.readFrom(new ByteArrayInputStream(bytes, 40, 960)));
+        assertTrue(buffer.isSpilled());
+        check(bytes, buffer);
+
+        final byte[] expected = new byte[990];
+        System.arraycopy(bytes, 10, expected, 0, 990);
+        assertArrayEquals(expected, read(inputStream, 33));
+
+        // the content is appended after the spill
+        buffer.write(7);
+        assertEquals(1_001, buffer.size());
+        assertEquals(7, inputStream.read());
+
+        buffer.close();
+        assertException(() -> buffer.write(1), IOException.class, "The buffer is closed");
+        assertException(() -> buffer.getInputStream(), IOException.class);
+        assertException(() -> inputStream.read(), IOException.class);
+    }
+
+    /**
+     * Test method for
+     * {@link SegmentedByteBuffer#getReader(java.nio.charset.Charset)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testGetReader() throws IOException {
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            expected.append("a\u00e9\u20ac\ud83d\ude00".charAt(i % 5));
+        }
+
+        // the characters are split between the segments, the content is spilled
+        final SegmentedByteBuffer buffer = new SegmentedByteBuffer(1024, 7);
+        final byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        assertTrue(buffer.isSpilled());
+
+        final StringBuilder content = new StringBuilder();
+        try (Reader reader = buffer.getReader(StandardCharsets.UTF_8)) {
+            final char[] chars = new char[100];
+            int read;
+            while ((read = reader.read(chars)) >= 0) {
+                content.append(chars, 0, read);
+            }
+        }
+        assertEquals(expected.toString(), content.toString());
+
+        assertException(() -> buffer.getReader(null), IllegalArgumentException.class, "The 'charset' parameter cannot be null");
+        buffer.close();
+        assertException(() -> buffer.getReader(StandardCharsets.UTF_8), IOException.class);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link ThrottledInputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ThrottledInputStreamTest extends AbstractTest {
+
+    /**
+     * Test method for {@link ThrottledInputStream#read(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testRead() throws IOException {
+        final byte[] bytes = new byte[100_000];
+        new Random(42).nextBytes(bytes);
+
+        final RateLimiter limiter = new RateLimiter(500_000, 10_000);
+        final long start = System.nanoTime();
+        try (ThrottledInputStream is = new ThrottledInputStream(new ByteArrayInputStream(bytes), limiter)) {
+            assertSame(limiter, is.getRateLimiter());
+            assertEquals(bytes[0] & 0xFF, is.read());
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            output.write(bytes[0]);
+            final byte[] buffer = new byte[50_000];
+            int read;
+            while ((read = is.read(buffer, 0, buffer.length)) >= 0) {
+                // limited to a chunk
+                assertTrue(read <= 10_000);
+                output.write(buffer, 0, read);
+            }
+            assertArrayEquals(bytes, output.toByteArray());
+            assertEquals(-1, is.read());
+        }
+
+        // 100 KB at 500 KB/s minus the burst
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(170));
+
+        final InputStream in = new ByteArrayInputStream(bytes);
+        assertException(() -> new ThrottledInputStream(null, limiter), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> new ThrottledInputStream(in, null), IllegalArgumentException.class, "At least one parameter is null");
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link ThrottledOutputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ThrottledOutputStreamTest extends AbstractTest {
+
+    /**
+     * Test method for {@link ThrottledOutputStream#write(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        final byte[] bytes = new byte[100_000];
+        new Random(42).nextBytes(bytes);
+
+        final RateLimiter limiter = new RateLimiter(500_000, 10_000);
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final long start = System.nanoTime();
+        try (ThrottledOutputStream os = new ThrottledOutputStream(sink, limiter)) {
+            assertSame(limiter, os.getRateLimiter());
+            os.write(bytes[0]);
+            os.write(bytes, 1, 49_999);
+            os.write(bytes, 50_000, 50_000);
+        }
+        assertArrayEquals(bytes, sink.toByteArray());
+
+        // 100 KB at 500 KB/s minus the burst
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(170));
+
+        final OutputStream out = new ByteArrayOutputStream();
+        assertException(() -> new ThrottledOutputStream(out, limiter).write(bytes, 1, 100_000), IndexOutOfBoundsException.class);
+        assertException(() -> new ThrottledOutputStream(null, limiter), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> new ThrottledOutputStream(out, null), IllegalArgumentException.class, "At least one parameter is null");
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * #%L
+ * utils-io
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check {@link WriteBehindOutputStream}
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class WriteBehindOutputStreamTest extends AbstractTest {
+
+    /**
+     * Test method for {@link WriteBehindOutputStream#write(byte[], int, int)}.
+     * 
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    public void testWrite() throws IOException {
+        final byte[] bytes = new byte[10_000];
+        new Random(42).nextBytes(bytes);
+
+        // blocks smaller and larger than the written arrays
+        for (int blockSize : new int[] {1, 100, 4096, 20_000}) {
+            for (int blocks : new int[] {1, 2, 3}) {
+                final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+                try (WriteBehindOutputStream os = new WriteBehindOutputStream(sink, blockSize, blocks)) {
+                    os.write(bytes[0]);
+                    os.write(bytes, 1, 99);
+
+                    // all the written bytes are in the wrapped stream
+                    os.flush();
+                    assertEquals(100, sink.size());
+
+                    for (int i = 100; i < bytes.length; i += 777) {
+                        os.write(bytes, i, Math.min(777, bytes.length - i));
+                    }
+                    os.write(bytes, 0, 0);
+                }
+                assertArrayEquals(bytes, sink.toByteArray());
+            }
+        }
+    }
+
+    /**
+     * Check that the caller waits when all the blocks are queued
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testBackPressure() throws Exception {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicLong written = new AtomicLong();
+        final OutputStream slow = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.incrementAndGet();
+            }
+        };
+
+        final AtomicLong produced = new AtomicLong();
+        final WriteBehindOutputStream os = new WriteBehindOutputStream(slow, 10, 2);
+        final Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    os.write(new byte[10]);
+                    produced.addAndGet(10);
+                }
+                os.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        producer.start();
+
+        Thread.sleep(100);
+        // one block written, one queued, one filled
+        assertTrue(produced.get() <= 30);
+
+        gate.countDown();
+        producer.join();
+        assertEquals(1_000, written.get());
+    }
+
+    /**
+     * Check that an error of the wrapped stream is thrown by the next write
+     * and by the close
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testError() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final OutputStream failing = new OutputStream() {
+            private int count;
+
+            @Override
+            public void write(final int b) throws IOException {
+                if (++this.count > 150) {
+                    throw new IOException("disk full");
+                }
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final WriteBehindOutputStream os = new WriteBehindOutputStream(failing, 100, 2);
+        os.write(new byte[300]);
+        assertException(() -> os.flush(), IOException.class, "disk full");
+        assertException(() -> os.write(1), IOException.class, "disk full");
+        assertException(() -> os.close(), IOException.class, "disk full");
+        assertTrue(closed.get());
+
+        assertException(() -> os.write(1), IOException.class, "The stream is closed");
+        assertException(() -> os.flush(), IOException.class, "The stream is closed");
+        os.close();
+    }
+
+    /**
+     * Check that an {@link Error} of the wrapped stream doesn't block the
+     * caller and is thrown by the close
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testFatalError() throws Exception {
+        final OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                throw new InternalError("broken device");
+            }
+        };
+
+        final WriteBehindOutputStream os = new WriteBehindOutputStream(failing, 10, 2);
+        // more blocks than the queue, the failed blocks are still released
+        os.write(new byte[1_000]);
+        assertException(() -> os.close(), IOException.class, "broken device");
+    }
+
+    /**
+     * Check that the caller gets an error if the background task is
+     * interrupted by the executor
+     * 
+     * @throws Exception
+     *             on error
+     */
+    @Test
+    public void testInterrupted() throws Exception {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        final WriteBehindOutputStream os = new WriteBehindOutputStream(sink, 10, 2, executor);
+        os.write(new byte[15]);
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+
+        assertException(() -> os.write(new byte[100]), IOException.class, "The write-behind task was interrupted");
+        assertException(() -> os.flush(), IOException.class, "The write-behind task was interrupted");
+        assertException(() -> os.close(), IOException.class, "The write-behind task was interrupted");
+    }
+
+    /**
+     * Check the constructor errors
+     */
+    @Test
+    public void testConstructor() {
+        final OutputStream out = new ByteArrayOutputStream();
+
+        assertException(() -> new WriteBehindOutputStream(null), IllegalArgumentException.class, "At least one parameter is null");
+        assertException(() -> new WriteBehindOutputStream(out, 1, 1, null), IllegalArgumentException.class,
+                "At least one parameter is null");
+        assertException(() -> new WriteBehindOutputStream(out, 0, 1), IllegalArgumentException.class,
+                "The block size must be greater than 0");
+        assertException(() -> new WriteBehindOutputStream(out, 1, 0), IllegalArgumentException.class,
+                "The number of blocks must be greater than 0");
+        assertException(() -> new WriteBehindOutputStream(out, 1, 1, (runnable) -> {
+            throw new RejectedExecutionException();
+        }), IOException.class, "The write-behind task was rejected");
+    }
+}